@@ -1,6 +1,7 @@
 plugins {
     alias(libs.plugins.jagr)
     alias(libs.plugins.algomate)
+    alias(libs.plugins.jmh)
 }
 
 exercise {
@@ -41,3 +42,17 @@ jagr {
         }
     }
 }
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    benchmarkMode.set(listOf("thrpt"))
+    // Selects benchmarks by a regular expression, e.g. ./gradlew jmh -Pjmh.includes=MySetInPlaceBenchmark.difference
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+    // Adds profilers, e.g. ./gradlew jmh -Pjmh.profilers=gc to report the allocation rate next to the throughput
+    providers.gradleProperty("jmh.profilers").orNull?.let { profilers.set(it.split(",")) }
+    // Writes the results in the given format, e.g. ./gradlew jmh -Pjmh.resultFormat=JSON
+    providers.gradleProperty("jmh.resultFormat").orNull?.let {
+        resultFormat.set(it)
+        resultsFile.set(layout.buildDirectory.file("results/jmh/results.${it.lowercase()}"))
+    }
+}
@@ -28,7 +28,7 @@ public final class Sets {
      * @return an iterator over the list items of the given set
      */
     public static <T> Iterator<ListItem<T>> itemsIterator(MySet<T> set) {
-        return ListItems.itemIterator(set.head);
+        return ListItems.itemIterator(set.head());
     }
 
     /**
@@ -39,7 +39,7 @@ public final class Sets {
      * @return an iterator over the given set
      */
     public static <T> Iterator<T> iterator(MySet<T> set) {
-        return ListItems.iterator(set.head);
+        return ListItems.iterator(set.head());
     }
 
     /**
@@ -50,7 +50,7 @@ public final class Sets {
      * @return a stream to the list items of the given set
      */
     public static <T> Stream<ListItem<T>> itemsStream(MySet<T> set) {
-        return ListItems.itemStream(set.head);
+        return ListItems.itemStream(set.head());
     }
 
     /**
@@ -61,6 +61,6 @@ public final class Sets {
      * @return a stream of the given set
      */
     public static <T> Stream<T> stream(MySet<T> set) {
-        return ListItems.stream(set.head);
+        return ListItems.stream(set.head());
     }
 }
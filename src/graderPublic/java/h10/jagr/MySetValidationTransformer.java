@@ -20,8 +20,8 @@ import java.util.Set;
  * {@link JagrExecutionCondition}.
  *
  * <p>Remember that the test cases will only work if the Jagr is present. If you want to run the test cases without
- * the Jagr, you can remove the validation check in the constructor of {@link h10.MySet} (isOrdered and
- * isPairwiseDifferent).
+ * the Jagr, you can remove the validation check in the constructor of {@link h10.MySet} (isStrictlyOrdered and
+ * isSampledStrictlyOrdered).
  *
  * @author Nhan Huynh
  * @see h10.MySet
@@ -74,7 +74,9 @@ public class MySetValidationTransformer implements ClassTransformer {
          */
         private static final Set<String> IGNORED_METHOD_CALLS = Set.of(
             "isOrdered",
-            "isPairwiseDifferent"
+            "isPairwiseDifferent",
+            "isStrictlyOrdered",
+            "isSampledStrictlyOrdered"
         );
 
         /**
@@ -0,0 +1,13 @@
+package h10;
+
+/**
+ * Benchmarks of {@link MySetAsCopy}. The operations do not modify their operands, so the sets are created once per
+ * trial.
+ */
+public class MySetAsCopyBenchmark extends SetBenchmark {
+
+    @Override
+    protected MySet<Integer> create(int[] keys) {
+        return new MySetAsCopy<>(SetFixtures.list(keys), SetFixtures.comparator(), Validation.TRUSTED);
+    }
+}
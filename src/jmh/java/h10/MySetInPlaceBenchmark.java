@@ -0,0 +1,27 @@
+package h10;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Benchmarks of {@link MySetInPlace}. The operations relink the list items of the set they are applied to, so this
+ * set is recreated before every invocation. The other operands are not modified and are created once per trial.
+ *
+ * <p>Since the set is recreated outside of the measured code, the results of small sizes include the timing overhead
+ * of {@link Level#Invocation} and should only be compared with each other.
+ */
+public class MySetInPlaceBenchmark extends SetBenchmark {
+
+    @Override
+    protected MySet<Integer> create(int[] keys) {
+        return new MySetInPlace<>(SetFixtures.list(keys), SetFixtures.comparator(), Validation.TRUSTED);
+    }
+
+    /**
+     * Recreates the set the operations are applied to.
+     */
+    @Setup(Level.Invocation)
+    public void resetSet() {
+        set = create(keys[0]);
+    }
+}
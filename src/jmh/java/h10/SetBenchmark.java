@@ -0,0 +1,149 @@
+package h10;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks shared by all {@link MySet} implementations. Every benchmark operates on a set of {@link #size}
+ * keys and {@value #WAYS} - 1 other sets of the same size which share the fraction {@link #overlap} of their keys with
+ * the first set. Subclasses define how the sets are created.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class SetBenchmark {
+
+    /**
+     * The number of sets intersected by {@link #intersectionKWay()}.
+     */
+    public static final int WAYS = 4;
+
+    /**
+     * The number of keys of every set.
+     */
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    /**
+     * The fraction of keys the other sets share with the first set.
+     */
+    @Param({"0.0", "0.5", "1.0"})
+    public double overlap;
+
+    /**
+     * The shape of the universe the keys are drawn from.
+     */
+    @Param({"DENSE", "UNIFORM", "CLUSTERED"})
+    public SetFixtures.Distribution distribution;
+
+    /**
+     * The keys of the sets, where the keys of the first set are at index {@code 0}.
+     */
+    protected int[][] keys;
+
+    /**
+     * The set the operations are applied to.
+     */
+    protected MySet<Integer> set;
+
+    /**
+     * The second operand of the binary operations.
+     */
+    protected MySet<Integer> other;
+
+    /**
+     * The other operands of {@link #intersectionKWay()}.
+     */
+    protected ListItem<MySet<Integer>> others;
+
+    /**
+     * Generates the keys and creates the sets.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = SetFixtures.keys(WAYS, size, overlap, distribution, 42);
+        set = create(keys[0]);
+        other = create(keys[1]);
+        for (int i = WAYS - 1; i > 0; i--) {
+            ListItem<MySet<Integer>> item = new ListItem<>(i == 1 ? other : create(keys[i]));
+            item.next = others;
+            others = item;
+        }
+    }
+
+    /**
+     * Creates a set containing the given keys.
+     *
+     * @param keys the keys of the set in ascending order
+     * @return the set containing the given keys
+     */
+    protected abstract MySet<Integer> create(int[] keys);
+
+    /**
+     * Benchmarks a subset keeping every even key.
+     *
+     * @return the subset
+     */
+    @Benchmark
+    public MySet<Integer> subset() {
+        return set.subset(key -> (key & 1) == 0);
+    }
+
+    /**
+     * Benchmarks the difference of two sets.
+     *
+     * @return the difference
+     */
+    @Benchmark
+    public MySet<Integer> difference() {
+        return set.difference(other);
+    }
+
+    /**
+     * Benchmarks the intersection of two sets.
+     *
+     * @return the intersection
+     */
+    @Benchmark
+    public MySet<Integer> intersection() {
+        return set.intersection(other);
+    }
+
+    /**
+     * Benchmarks the intersection of {@value #WAYS} sets.
+     *
+     * @return the intersection
+     */
+    @Benchmark
+    public MySet<Integer> intersectionKWay() {
+        return set.intersection(others);
+    }
+
+    /**
+     * Benchmarks the cartesian product of two sets including the creation of its first {@link #size} pairs, since the
+     * product creates its pairs lazily.
+     *
+     * @param blackhole the sink of the created pairs
+     */
+    @Benchmark
+    public void cartesianProduct(Blackhole blackhole) {
+        Iterator<ListItem<Integer>> pairs = ((FactorizedProduct<Integer>) set.cartesianProduct(other)).iterator();
+        for (int i = 0; i < size && pairs.hasNext(); i++) {
+            blackhole.consume(pairs.next());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package h10;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Generates the keys of the sets compared by the benchmarks. All sets of a fixture share a given fraction of their
+ * keys with the first set, and the keys are drawn from a universe whose shape is defined by a {@link Distribution}.
+ */
+public final class SetFixtures {
+
+    /**
+     * The shape of the universe the keys are drawn from.
+     */
+    public enum Distribution {
+
+        /**
+         * Consecutive keys, so that the sets are dense subsets of a range.
+         */
+        DENSE,
+
+        /**
+         * Keys with uniformly distributed gaps between {@code 1} and {@code 16}.
+         */
+        UNIFORM,
+
+        /**
+         * Runs of {@value #CLUSTER_SIZE} consecutive keys separated by gaps of up to {@code 1024} keys.
+         */
+        CLUSTERED
+    }
+
+    /**
+     * The number of consecutive keys of a cluster of {@link Distribution#CLUSTERED}.
+     */
+    public static final int CLUSTER_SIZE = 64;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private SetFixtures() {
+    }
+
+    /**
+     * Returns the keys of the given number of sets in ascending order. Every set contains {@code size} keys, and every
+     * set but the first shares {@code overlap * size} keys with the first set.
+     *
+     * @param count        the number of sets
+     * @param size         the number of keys of every set
+     * @param overlap      the fraction of keys shared with the first set
+     * @param distribution the shape of the universe the keys are drawn from
+     * @param seed         the seed of the random generator
+     * @return the keys of the sets
+     */
+    public static int[][] keys(int count, int size, double overlap, Distribution distribution, long seed) {
+        Random random = new Random(seed);
+        int[] universe = universe(2 * size, distribution, random);
+        int[] positions = new int[universe.length];
+        Arrays.setAll(positions, i -> i);
+        shuffle(positions, positions.length, random);
+
+        // The first half of the shuffled positions forms the first set, the second half the keys not contained in it
+        int[] inside = Arrays.copyOfRange(positions, 0, size);
+        int[] outside = Arrays.copyOfRange(positions, size, positions.length);
+        int shared = (int) Math.round(overlap * size);
+        int[][] keys = new int[count][];
+        keys[0] = select(universe, inside, size);
+        for (int i = 1; i < count; i++) {
+            shuffle(inside, shared, random);
+            shuffle(outside, size - shared, random);
+            int[] chosen = new int[size];
+            System.arraycopy(inside, 0, chosen, 0, shared);
+            System.arraycopy(outside, 0, chosen, shared, size - shared);
+            keys[i] = select(universe, chosen, size);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the given number of keys of the given distribution in ascending order.
+     *
+     * @param size         the number of keys
+     * @param distribution the shape of the keys
+     * @param random       the random generator
+     * @return the keys in ascending order
+     */
+    private static int[] universe(int size, Distribution distribution, Random random) {
+        int[] universe = new int[size];
+        int key = 0;
+        for (int i = 0; i < size; i++) {
+            universe[i] = key;
+            key += switch (distribution) {
+                case DENSE -> 1;
+                case UNIFORM -> 1 + random.nextInt(16);
+                case CLUSTERED -> (i + 1) % CLUSTER_SIZE == 0 ? 1 + random.nextInt(1024) : 1;
+            };
+        }
+        return universe;
+    }
+
+    /**
+     * Moves a uniformly chosen subset of the given size to the front of the given array.
+     *
+     * @param values the array to shuffle
+     * @param count  the number of values to choose
+     * @param random the random generator
+     */
+    private static void shuffle(int[] values, int count, Random random) {
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(values.length - i);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    /**
+     * Returns the keys of the universe at the first given positions in ascending order.
+     *
+     * @param universe  the keys in ascending order
+     * @param positions the positions of the keys to select
+     * @param count     the number of positions to use
+     * @return the selected keys in ascending order
+     */
+    private static int[] select(int[] universe, int[] positions, int count) {
+        int[] sorted = Arrays.copyOf(positions, count);
+        Arrays.sort(sorted);
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = universe[sorted[i]];
+        }
+        return keys;
+    }
+
+    /**
+     * Returns a new list containing the given keys in the given order.
+     *
+     * @param keys the keys of the list
+     * @return the head of the list
+     */
+    public static ListItem<Integer> list(int[] keys) {
+        ListItem<Integer> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    /**
+     * Returns the comparator of the benchmarked sets.
+     *
+     * @return the comparator of the benchmarked sets
+     */
+    public static Comparator<Integer> comparator() {
+        return Comparator.naturalOrder();
+    }
+}
@@ -0,0 +1,548 @@
+package h10;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * A Roaring-style container storing the lower 16 bits of the keys of a {@link MySetAsBitmap} which share the same
+ * upper 16 bits. Depending on the distribution of its values, a container is either a sorted array (sparse values),
+ * a bitmap of {@value #BITMAP_WORDS} words (dense values) or a list of runs (consecutive values).
+ *
+ * <p>Containers are immutable, so that sets may share them.
+ */
+abstract class Container {
+
+    /**
+     * The maximum number of values stored in an array container. Above this threshold, a bitmap container needs
+     * less memory.
+     */
+    static final int MAX_ARRAY_SIZE = 4096;
+
+    /**
+     * The number of 64-bit words of a bitmap container.
+     */
+    static final int BITMAP_WORDS = 1 << 10;
+
+    /**
+     * Returns the number of values in this container.
+     *
+     * @return the number of values in this container
+     */
+    abstract int cardinality();
+
+    /**
+     * Returns {@code true} if this container contains the given value.
+     *
+     * @param value the value to search for
+     * @return {@code true} if this container contains the given value
+     */
+    abstract boolean contains(char value);
+
+    /**
+     * Returns the smallest value of this container.
+     *
+     * @return the smallest value of this container
+     */
+    abstract char min();
+
+    /**
+     * Returns the greatest value of this container.
+     *
+     * @return the greatest value of this container
+     */
+    abstract char max();
+
+    /**
+     * Returns the values of this container as a newly allocated bitmap of {@value #BITMAP_WORDS} words.
+     *
+     * @return the values of this container as a bitmap
+     */
+    abstract long[] toWords();
+
+    /**
+     * Writes the values of this container in ascending order to the given array.
+     *
+     * @param high   the upper 16 bits which are combined with the values
+     * @param target the array to write the combined values to
+     * @param offset the position of the first value in the array
+     * @return the position after the last written value
+     */
+    abstract int toArray(int high, int[] target, int offset);
+
+    /**
+     * Returns the intersection of this container and the given container.
+     *
+     * @param other the container to intersect with
+     * @return the intersection of both containers or {@code null} if it is empty
+     */
+    Container and(Container other) {
+        if (other instanceof ArrayContainer array) {
+            return array.filter(this::contains);
+        }
+        long[] words = toWords();
+        long[] otherWords = other.toWords();
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            words[i] &= otherWords[i];
+        }
+        return of(words);
+    }
+
+    /**
+     * Returns the difference of this container and the given container.
+     *
+     * @param other the container to subtract
+     * @return the difference of both containers or {@code null} if it is empty
+     */
+    Container andNot(Container other) {
+        long[] words = toWords();
+        long[] otherWords = other.toWords();
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            words[i] &= ~otherWords[i];
+        }
+        return of(words);
+    }
+
+    /**
+     * Returns the container of all values satisfying the given predicate.
+     *
+     * @param high the upper 16 bits which are combined with the values before testing them
+     * @param pred the predicate to test the combined values with
+     * @return the container of all values satisfying the given predicate or {@code null} if it is empty
+     */
+    Container filter(int high, IntPredicate pred) {
+        long[] words = toWords();
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                int value = i << 6 | Long.numberOfTrailingZeros(word);
+                if (!pred.test(MySetAsBitmap.combine(high, value))) {
+                    words[i] &= ~Long.lowestOneBit(word);
+                }
+            }
+        }
+        return of(words);
+    }
+
+    /**
+     * Returns {@code true} if this container contains the same values as the given container.
+     *
+     * @param other the container to compare with
+     * @return {@code true} if both containers contain the same values
+     */
+    boolean sameValues(Container other) {
+        return cardinality() == other.cardinality() && Arrays.equals(toWords(), other.toWords());
+    }
+
+    /**
+     * Returns the most compact container storing the given sorted values.
+     *
+     * @param values the sorted values to store
+     * @param size   the number of values to store
+     * @return the most compact container storing the given values or {@code null} if there are no values
+     */
+    static Container of(char[] values, int size) {
+        if (size == 0) {
+            return null;
+        }
+        int runs = 1;
+        for (int i = 1; i < size; i++) {
+            if (values[i] != values[i - 1] + 1) {
+                runs++;
+            }
+        }
+        if (RunContainer.bytes(runs) < ArrayContainer.bytes(size)) {
+            return RunContainer.of(values, size, runs);
+        }
+        if (size <= MAX_ARRAY_SIZE) {
+            return new ArrayContainer(Arrays.copyOf(values, size));
+        }
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = 0; i < size; i++) {
+            words[values[i] >>> 6] |= 1L << values[i];
+        }
+        return new BitmapContainer(words, size);
+    }
+
+    /**
+     * Returns the most compact container storing the values of the given bitmap.
+     *
+     * @param words the bitmap to store, which is taken over by a bitmap container
+     * @return the most compact container storing the given values or {@code null} if there are no values
+     */
+    static Container of(long[] words) {
+        int cardinality = 0;
+        int runs = 0;
+        long previous = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+            runs += Long.bitCount(word & ~(word << 1 | previous >>> 63));
+            previous = word;
+        }
+        if (cardinality == 0) {
+            return null;
+        }
+        if (RunContainer.bytes(runs) < Math.min(ArrayContainer.bytes(cardinality), BitmapContainer.BYTES)) {
+            return RunContainer.of(words, runs);
+        }
+        if (cardinality <= MAX_ARRAY_SIZE) {
+            char[] values = new char[cardinality];
+            int size = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    values[size++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values);
+        }
+        return new BitmapContainer(words, cardinality);
+    }
+
+    /**
+     * A container storing its values in a sorted array.
+     */
+    static final class ArrayContainer extends Container {
+
+        /**
+         * The sorted values of this container.
+         */
+        private final char[] values;
+
+        /**
+         * Constructs and initializes a new array container.
+         *
+         * @param values the sorted values of the container
+         */
+        ArrayContainer(char[] values) {
+            this.values = values;
+        }
+
+        /**
+         * Returns the number of bytes needed to store the given number of values in an array container.
+         *
+         * @param cardinality the number of values
+         * @return the number of bytes needed
+         */
+        static int bytes(int cardinality) {
+            return 2 * cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, value) >= 0;
+        }
+
+        @Override
+        char min() {
+            return values[0];
+        }
+
+        @Override
+        char max() {
+            return values[values.length - 1];
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[BITMAP_WORDS];
+            for (char value : values) {
+                words[value >>> 6] |= 1L << value;
+            }
+            return words;
+        }
+
+        @Override
+        int toArray(int high, int[] target, int offset) {
+            for (char value : values) {
+                target[offset++] = MySetAsBitmap.combine(high, value);
+            }
+            return offset;
+        }
+
+        @Override
+        Container and(Container other) {
+            return filter(other::contains);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            return filter(value -> !other.contains(value));
+        }
+
+        @Override
+        Container filter(int high, IntPredicate pred) {
+            return filter(value -> pred.test(MySetAsBitmap.combine(high, value)));
+        }
+
+        /**
+         * Returns the container of all values of this container satisfying the given predicate.
+         *
+         * @param pred the predicate to test the values with
+         * @return the container of all values satisfying the given predicate or {@code null} if it is empty
+         */
+        Container filter(CharPredicate pred) {
+            char[] kept = new char[values.length];
+            int size = 0;
+            for (char value : values) {
+                if (pred.test(value)) {
+                    kept[size++] = value;
+                }
+            }
+            return size == values.length ? this : of(kept, size);
+        }
+    }
+
+    /**
+     * A container storing its values in a bitmap of {@value #BITMAP_WORDS} words.
+     */
+    static final class BitmapContainer extends Container {
+
+        /**
+         * The number of bytes needed by a bitmap container.
+         */
+        static final int BYTES = 8 * BITMAP_WORDS;
+
+        /**
+         * The bitmap of this container.
+         */
+        private final long[] words;
+
+        /**
+         * The number of values in this container.
+         */
+        private final int cardinality;
+
+        /**
+         * Constructs and initializes a new bitmap container.
+         *
+         * @param words       the bitmap of the container
+         * @param cardinality the number of values in the bitmap
+         */
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        char min() {
+            int i = 0;
+            while (words[i] == 0) {
+                i++;
+            }
+            return (char) (i << 6 | Long.numberOfTrailingZeros(words[i]));
+        }
+
+        @Override
+        char max() {
+            int i = BITMAP_WORDS - 1;
+            while (words[i] == 0) {
+                i--;
+            }
+            return (char) (i << 6 | Long.SIZE - 1 - Long.numberOfLeadingZeros(words[i]));
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+
+        @Override
+        int toArray(int high, int[] target, int offset) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    target[offset++] = MySetAsBitmap.combine(high, i << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+            return offset;
+        }
+    }
+
+    /**
+     * A container storing its values as runs of consecutive values.
+     */
+    static final class RunContainer extends Container {
+
+        /**
+         * The first value of each run in ascending order.
+         */
+        private final char[] starts;
+
+        /**
+         * The number of values of each run minus one.
+         */
+        private final char[] lengths;
+
+        /**
+         * The number of values in this container.
+         */
+        private final int cardinality;
+
+        /**
+         * Constructs and initializes a new run container.
+         *
+         * @param starts  the first value of each run in ascending order
+         * @param lengths the number of values of each run minus one
+         */
+        RunContainer(char[] starts, char[] lengths) {
+            this.starts = starts;
+            this.lengths = lengths;
+            int cardinality = 0;
+            for (char length : lengths) {
+                cardinality += length + 1;
+            }
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * Returns the number of bytes needed to store the given number of runs in a run container.
+         *
+         * @param runs the number of runs
+         * @return the number of bytes needed
+         */
+        static int bytes(int runs) {
+            return 2 + 4 * runs;
+        }
+
+        /**
+         * Returns a run container storing the given sorted values.
+         *
+         * @param values the sorted values to store
+         * @param size   the number of values to store
+         * @param runs   the number of runs formed by the values
+         * @return a run container storing the given values
+         */
+        static RunContainer of(char[] values, int size, int runs) {
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int run = -1;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || values[i] != values[i - 1] + 1) {
+                    starts[++run] = values[i];
+                } else {
+                    lengths[run]++;
+                }
+            }
+            return new RunContainer(starts, lengths);
+        }
+
+        /**
+         * Returns a run container storing the values of the given bitmap.
+         *
+         * @param words the bitmap to store
+         * @param runs  the number of runs formed by the values
+         * @return a run container storing the given values
+         */
+        static RunContainer of(long[] words, int runs) {
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int run = -1;
+            boolean inRun = false;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                if (word == 0) {
+                    inRun = false;
+                    continue;
+                }
+                for (int bit = 0; bit < Long.SIZE; bit++) {
+                    if ((word & 1L << bit) == 0) {
+                        inRun = false;
+                    } else if (inRun) {
+                        lengths[run]++;
+                    } else {
+                        starts[++run] = (char) (i << 6 | bit);
+                        inRun = true;
+                    }
+                }
+            }
+            return new RunContainer(starts, lengths);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            int index = Arrays.binarySearch(starts, value);
+            if (index >= 0) {
+                return true;
+            }
+            int run = -index - 2;
+            return run >= 0 && value <= starts[run] + lengths[run];
+        }
+
+        @Override
+        char min() {
+            return starts[0];
+        }
+
+        @Override
+        char max() {
+            int run = starts.length - 1;
+            return (char) (starts[run] + lengths[run]);
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int run = 0; run < starts.length; run++) {
+                int from = starts[run];
+                int to = from + lengths[run] + 1;
+                int firstWord = from >>> 6;
+                int lastWord = (to - 1) >>> 6;
+                long firstMask = -1L << from;
+                long lastMask = -1L >>> -to;
+                if (firstWord == lastWord) {
+                    words[firstWord] |= firstMask & lastMask;
+                    continue;
+                }
+                words[firstWord] |= firstMask;
+                for (int i = firstWord + 1; i < lastWord; i++) {
+                    words[i] = -1L;
+                }
+                words[lastWord] |= lastMask;
+            }
+            return words;
+        }
+
+        @Override
+        int toArray(int high, int[] target, int offset) {
+            for (int run = 0; run < starts.length; run++) {
+                int to = starts[run] + lengths[run];
+                for (int value = starts[run]; value <= to; value++) {
+                    target[offset++] = MySetAsBitmap.combine(high, value);
+                }
+            }
+            return offset;
+        }
+    }
+
+    /**
+     * A predicate on the 16-bit values of a container.
+     */
+    @FunctionalInterface
+    interface CharPredicate {
+
+        /**
+         * Evaluates this predicate on the given value.
+         *
+         * @param value the value to test
+         * @return {@code true} if the value satisfies this predicate
+         */
+        boolean test(char value);
+    }
+}
@@ -0,0 +1,413 @@
+package h10;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A cartesian product which stores its factors instead of its pairs. More formally, the set represents a union of
+ * products {@code A1 × B1 ∪ ... ∪ An × Bn} with pairwise disjoint sets {@code Ai}, which is closed under
+ * intersection and difference:
+ *
+ * <ul>
+ *     <li>{@code (A × B) ∩ (C × D) = (A ∩ C) × (B ∩ D)}</li>
+ *     <li>{@code (A × B) \ (C × D) = (A ∩ C) × (B \ D) ∪ (A \ C) × B}</li>
+ * </ul>
+ *
+ * <p>Therefore, the number of pairs, the bounds, the intersection and the difference of factorized products are
+ * computed on the factors only, and the pairs are created one by one while iterating over the set. If the set is
+ * filtered or combined with a set that is not factorized, its pairs are packed into a {@link PackedProduct}. The list
+ * items of all pairs are only materialized if its head is requested explicitly.
+ *
+ * <p>The factors are snapshotted when the product is created: their elements are copied into {@link MySetFrozen}s
+ * unless they are immutable already, so later modifications of the factors neither change the product nor corrupt
+ * it.
+ *
+ * @param <T> the type of the elements in the factors
+ */
+public class FactorizedProduct<T> extends MySet<ListItem<T>> {
+
+    /**
+     * A set whose comparator defines the order of the elements in the factors.
+     */
+    private final MySet<T> template;
+
+    /**
+     * The first factors of the products, which are pairwise disjoint and not empty.
+     */
+    private final List<MySet<T>> firsts;
+
+    /**
+     * The second factors of the products, which are not empty.
+     */
+    private final List<MySet<T>> seconds;
+
+    /**
+     * Constructs and initializes a new cartesian product of the given sets.
+     *
+     * @param first  the first factor of the product
+     * @param second the second factor of the product
+     */
+    public FactorizedProduct(MySet<T> first, MySet<T> second) {
+        this(snapshot(first), new ArrayList<>(), new ArrayList<>());
+        add(template, snapshot(second));
+    }
+
+    /**
+     * Constructs and initializes a new union of the given products.
+     *
+     * @param template a set whose comparator defines the order of the elements in the factors
+     * @param firsts   the first factors of the products
+     * @param seconds  the second factors of the products
+     */
+    private FactorizedProduct(MySet<T> template, List<MySet<T>> firsts, List<MySet<T>> seconds) {
+        super(null, template.pairComparator(), Validation.TRUSTED);
+        this.template = template;
+        this.firsts = firsts;
+        this.seconds = seconds;
+    }
+
+    /**
+     * Adds the product of the given sets to this union if it is not empty.
+     *
+     * @param first  the first factor of the product, which must be disjoint to all first factors of this union
+     * @param second the second factor of the product
+     */
+    private void add(MySet<T> first, MySet<T> second) {
+        if (!first.isEmpty() && !second.isEmpty()) {
+            firsts.add(first);
+            seconds.add(second);
+        }
+    }
+
+    /**
+     * Returns an immutable set with the elements of the given set. Frozen sets and products are returned as they are,
+     * the elements of other sets are copied.
+     *
+     * @param set the set to snapshot
+     * @param <T> the type of the elements in the set
+     * @return an immutable set with the elements of the given set
+     */
+    private static <T> MySet<T> snapshot(MySet<T> set) {
+        if (set instanceof MySetFrozen || set instanceof FactorizedProduct || set instanceof PackedProduct) {
+            return set;
+        }
+        ListItem<T> head = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        for (ListItem<T> current = set.head(); current != null; current = current.next) {
+            ListItem<T> item = new ListItem<>(current.key);
+            if (head == null) {
+                head = item;
+            } else {
+                tail.next = item;
+            }
+            tail = item;
+            size++;
+        }
+        return new MySetFrozen<>(head, tail, size, set.cmp);
+    }
+
+    /**
+     * Returns the intersection of the given sets without modifying them.
+     *
+     * @param set   the first set
+     * @param other the second set
+     * @param <T>   the type of the elements in the sets
+     * @return the intersection of the given sets
+     */
+    private static <T> MySet<T> intersect(MySet<T> set, MySet<T> other) {
+        return new MySetAsCopy<>(set.head(), set.cmp, Validation.TRUSTED).intersection(other);
+    }
+
+    /**
+     * Returns the difference of the given sets without modifying them.
+     *
+     * @param set   the set to subtract from
+     * @param other the set to subtract
+     * @param <T>   the type of the elements in the sets
+     * @return the difference of the given sets
+     */
+    private static <T> MySet<T> subtract(MySet<T> set, MySet<T> other) {
+        return new MySetAsCopy<>(set.head(), set.cmp, Validation.TRUSTED).difference(other);
+    }
+
+    /**
+     * Returns the number of pairs in this set without creating them.
+     *
+     * @return the number of pairs in this set
+     */
+    public long pairCount() {
+        long count = 0;
+        for (int i = 0; i < firsts.size(); i++) {
+            count += (long) firsts.get(i).size() * seconds.get(i).size();
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc} If the product contains more than {@link Integer#MAX_VALUE} pairs, {@link Integer#MAX_VALUE} is
+     * returned.
+     *
+     * @see #pairCount()
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(pairCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return firsts.isEmpty();
+    }
+
+    /**
+     * Returns the position of the product containing the smallest or the greatest first element.
+     *
+     * @param greatest whether the product with the greatest first element is searched
+     * @return the position of the product containing the smallest or the greatest first element
+     * @throws NoSuchElementException if this set is empty
+     */
+    private int extremeProduct(boolean greatest) {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        int extreme = 0;
+        for (int i = 1; i < firsts.size(); i++) {
+            int order = greatest
+                ? template.compare(firsts.get(i).max(), firsts.get(extreme).max())
+                : template.compare(firsts.get(extreme).min(), firsts.get(i).min());
+            if (order > 0) {
+                extreme = i;
+            }
+        }
+        return extreme;
+    }
+
+    /**
+     * {@inheritDoc} The pair is created from the smallest elements of the factors without creating other pairs.
+     */
+    @Override
+    public ListItem<T> min() {
+        int i = extremeProduct(false);
+        ListItem<T> pair = new ListItem<>(firsts.get(i).min());
+        pair.next = new ListItem<>(seconds.get(i).min());
+        return pair;
+    }
+
+    /**
+     * {@inheritDoc} The pair is created from the greatest elements of the factors without creating other pairs.
+     */
+    @Override
+    public ListItem<T> max() {
+        int i = extremeProduct(true);
+        ListItem<T> pair = new ListItem<>(firsts.get(i).max());
+        pair.next = new ListItem<>(seconds.get(i).max());
+        return pair;
+    }
+
+    /**
+     * {@inheritDoc} Unless the pairs have been materialized, the returned list item is a new list item holding the
+     * greatest pair, which is not linked to the head of this set. Since products are never relinked, it is only read.
+     */
+    @Override
+    protected ListItem<ListItem<T>> tail() {
+        if (head != null) {
+            return super.tail();
+        }
+        return isEmpty() ? null : new ListItem<>(max());
+    }
+
+    /**
+     * Returns an iterator creating the pairs of this set in ascending order one by one.
+     *
+     * @return an iterator over the pairs of this set
+     */
+    public Iterator<ListItem<T>> iterator() {
+        return new PairIterator();
+    }
+
+    /**
+     * Returns the pairs of this set packed into arrays, which share the elements of the factors and take less than
+     * half of the memory of materialized pairs.
+     *
+     * @return the packed pairs of this set
+     * @throws ArithmeticException if this set contains more than {@link Integer#MAX_VALUE} pairs
+     */
+    public PackedProduct<T> pack() {
+        PackedProduct.Builder<T> builder = new PackedProduct.Builder<>(template, Math.toIntExact(pairCount()));
+        for (Iterator<ListItem<T>> it = iterator(); it.hasNext(); ) {
+            ListItem<T> pair = it.next();
+            builder.append(pair.key, pair.next.key);
+        }
+        return builder.build();
+    }
+
+    @Override
+    protected ListItem<ListItem<T>> head() {
+        if (head == null) {
+            ListItem<ListItem<T>> tail = null;
+            for (Iterator<ListItem<T>> it = iterator(); it.hasNext(); ) {
+                ListItem<ListItem<T>> item = new ListItem<>(it.next());
+                if (head == null) {
+                    head = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+            }
+        }
+        return head;
+    }
+
+    @Override
+    public MySet<ListItem<T>> subset(Predicate<? super ListItem<T>> pred) {
+        PackedProduct.Builder<T> builder = new PackedProduct.Builder<>(template, 0);
+        for (Iterator<ListItem<T>> it = iterator(); it.hasNext(); ) {
+            ListItem<T> pair = it.next();
+            if (pred.test(pair)) {
+                builder.append(pair.key, pair.next.key);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public MySet<ListItem<ListItem<T>>> cartesianProduct(MySet<ListItem<T>> other) {
+        return new FactorizedProduct<>(this, other);
+    }
+
+    @Override
+    public MySet<ListItem<T>> difference(MySet<ListItem<T>> other) {
+        if (!(other instanceof FactorizedProduct<T> product)) {
+            return pack().difference(other);
+        }
+        FactorizedProduct<T> result = new FactorizedProduct<>(template, new ArrayList<>(), new ArrayList<>());
+        for (int i = 0; i < firsts.size(); i++) {
+            MySet<T> rest = firsts.get(i);
+            for (int j = 0; j < product.firsts.size() && !rest.isEmpty(); j++) {
+                MySet<T> common = intersect(rest, product.firsts.get(j));
+                if (!common.isEmpty()) {
+                    result.add(common, subtract(seconds.get(i), product.seconds.get(j)));
+                    rest = subtract(rest, common);
+                }
+            }
+            result.add(rest, seconds.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the intersection of this set and the given factorized product.
+     *
+     * @param product the product to intersect with this set
+     * @return the intersection of this set and the given product
+     */
+    private FactorizedProduct<T> intersect(FactorizedProduct<T> product) {
+        FactorizedProduct<T> result = new FactorizedProduct<>(template, new ArrayList<>(), new ArrayList<>());
+        for (int i = 0; i < firsts.size(); i++) {
+            for (int j = 0; j < product.firsts.size(); j++) {
+                MySet<T> first = intersect(firsts.get(i), product.firsts.get(j));
+                if (!first.isEmpty()) {
+                    result.add(first, intersect(seconds.get(i), product.seconds.get(j)));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public MySet<ListItem<T>> intersection(ListItem<MySet<ListItem<T>>> others) {
+        MySet<ListItem<T>> result = this;
+        for (ListItem<MySet<ListItem<T>>> current = others; current != null; current = current.next) {
+            if (result instanceof FactorizedProduct<T> product && current.key instanceof FactorizedProduct<T> other) {
+                result = product.intersect(other);
+            } else {
+                result = (result instanceof FactorizedProduct<T> product ? product.pack() : result)
+                    .intersection(current.key);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public MySet<ListItem<T>> symmetricDifference(MySet<ListItem<T>> other) {
+        return new MySetAsCopy<>(head(), cmp, Validation.TRUSTED).symmetricDifference(other);
+    }
+
+    @Override
+    protected MySet<ListItem<T>> unionListItems(ListItem<ListItem<ListItem<T>>> heads) {
+        return new MySetAsCopy<>(heads.key, cmp, Validation.TRUSTED).unionListItems(heads);
+    }
+
+    @Override
+    protected MySet<ListItem<T>> intersectionListItems(ListItem<ListItem<ListItem<T>>> heads) {
+        return new MySetAsCopy<>(heads.key, cmp, Validation.TRUSTED).intersectionListItems(heads);
+    }
+
+    /**
+     * An iterator creating the pairs of the products in ascending order. Since the first factors are disjoint, the
+     * pairs are ordered by merging the first factors and combining each first element with the second factor of its
+     * product.
+     */
+    private class PairIterator implements Iterator<ListItem<T>> {
+
+        /**
+         * The next unvisited first element of each product.
+         */
+        private final List<ListItem<T>> rows = new ArrayList<>();
+
+        /**
+         * The first element of the current row.
+         */
+        private T first;
+
+        /**
+         * The next second element of the current row.
+         */
+        private ListItem<T> second;
+
+        /**
+         * Constructs and initializes a new iterator.
+         */
+        PairIterator() {
+            for (MySet<T> set : firsts) {
+                rows.add(set.head());
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (second != null) {
+                return true;
+            }
+            int next = -1;
+            for (int i = 0; i < rows.size(); i++) {
+                ListItem<T> row = rows.get(i);
+                if (row != null && (next < 0 || template.compare(row.key, rows.get(next).key) < 0)) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                return false;
+            }
+            first = rows.get(next).key;
+            second = seconds.get(next).head();
+            rows.set(next, rows.get(next).next);
+            return true;
+        }
+
+        @Override
+        public ListItem<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ListItem<T> pair = new ListItem<>(first);
+            pair.next = new ListItem<>(second.key);
+            second = second.next;
+            return pair;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package h10;
+
+/**
+ * A finger into a {@link MySet} which remembers its position between lookups. Lookups with ascending keys continue
+ * from the last position and gallop forward (see {@link GallopingCursor}), so a monotone sequence of lookups walks
+ * the set only once in total instead of once per lookup. If the set is indexed, long distances are skipped through
+ * the skip index instead of being walked. A lookup with a smaller key than the previous one restarts at the
+ * predecessor of the key, which is found through the skip index if the set is indexed.
+ *
+ * <p>Since the finger also knows the predecessor of its position, it can insert and remove list items at its
+ * position, which keeps the head, the size and the last list item of the set up to date and invalidates its skip
+ * index. Thereby, the finger serves as building block for relinking algorithms such as
+ * {@link MySetInPlace#addAll(ListItem)}. The set must not be relinked by other means while a finger is in use.
+ *
+ * <p>Sets which do not own their list items, such as views, frozen sets and sets materializing their list items on
+ * demand, hand out read-only fingers, which support all lookups but reject {@link #insert(ListItem)} and
+ * {@link #remove()}. A finger into a view never moves past the upper bound of the view.
+ *
+ * @param <T> the type of the elements in the set
+ * @see MySet#finger()
+ */
+public class Finger<T> extends GallopingCursor<T> {
+
+    /**
+     * The set this finger points into.
+     */
+    private final MySet<T> set;
+
+    /**
+     * Whether this finger rejects inserting and removing list items.
+     */
+    private final boolean readOnly;
+
+    /**
+     * Constructs and initializes a new finger pointing to the first element of the given set.
+     *
+     * @param set the set to point into
+     */
+    public Finger(MySet<T> set) {
+        this(set, false);
+    }
+
+    /**
+     * Constructs and initializes a new finger pointing to the first element of the given set, which rejects inserting
+     * and removing list items if it is read-only.
+     *
+     * @param set      the set to point into
+     * @param readOnly whether the finger rejects inserting and removing list items
+     */
+    public Finger(MySet<T> set, boolean readOnly) {
+        super(set.first(), set.cmp);
+        this.set = set;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Returns {@code true} if this finger rejects inserting and removing list items.
+     *
+     * @return {@code true} if this finger rejects inserting and removing list items
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * {@inheritDoc} The finger uses the skip index of the set as long as it is valid, but does not rebuild it after
+     * the finger inserted or removed list items.
+     */
+    @Override
+    protected SkipIndex<T> index() {
+        return set.index;
+    }
+
+    /**
+     * Moves this finger to the first list item whose key is greater than or equal to the given key. Unlike
+     * {@link #seek(Object)}, the finger may also move backward.
+     *
+     * @param key the key to search for
+     * @return {@code 0} if the finger points to a list item with a key equal to the given key afterwards, a positive
+     *     value if it points to a greater key or past the last list item
+     */
+    public int moveTo(T key) {
+        if (previous != null && keyOrder.compare(cmp, previous.key, key) >= 0) {
+            previous = set.predecessor(key, false);
+            current = previous == null ? set.first() : previous.next;
+        }
+        T upper = set.upperBound();
+        if (upper == null) {
+            return seek(key);
+        }
+        // The list items of a view continue beyond its upper bound, so the finger stops there
+        int order = seek(keyOrder.compare(cmp, key, upper) < 0 ? key : upper);
+        if (current != null && keyOrder.compare(cmp, current.key, upper) >= 0) {
+            current = null;
+            return 1;
+        }
+        return order;
+    }
+
+    /**
+     * Moves this finger past the last list item of the set in constant time, so that list items inserted afterwards
+     * are appended to the set.
+     */
+    public void moveToEnd() {
+        previous = set.tail();
+        current = null;
+    }
+
+    /**
+     * Returns {@code true} if the set contains the given key and moves this finger to it.
+     *
+     * @param key the key to search for
+     * @return {@code true} if the set contains the given key
+     */
+    public boolean contains(T key) {
+        return moveTo(key) == 0;
+    }
+
+    /**
+     * Returns the first list item whose key is greater than or equal to the given key and moves this finger to it.
+     *
+     * @param key the key to search for
+     * @return the first list item not less than the given key or {@code null} if there is no such list item
+     */
+    public ListItem<T> ceiling(T key) {
+        moveTo(key);
+        return current;
+    }
+
+    /**
+     * Returns the list item preceding the position of this finger.
+     *
+     * @return the list item preceding the position of this finger or {@code null} if the finger points to the first
+     *     list item
+     */
+    public ListItem<T> predecessor() {
+        return previous;
+    }
+
+    /**
+     * Inserts the given list item at the position of this finger, i.e. between the predecessor and the current list
+     * item, and moves this finger behind it. The caller is responsible for preserving the order of the set.
+     *
+     * @param item the list item to insert
+     * @throws UnsupportedOperationException if this finger is read-only
+     */
+    public void insert(ListItem<T> item) {
+        checkWritable();
+        boolean sized = set.cachedSize != MySet.UNKNOWN_SIZE;
+        item.next = current;
+        if (previous == null) {
+            boolean empty = set.head == null;
+            set.head = item;
+            if (empty) {
+                // The order of an empty set could not be detected from a sample element
+                set.detectKeyOrder();
+                keyOrder = set.keyOrder;
+            }
+        } else {
+            previous.next = item;
+        }
+        if (sized) {
+            set.cachedSize++;
+            if (current == null) {
+                set.cachedTail = item;
+            }
+        }
+        set.index = null;
+        previous = item;
+    }
+
+    /**
+     * Removes the list item this finger points to from the set and moves this finger to its successor.
+     *
+     * @return the removed list item
+     * @throws NullPointerException          if the finger points past the last list item
+     * @throws UnsupportedOperationException if this finger is read-only
+     */
+    public ListItem<T> remove() {
+        checkWritable();
+        ListItem<T> removed = current;
+        if (previous == null) {
+            set.head = removed.next;
+        } else {
+            previous.next = removed.next;
+        }
+        if (set.cachedSize != MySet.UNKNOWN_SIZE) {
+            set.cachedSize--;
+            if (removed.next == null) {
+                set.cachedTail = previous;
+            }
+        }
+        set.index = null;
+        current = removed.next;
+        return removed;
+    }
+
+    /**
+     * Checks that this finger may insert and remove list items.
+     *
+     * @throws UnsupportedOperationException if this finger is read-only
+     */
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("The finger is read-only");
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package h10;
+
+import java.util.Comparator;
+
+/**
+ * A cursor moving forward over an ordered list which adapts its search strategy to the observed distances between
+ * consecutive targets. Short distances are covered by a linear merge step, whereas long runs of smaller keys are
+ * skipped using an exponential (galloping) search followed by a binary search, which needs only {@code O(log d)}
+ * comparisons for a distance of {@code d} list items.
+ *
+ * <p>Similar to the merge of TimSort, the cursor starts with a linear search and switches to galloping as soon as
+ * it walked {@link #minGallop} list items without reaching the target. The threshold is lowered whenever galloping
+ * pays off and raised otherwise, so that lists of similar size are merged linearly while a small list intersected
+ * with a large one gallops over the large one.
+ *
+ * <p>Since the list is singly linked, an exponential search over the list items still walks every skipped list item
+ * and only saves comparisons. If the list is sampled by a {@link SkipIndex}, the cursor gallops through the index
+ * instead, which skips any distance in {@code O(log n)} steps.
+ *
+ * @param <T> the type of the elements in the list
+ */
+public class GallopingCursor<T> {
+
+    /**
+     * The initial number of list items walked linearly before the cursor starts galloping.
+     */
+    public static final int MIN_GALLOP = 7;
+
+    /**
+     * The comparator defining the order of the list.
+     */
+    protected final Comparator<? super T> cmp;
+
+    /**
+     * The order of the keys detected for the comparator.
+     */
+    protected KeyOrder keyOrder;
+
+    /**
+     * The list item the cursor currently points to or {@code null} if the cursor is exhausted.
+     */
+    protected ListItem<T> current;
+
+    /**
+     * The list item preceding the current list item or {@code null} if the cursor has not moved yet.
+     */
+    protected ListItem<T> previous;
+
+    /**
+     * The current number of list items walked linearly before the cursor starts galloping.
+     */
+    protected int minGallop = MIN_GALLOP;
+
+    /**
+     * The skip index sampling the list or {@code null} if the list is not indexed.
+     */
+    private final SkipIndex<T> index;
+
+    /**
+     * Constructs and initializes a new cursor pointing to the given list item.
+     *
+     * @param head the list item to start from
+     * @param cmp  the comparator defining the order of the list
+     */
+    public GallopingCursor(ListItem<T> head, Comparator<? super T> cmp) {
+        this(head, cmp, null);
+    }
+
+    /**
+     * Constructs and initializes a new cursor pointing to the given list item which gallops through the given skip
+     * index. The index must sample the list containing the given list item and must not be invalidated while the
+     * cursor is in use.
+     *
+     * @param head  the list item to start from
+     * @param cmp   the comparator defining the order of the list
+     * @param index the skip index sampling the list or {@code null} if the list is not indexed
+     */
+    public GallopingCursor(ListItem<T> head, Comparator<? super T> cmp, SkipIndex<T> index) {
+        this.current = head;
+        this.cmp = cmp;
+        this.keyOrder = KeyOrder.of(cmp, head == null ? null : head.key);
+        this.index = index;
+    }
+
+    /**
+     * Returns the skip index sampling the list.
+     *
+     * @return the skip index sampling the list or {@code null} if the list is not indexed
+     */
+    protected SkipIndex<T> index() {
+        return index;
+    }
+
+    /**
+     * Returns {@code true} if the cursor moved past the end of the list.
+     *
+     * @return {@code true} if the cursor moved past the end of the list
+     */
+    public boolean isExhausted() {
+        return current == null;
+    }
+
+    /**
+     * Returns the list item the cursor currently points to.
+     *
+     * @return the list item the cursor currently points to or {@code null} if the cursor is exhausted
+     */
+    public ListItem<T> item() {
+        return current;
+    }
+
+    /**
+     * Returns the key of the list item the cursor currently points to.
+     *
+     * @return the key of the list item the cursor currently points to
+     * @throws NullPointerException if the cursor is exhausted
+     */
+    public T key() {
+        return current.key;
+    }
+
+    /**
+     * Moves the cursor to the successor of the current list item.
+     */
+    public void advance() {
+        previous = current;
+        current = current.next;
+    }
+
+    /**
+     * Moves the cursor forward to the first list item whose key is greater than or equal to the given key. The
+     * cursor is not moved if the current key already satisfies this condition.
+     *
+     * @param key the key to search for
+     * @return {@code 0} if the cursor points to a list item with a key equal to the given key afterwards, a positive
+     *     value if it points to a greater key or the cursor is exhausted
+     */
+    public int seek(T key) {
+        if (current == null) {
+            return 1;
+        }
+        int order = keyOrder.compare(cmp, current.key, key);
+        if (order >= 0) {
+            return order;
+        }
+        ListItem<T> lower = current;
+        for (int step = 1; step < minGallop; step++) {
+            ListItem<T> next = lower.next;
+            if (next == null) {
+                previous = lower;
+                current = null;
+                return 1;
+            }
+            order = keyOrder.compare(cmp, next.key, key);
+            if (order >= 0) {
+                previous = lower;
+                current = next;
+                return order;
+            }
+            lower = next;
+        }
+        return gallop(lower, key);
+    }
+
+    /**
+     * Moves the cursor to the first list item after the given one whose key is greater than or equal to the given
+     * key. If the list is indexed, the predecessor of the key is looked up in the index. Otherwise, an exponential
+     * search followed by a binary search is used, and {@link #minGallop} is adapted to the distance covered.
+     *
+     * @param lower a list item whose key is less than the given key
+     * @param key   the key to search for
+     * @return {@code 0} if the cursor points to a list item with a key equal to the given key afterwards, a positive
+     *     value if it points to a greater key or the cursor is exhausted
+     */
+    private int gallop(ListItem<T> lower, T key) {
+        SkipIndex<T> index = index();
+        if (index != null) {
+            // The predecessor of the key is not before the given list item, since its key is less than the key
+            previous = index.predecessor(key, false);
+            current = previous.next;
+            return current == null ? 1 : keyOrder.compare(cmp, current.key, key);
+        }
+        int distance = 0;
+        int step = 1;
+        int walked;
+        while (true) {
+            ListItem<T> probe = lower;
+            for (walked = 0; walked < step && probe.next != null; walked++) {
+                probe = probe.next;
+            }
+            if (walked == 0) {
+                previous = lower;
+                current = null;
+                adapt(distance);
+                return 1;
+            }
+            if (keyOrder.compare(cmp, probe.key, key) >= 0) {
+                break;
+            }
+            lower = probe;
+            distance += walked;
+            step <<= 1;
+        }
+
+        // The searched list item lies in (lower, lower + walked]
+        while (walked > 1) {
+            int half = walked / 2;
+            ListItem<T> middle = lower;
+            for (int i = 0; i < half; i++) {
+                middle = middle.next;
+            }
+            if (keyOrder.compare(cmp, middle.key, key) < 0) {
+                lower = middle;
+                distance += half;
+                walked -= half;
+            } else {
+                walked = half;
+            }
+        }
+        previous = lower;
+        current = lower.next;
+        adapt(distance + 1);
+        return keyOrder.compare(cmp, current.key, key);
+    }
+
+    /**
+     * Lowers the galloping threshold if the given distance was long enough to profit from galloping and raises it
+     * otherwise.
+     *
+     * @param distance the number of list items skipped by the last gallop
+     */
+    private void adapt(int distance) {
+        if (distance >= MIN_GALLOP) {
+            minGallop = Math.max(1, minGallop - 1);
+        } else {
+            minGallop++;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package h10;
+
+/**
+ * An out-of-place implementation of IntMySet, every operation writes its result to a new array.
+ */
+public class IntMySetAsCopy extends IntMySet {
+
+    /**
+     * Constructs and initializes a new set with the given values.
+     *
+     * @param keys the values of the set in ascending order
+     * @throws IllegalArgumentException if the given values are not pairwise different or not ordered
+     */
+    public IntMySetAsCopy(int... keys) {
+        this(keys, Validation.STRICT);
+    }
+
+    /**
+     * Constructs and initializes a new set with the given values which are validated according to the given mode.
+     *
+     * @param keys       the values of the set in ascending order
+     * @param validation the mode defining how thoroughly the given values are validated
+     * @throws IllegalArgumentException if the validation detects that the given values are not pairwise different
+     *                                  or not ordered
+     */
+    public IntMySetAsCopy(int[] keys, Validation validation) {
+        this(keys, keys.length, validation);
+    }
+
+    /**
+     * Constructs and initializes a new set with the first {@code size} values of the given array.
+     *
+     * @param keys       the values of the set in ascending order
+     * @param size       the number of values of the set
+     * @param validation the mode defining how thoroughly the given values are validated
+     * @throws IllegalArgumentException if the validation detects that the given values are not pairwise different
+     *                                  or not ordered
+     */
+    public IntMySetAsCopy(int[] keys, int size, Validation validation) {
+        super(keys, size, validation);
+    }
+
+    @Override
+    protected int[] target(int capacity) {
+        return new int[capacity];
+    }
+
+    @Override
+    protected IntMySet result(int[] keys, int size) {
+        return new IntMySetAsCopy(keys, size, Validation.TRUSTED);
+    }
+}
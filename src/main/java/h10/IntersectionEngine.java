@@ -0,0 +1,251 @@
+package h10;
+
+import java.util.Comparator;
+
+/**
+ * Computes the intersection of ordered lists by leapfrogging galloping cursors over them. The list items of the
+ * intersection are taken from the first list and are returned one by one, so that the caller decides whether to copy
+ * or to relink them.
+ *
+ * <p>Instead of advancing all lists in lockstep, every list is moved directly to the greatest key seen so far. Each
+ * cursor decides on its own whether to walk linearly or to gallop (see {@link GallopingCursor}), so the cost of
+ * intersecting a small list with a large one depends on the size of the small list and only logarithmically on the
+ * distances skipped in the large one, while lists of similar size are still merged linearly. Since skipping a distance
+ * in a linked list still walks it, the cursors of indexed lists skip through their skip indices instead.
+ *
+ * <p>The lists are processed in the order of their cardinality: candidates are taken from the smallest list and
+ * probed against the remaining lists from the smallest to the largest one, since smaller lists are more likely to
+ * reject a candidate. The intersection ends as soon as any cursor is exhausted.
+ *
+ * <p>An engine may be restricted to the keys less than an exclusive upper bound, so that disjoint key ranges of the
+ * same lists can be intersected independently (see {@link ParallelMerge}).
+ *
+ * @param <T> the type of the elements in the lists
+ */
+public class IntersectionEngine<T> {
+
+    /**
+     * The maximum ratio between the number of list items walked to rank the lists by their cardinality and the
+     * cardinality of the smallest list. Lists larger than this ratio keep their relative order.
+     */
+    public static final int MAX_PROBE_RATIO = 8;
+
+    /**
+     * The maximum number of list items walked per list to rank the lists by their cardinality if no list ends
+     * earlier. Lists larger than this limit keep their relative order.
+     */
+    public static final int MAX_PROBE_STEPS = 1 << 16;
+
+    /**
+     * The cursors over the lists ordered by the cardinality of the lists, the first one provides the candidates.
+     */
+    private final GallopingCursor<T>[] cursors;
+
+    /**
+     * The cursor over the first list whose list items are returned.
+     */
+    private final GallopingCursor<T> owner;
+
+    /**
+     * The comparator defining the order of the lists.
+     */
+    private final Comparator<? super T> cmp;
+
+    /**
+     * The order of the keys detected for the comparator.
+     */
+    private final KeyOrder keyOrder;
+
+    /**
+     * The exclusive upper bound of the keys to intersect or {@code null} if the keys are not bounded.
+     */
+    private final T bound;
+
+    /**
+     * Whether the intersection is known to be empty from the current position on.
+     */
+    private boolean exhausted;
+
+    /**
+     * Whether the candidate cursor still points to the last returned list item.
+     */
+    private boolean pending;
+
+    /**
+     * Constructs and initializes a new engine intersecting the given lists.
+     *
+     * @param heads the heads of the lists to intersect, the result consists of list items of the first list
+     * @param cmp   the comparator defining the order of the lists
+     */
+    public IntersectionEngine(ListItem<ListItem<T>> heads, Comparator<? super T> cmp) {
+        this(heads, cmp, null);
+    }
+
+    /**
+     * Constructs and initializes a new engine intersecting the given lists up to the given key.
+     *
+     * @param heads the heads of the lists to intersect, the result consists of list items of the first list
+     * @param cmp   the comparator defining the order of the lists
+     * @param bound the exclusive upper bound of the keys to intersect or {@code null} if the keys are not bounded
+     */
+    public IntersectionEngine(ListItem<ListItem<T>> heads, Comparator<? super T> cmp, T bound) {
+        this(heads, null, cmp, bound);
+    }
+
+    /**
+     * Constructs and initializes a new engine intersecting the given lists up to the given key, whose cursors gallop
+     * through the given skip indices.
+     *
+     * @param heads   the heads of the lists to intersect, the result consists of list items of the first list
+     * @param indexes the skip indices sampling the lists in the same order as the heads, where {@code null} denotes a
+     *                list which is not indexed, or {@code null} if no list is indexed
+     * @param cmp     the comparator defining the order of the lists
+     * @param bound   the exclusive upper bound of the keys to intersect or {@code null} if the keys are not bounded
+     */
+    @SuppressWarnings("unchecked")
+    public IntersectionEngine(
+        ListItem<ListItem<T>> heads,
+        ListItem<SkipIndex<T>> indexes,
+        Comparator<? super T> cmp,
+        T bound
+    ) {
+        this.cmp = cmp;
+        this.keyOrder = KeyOrder.of(cmp, sample(heads, bound));
+        this.bound = bound;
+        int count = 0;
+        for (ListItem<ListItem<T>> current = heads; current != null; current = current.next) {
+            count++;
+        }
+        cursors = (GallopingCursor<T>[]) new GallopingCursor<?>[count];
+        int i = 0;
+        ListItem<SkipIndex<T>> index = indexes;
+        for (ListItem<ListItem<T>> current = heads; current != null; current = current.next) {
+            cursors[i++] = new GallopingCursor<>(current.key, cmp, index == null ? null : index.key);
+            index = index == null ? null : index.next;
+        }
+        owner = cursors[0];
+        orderByCardinality();
+    }
+
+    /**
+     * Returns a key of the given lists to detect the order of the keys, i.e. the first key of the first non-empty list
+     * or the given bound if all lists are empty.
+     *
+     * @param heads the heads of the lists to intersect
+     * @param bound the exclusive upper bound of the keys to intersect or {@code null} if the keys are not bounded
+     * @param <T>   the type of the elements in the lists
+     * @return a key of the given lists or the given bound
+     */
+    private static <T> T sample(ListItem<ListItem<T>> heads, T bound) {
+        for (ListItem<ListItem<T>> current = heads; current != null; current = current.next) {
+            if (current.key != null) {
+                return current.key.key;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Sorts the cursors by the cardinality of their lists. The lists are walked in lockstep, so a list is ranked as
+     * soon as its end is reached and the walk stops once {@value #MAX_PROBE_RATIO} times the cardinality of the
+     * smallest list or {@value #MAX_PROBE_STEPS} list items have been walked. Therefore, ranking the lists costs
+     * {@code O(k * min)} steps instead of the sum of all cardinalities. If the keys are bounded, only the list items
+     * below the bound are counted.
+     */
+    @SuppressWarnings("unchecked")
+    private void orderByCardinality() {
+        int count = cursors.length;
+        ListItem<T>[] positions = (ListItem<T>[]) new ListItem<?>[count];
+        int[] sizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = cursors[i].item();
+            sizes[i] = Integer.MAX_VALUE;
+        }
+        int remaining = count;
+        long limit = MAX_PROBE_STEPS;
+        for (int steps = 0; remaining > 1 && steps <= limit; steps++) {
+            for (int i = 0; i < count; i++) {
+                if (sizes[i] != Integer.MAX_VALUE) {
+                    continue;
+                }
+                if (positions[i] == null || !isBelowBound(positions[i].key)) {
+                    sizes[i] = steps;
+                    remaining--;
+                    if (steps == 0) {
+                        exhausted = true;
+                        return;
+                    }
+                    limit = Math.min(limit, (long) steps * MAX_PROBE_RATIO);
+                } else {
+                    positions[i] = positions[i].next;
+                }
+            }
+        }
+
+        // Insertion sort is stable, so unranked lists keep their relative order
+        for (int i = 1; i < count; i++) {
+            GallopingCursor<T> cursor = cursors[i];
+            int size = sizes[i];
+            int j = i - 1;
+            for (; j >= 0 && sizes[j] > size; j--) {
+                cursors[j + 1] = cursors[j];
+                sizes[j + 1] = sizes[j];
+            }
+            cursors[j + 1] = cursor;
+            sizes[j + 1] = size;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the given key is less than the upper bound of this engine.
+     *
+     * @param key the key to check
+     * @return {@code true} if the given key is less than the upper bound or the keys are not bounded
+     */
+    private boolean isBelowBound(T key) {
+        return bound == null || keyOrder.compare(cmp, key, bound) < 0;
+    }
+
+    /**
+     * Returns the next list item of the first list whose key is contained in all lists. The successor of the returned
+     * list item is read on the next call only, so the caller may relink the previously returned list items.
+     *
+     * @return the next list item of the intersection or {@code null} if there are no more list items
+     */
+    public ListItem<T> next() {
+        if (exhausted) {
+            return null;
+        }
+        GallopingCursor<T> candidates = cursors[0];
+        if (pending) {
+            candidates.advance();
+            pending = false;
+        }
+        while (!candidates.isExhausted()) {
+            T key = candidates.key();
+            if (!isBelowBound(key)) {
+                break;
+            }
+            boolean match = true;
+            for (int i = 1; i < cursors.length; i++) {
+                GallopingCursor<T> other = cursors[i];
+                int order = other.seek(key);
+                if (other.isExhausted()) {
+                    exhausted = true;
+                    return null;
+                }
+                if (order > 0) {
+                    candidates.seek(other.key());
+                    match = false;
+                    break;
+                }
+            }
+            if (match) {
+                pending = true;
+                return owner.item();
+            }
+        }
+        exhausted = true;
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package h10;
+
+import java.util.Comparator;
+
+/**
+ * Classifies the comparator of a set so that comparisons of common key types run through a monomorphic code path.
+ * A call site invoking {@link Comparator#compare(Object, Object)} sees every comparator class used by the program and
+ * therefore cannot be inlined, whereas {@link #compare(Comparator, Object, Object)} is a single method whose
+ * specialized branches the JIT compiler inlines and predicts.
+ *
+ * <p>Every comparison is counted by {@link OperationStats} if cost accounting is enabled.
+ *
+ * <p>The order is detected once when a set, cursor or engine is constructed. Keys compared with
+ * {@link Comparator#naturalOrder()} are mutually comparable, so the class of a single sample key determines the
+ * class of all keys. Without a sample key, only {@link #NATURAL} can be detected: a set constructed empty therefore
+ * detects its order again when it receives its first element, and a {@link RangeView} uses the order of its backing
+ * set.
+ *
+ * @see MySet#compare(Object, Object)
+ */
+public enum KeyOrder {
+
+    /**
+     * Compares keys with an arbitrary comparator.
+     */
+    GENERIC,
+
+    /**
+     * Compares keys by their natural order using {@link Comparable#compareTo(Object)}.
+     */
+    NATURAL,
+
+    /**
+     * Compares {@link Integer} keys by their natural order without calling the comparator.
+     */
+    INTEGER,
+
+    /**
+     * Compares {@link Long} keys by their natural order without calling the comparator.
+     */
+    LONG;
+
+    /**
+     * The comparator returned by {@link Comparator#naturalOrder()}.
+     */
+    private static final Comparator<?> NATURAL_ORDER = Comparator.naturalOrder();
+
+    /**
+     * Returns the order of keys compared with the given comparator.
+     *
+     * @param cmp    the comparator to classify
+     * @param sample a key compared with the comparator or {@code null} if no key is known
+     * @return the order of keys compared with the given comparator
+     */
+    public static KeyOrder of(Comparator<?> cmp, Object sample) {
+        if (cmp != NATURAL_ORDER) {
+            return GENERIC;
+        }
+        if (sample instanceof Integer) {
+            return INTEGER;
+        }
+        if (sample instanceof Long) {
+            return LONG;
+        }
+        return NATURAL;
+    }
+
+    /**
+     * Compares the given keys like the given comparator, which must be the comparator this order was detected for.
+     *
+     * @param cmp the comparator this order was detected for
+     * @param a   the first key to compare
+     * @param b   the second key to compare
+     * @param <T> the type of the keys
+     * @return a negative integer, zero or a positive integer as the first key is less than, equal to or greater than
+     *     the second key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> int compare(Comparator<? super T> cmp, T a, T b) {
+        if (OperationStats.enabled) {
+            OperationStats.countComparison();
+        }
+        return switch (this) {
+            case INTEGER -> Integer.compare((Integer) a, (Integer) b);
+            case LONG -> Long.compare((Long) a, (Long) b);
+            case NATURAL -> ((Comparable<? super T>) a).compareTo(b);
+            case GENERIC -> cmp.compare(a, b);
+        };
+    }
+}
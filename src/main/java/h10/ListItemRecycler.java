@@ -0,0 +1,286 @@
+package h10;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional per-thread pool of list items. While enabled, the list items detached from a set by the in-place
+ * operations {@link MySetInPlace#subset}, {@link MySetInPlace#difference} and {@link MySetInPlace#intersection} are
+ * returned to the pool of the current thread, and the copy operations of {@link MySetAsCopy} take their list items
+ * from it before allocating new ones.
+ *
+ * <p>A detached list item keeps its key and successor until the operation detaching it has finished, so that the
+ * operation may still walk over it. Afterwards, both are cleared, so that pooled list items neither retain elements
+ * nor link garbage to live objects, which would keep the garbage alive across collections (nepotism).
+ *
+ * <p>Enabling the pool requires that no list item of a {@link MySetInPlace} is referenced outside of the set once an
+ * in-place operation has been applied to it, since detached list items are cleared and reused. The sets of this
+ * package respect this: {@link FactorizedProduct} snapshots its factors, {@link RangeView} hands out copies of its
+ * list items and operations relinking their arguments copy views, copy-mode and frozen sets. However, a view or a
+ * {@link Finger} of an in-place set must not be used after an in-place operation on that set, and list items of an
+ * in-place set must not be handed to another set, e.g. to the constructor of a {@link MySetFrozen}, which would share
+ * them with its results.
+ */
+public final class ListItemRecycler {
+
+    /**
+     * The maximum number of list items pooled per thread. List items released to a full pool are left to the garbage
+     * collector.
+     */
+    public static final int CAPACITY = 1 << 12;
+
+    /**
+     * The pool of a single thread, which is only accessed by the owning thread.
+     */
+    static final class Pool {
+
+        /**
+         * The pooled list items, where the list items at positions {@code dirty, ..., size - 1} have not been cleared
+         * yet.
+         */
+        private final ListItem<?>[] items = new ListItem<?>[CAPACITY];
+
+        /**
+         * The number of pooled list items.
+         */
+        private int size;
+
+        /**
+         * The position of the first pooled list item that has not been cleared yet.
+         */
+        private int dirty;
+
+        /**
+         * The number of list items released to this pool since the last flush.
+         */
+        private long recycled;
+
+        /**
+         * The number of list items taken from this pool since the last flush.
+         */
+        private long reused;
+
+        /**
+         * The number of list items allocated because this pool was empty since the last flush.
+         */
+        private long allocated;
+
+        /**
+         * The number of list items released to this pool while it was full since the last flush.
+         */
+        private long discarded;
+
+        /**
+         * Returns a list item with the given key and no successor, taken from this pool if possible.
+         *
+         * @param key the key of the list item
+         * @param <T> the type of the key
+         * @return a list item with the given key
+         */
+        @SuppressWarnings("unchecked")
+        <T> ListItem<T> obtain(T key) {
+            if (size == 0) {
+                allocated++;
+                return new ListItem<>(key);
+            }
+            ListItem<T> item = (ListItem<T>) items[--size];
+            items[size] = null;
+            dirty = Math.min(dirty, size);
+            item.key = key;
+            item.next = null;
+            reused++;
+            return item;
+        }
+
+        /**
+         * Returns the given detached list item to this pool. The list item is cleared by the next flush.
+         *
+         * @param item the detached list item
+         */
+        void release(ListItem<?> item) {
+            if (size == items.length) {
+                discarded++;
+                return;
+            }
+            items[size++] = item;
+            recycled++;
+        }
+
+        /**
+         * Clears the list items released since the last flush and publishes the statistics of this pool.
+         */
+        void flush() {
+            for (int i = dirty; i < size; i++) {
+                items[i].key = null;
+                items[i].next = null;
+            }
+            dirty = size;
+            RECYCLED.add(recycled);
+            REUSED.add(reused);
+            ALLOCATED.add(allocated);
+            DISCARDED.add(discarded);
+            recycled = 0;
+            reused = 0;
+            allocated = 0;
+            discarded = 0;
+        }
+    }
+
+    /**
+     * Whether list items are recycled.
+     */
+    private static volatile boolean enabled;
+
+    /**
+     * The pool of each thread.
+     */
+    private static final ThreadLocal<Pool> POOLS = ThreadLocal.withInitial(Pool::new);
+
+    /**
+     * The total number of list items released to the pools.
+     */
+    private static final LongAdder RECYCLED = new LongAdder();
+
+    /**
+     * The total number of list items taken from the pools.
+     */
+    private static final LongAdder REUSED = new LongAdder();
+
+    /**
+     * The total number of list items allocated because a pool was empty.
+     */
+    private static final LongAdder ALLOCATED = new LongAdder();
+
+    /**
+     * The total number of list items released to a full pool.
+     */
+    private static final LongAdder DISCARDED = new LongAdder();
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ListItemRecycler() {
+    }
+
+    /**
+     * Starts recycling list items.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops recycling list items. List items already pooled stay in the pools of their threads.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Returns {@code true} if list items are recycled.
+     *
+     * @return {@code true} if list items are recycled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the total number of list items released to the pools.
+     *
+     * @return the number of recycled list items
+     */
+    public static long recycled() {
+        return RECYCLED.sum();
+    }
+
+    /**
+     * Returns the total number of list items taken from the pools instead of being allocated.
+     *
+     * @return the number of reused list items
+     */
+    public static long reused() {
+        return REUSED.sum();
+    }
+
+    /**
+     * Returns the total number of list items allocated by copy operations because the pool of their thread was empty.
+     *
+     * @return the number of allocated list items
+     */
+    public static long allocated() {
+        return ALLOCATED.sum();
+    }
+
+    /**
+     * Returns the total number of detached list items which were not pooled because the pool of their thread was
+     * full.
+     *
+     * @return the number of discarded list items
+     */
+    public static long discarded() {
+        return DISCARDED.sum();
+    }
+
+    /**
+     * Returns the number of list items in the pool of the current thread.
+     *
+     * @return the number of pooled list items of the current thread
+     */
+    public static int pooled() {
+        return POOLS.get().size;
+    }
+
+    /**
+     * Resets the statistics of all pools to zero. The pooled list items are kept.
+     */
+    public static void reset() {
+        RECYCLED.reset();
+        REUSED.reset();
+        ALLOCATED.reset();
+        DISCARDED.reset();
+    }
+
+    /**
+     * Returns the pool of the current thread.
+     *
+     * @return the pool of the current thread or {@code null} if list items are not recycled
+     */
+    static Pool pool() {
+        return enabled ? POOLS.get() : null;
+    }
+
+    /**
+     * Returns a list item with the given key, taken from the given pool if possible.
+     *
+     * @param pool the pool of the current thread or {@code null} if list items are not recycled
+     * @param key  the key of the list item
+     * @param <T>  the type of the key
+     * @return a list item with the given key
+     */
+    static <T> ListItem<T> obtain(Pool pool, T key) {
+        return pool == null ? new ListItem<>(key) : pool.obtain(key);
+    }
+
+    /**
+     * Returns the given detached list item to the given pool.
+     *
+     * @param pool the pool of the current thread or {@code null} if list items are not recycled
+     * @param item the detached list item
+     */
+    static void release(Pool pool, ListItem<?> item) {
+        if (pool != null) {
+            pool.release(item);
+        }
+    }
+
+    /**
+     * Clears the list items released to the given pool by the finished operation and publishes its statistics.
+     *
+     * @param pool the pool of the current thread or {@code null} if list items are not recycled
+     */
+    static void flush(Pool pool) {
+        if (pool != null) {
+            pool.flush();
+        }
+    }
+}
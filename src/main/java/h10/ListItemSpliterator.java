@@ -0,0 +1,167 @@
+package h10;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the elements of a list which knows its size and splits in constant time. The list is sampled
+ * by a {@link SkipIndex}, so that the list item at any position is reached from the nearest sample in less than
+ * {@value SkipIndex#FANOUT} steps and a spliterator is always split into two halves of equal size.
+ *
+ * <p>A spliterator over a set additionally reports that its elements are {@link #SORTED} and {@link #DISTINCT}, so
+ * that streams skip {@code sorted()} for sets in natural order and {@code distinct()} for all sets. It does not report
+ * {@link #NONNULL}, since a set ordered by a comparator accepting {@code null} may contain {@code null}.
+ *
+ * <p>The spliterator is late-binding in the sense that it reads the list items only while traversing, but the list
+ * must not be relinked after the spliterator has been created.
+ *
+ * @param <T> the type of the elements in the list
+ * @see MySet#spliterator()
+ */
+public final class ListItemSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * The comparator returned by {@link Comparator#naturalOrder()}.
+     */
+    private static final Comparator<?> NATURAL_ORDER = Comparator.naturalOrder();
+
+    /**
+     * The index sampling the list.
+     */
+    private final SkipIndex<T> index;
+
+    /**
+     * The comparator defining the order of the list or {@code null} if the list is not known to be ordered.
+     */
+    private final Comparator<? super T> cmp;
+
+    /**
+     * The position of the next element to traverse.
+     */
+    private int from;
+
+    /**
+     * The position after the last element to traverse.
+     */
+    private final int to;
+
+    /**
+     * The list item at the position {@link #from} or {@code null} if it has not been looked up yet.
+     */
+    private ListItem<T> current;
+
+    /**
+     * Constructs and initializes a new spliterator over the given list.
+     *
+     * @param head the head of the list
+     */
+    public ListItemSpliterator(ListItem<T> head) {
+        this(new SkipIndex<>(head, null), null);
+    }
+
+    /**
+     * Constructs and initializes a new spliterator over the given list whose elements are strictly ordered by the
+     * given comparator.
+     *
+     * @param index the index sampling the list
+     * @param cmp   the comparator defining the order of the list or {@code null} if the list is not known to be
+     *              ordered
+     */
+    public ListItemSpliterator(SkipIndex<T> index, Comparator<? super T> cmp) {
+        this(index, cmp, 0, index.size(), index.size() == 0 ? null : index.sample(0));
+    }
+
+    /**
+     * Constructs and initializes a new spliterator over the given range of a list.
+     *
+     * @param index   the index sampling the list
+     * @param cmp     the comparator defining the order of the list or {@code null} if the list is not known to be
+     *                ordered
+     * @param from    the position of the first element to traverse
+     * @param to      the position after the last element to traverse
+     * @param current the list item at the position {@code from} or {@code null} if it has not been looked up yet
+     */
+    private ListItemSpliterator(SkipIndex<T> index, Comparator<? super T> cmp, int from, int to, ListItem<T> current) {
+        this.index = index;
+        this.cmp = cmp;
+        this.from = from;
+        this.to = to;
+        this.current = current;
+    }
+
+    /**
+     * Returns the list item at the given position.
+     *
+     * @param position the position of the list item
+     * @return the list item at the given position
+     */
+    private ListItem<T> itemAt(int position) {
+        ListItem<T> item = index.sample(position / SkipIndex.FANOUT);
+        for (int i = position % SkipIndex.FANOUT; i > 0; i--) {
+            item = item.next;
+        }
+        return item;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (from >= to) {
+            return false;
+        }
+        if (current == null) {
+            current = itemAt(from);
+        }
+        T key = current.key;
+        current = current.next;
+        from++;
+        action.accept(key);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (from >= to) {
+            return;
+        }
+        ListItem<T> item = current == null ? itemAt(from) : current;
+        int remaining = to - from;
+        from = to;
+        current = null;
+        for (; remaining > 0; remaining--) {
+            action.accept(item.key);
+            item = item.next;
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int mid = (from + to) >>> 1;
+        if (mid <= from) {
+            return null;
+        }
+        Spliterator<T> prefix = new ListItemSpliterator<>(index, cmp, from, mid, current);
+        from = mid;
+        current = null;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = ORDERED | SIZED | SUBSIZED;
+        return cmp == null ? characteristics : characteristics | SORTED | DISTINCT;
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        if (cmp == null) {
+            throw new IllegalStateException();
+        }
+        return cmp == NATURAL_ORDER ? null : cmp;
+    }
+}
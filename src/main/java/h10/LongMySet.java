@@ -0,0 +1,263 @@
+package h10;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+
+/**
+ * An ordered set of pairwise different {@code long} values stored in a sorted primitive array. In contrast to a
+ * {@code MySet<Long>}, the values are neither boxed nor compared by a comparator, and the merges of
+ * {@link #difference(LongMySet)} and {@link #intersection(LongMySet...)} do not allocate in their inner loops.
+ *
+ * <p>Subclasses decide whether the result of an operation is written to a new array ({@link LongMySetAsCopy}) or
+ * into the array of this set ({@link LongMySetInPlace}).
+ */
+public abstract class LongMySet {
+
+    /**
+     * The values of this set in ascending order, only the first {@link #size} values belong to the set.
+     */
+    protected long[] keys;
+
+    /**
+     * The number of values in this set.
+     */
+    protected int size;
+
+    /**
+     * Constructs and initializes a new set with the first {@code size} values of the given array.
+     *
+     * @param keys       the values of the set in ascending order
+     * @param size       the number of values of the set
+     * @param validation the mode defining how thoroughly the given values are validated
+     * @throws IllegalArgumentException if the validation detects that the given values are not pairwise different or
+     *                                  not ordered
+     */
+    protected LongMySet(long[] keys, int size, Validation validation) {
+        if (size < 0 || size > keys.length) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+        int stride = switch (validation) {
+            case FULL, STRICT -> 1;
+            case SAMPLED -> MySet.SAMPLE_STRIDE;
+            case TRUSTED -> 0;
+        };
+        if (stride > 0) {
+            for (int i = 0; i + 1 < size; i++) {
+                if ((i % stride == 0 || i + 2 == size) && keys[i] >= keys[i + 1]) {
+                    throw new IllegalArgumentException(keys[i] > keys[i + 1]
+                        ? "The given elements are not ordered"
+                        : "The given elements are not pairwise different");
+                }
+            }
+        }
+        this.keys = keys;
+        this.size = size;
+    }
+
+    /**
+     * Returns the array the result of an operation with at most the given number of values is written to.
+     *
+     * @param capacity the maximum number of values of the result
+     * @return the array the result is written to
+     */
+    protected abstract long[] target(int capacity);
+
+    /**
+     * Creates the set representing the result of an operation.
+     *
+     * @param keys the values of the result in ascending order
+     * @param size the number of values of the result
+     * @return the set representing the result
+     */
+    protected abstract LongMySet result(long[] keys, int size);
+
+    /**
+     * Returns the number of values in this set.
+     *
+     * @return the number of values in this set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value at the given position of this set.
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     * @throws IndexOutOfBoundsException if the position is out of bounds
+     */
+    public long get(int index) {
+        return keys[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Returns {@code true} if this set contains the given value.
+     *
+     * @param key the value to search for
+     * @return {@code true} if this set contains the given value
+     */
+    public boolean contains(long key) {
+        return Arrays.binarySearch(keys, 0, size, key) >= 0;
+    }
+
+    /**
+     * Returns a copy of the values of this set in ascending order.
+     *
+     * @return a copy of the values of this set
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Returns the position of the first value in {@code keys[from, to)} which is greater than or equal to the given
+     * key using an exponential search followed by a binary search, so that the cost is logarithmic in the distance
+     * from {@code from} instead of in the length of the range.
+     *
+     * @param keys the sorted values to search in
+     * @param from the first position to search (inclusive)
+     * @param to   the last position to search (exclusive)
+     * @param key  the key to search for
+     * @return the position of the first value not less than the given key or {@code to} if there is no such value
+     */
+    static int gallop(long[] keys, int from, int to, long key) {
+        if (from >= to || keys[from] >= key) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        while (low + step < to && keys[low + step] < key) {
+            low += step;
+            step <<= 1;
+        }
+        int high = Math.min(low + step, to);
+        low++;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the subset of this set that contains all values satisfying the given predicate.
+     *
+     * @param pred the predicate to apply to each value to determine if it should be included
+     * @return the subset of this set that contains all values satisfying the given predicate
+     */
+    public LongMySet subset(LongPredicate pred) {
+        long[] target = target(size);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long key = keys[i];
+            if (pred.test(key)) {
+                target[count++] = key;
+            }
+        }
+        return result(target, count);
+    }
+
+    /**
+     * Returns the difference of this set and the given set, more formally {@code this \ other}.
+     *
+     * @param other the set to subtract from this set
+     * @return the difference of this set and the given set
+     */
+    public LongMySet difference(LongMySet other) {
+        long[] target = target(size);
+        long[] otherKeys = other.keys;
+        int otherSize = other.size;
+        int count = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            long key = keys[i];
+            j = gallop(otherKeys, j, otherSize, key);
+            if (j == otherSize) {
+                System.arraycopy(keys, i, target, count, size - i);
+                count += size - i;
+                break;
+            }
+            if (otherKeys[j] != key) {
+                target[count++] = key;
+            }
+        }
+        return result(target, count);
+    }
+
+    /**
+     * Returns the intersection of this set and the given sets, more formally {@code this ∩ other1 ∩ ... ∩ otherN}.
+     * Candidates are taken from the smallest set and probed against the remaining sets from the smallest to the
+     * largest one using exponential searches, and the intersection ends as soon as any set is exhausted.
+     *
+     * @param others the sets to intersect with this set
+     * @return the intersection of this set and the given sets
+     */
+    public LongMySet intersection(LongMySet... others) {
+        LongMySet[] sets = new LongMySet[others.length + 1];
+        sets[0] = this;
+        System.arraycopy(others, 0, sets, 1, others.length);
+        Arrays.sort(sets, (a, b) -> Integer.compare(a.size, b.size));
+        int[] positions = new int[sets.length];
+        long[] target = target(sets[0].size);
+        int count = 0;
+
+        long[] candidates = sets[0].keys;
+        int candidateCount = sets[0].size;
+        int i = 0;
+        probe:
+        while (i < candidateCount) {
+            long key = candidates[i];
+            for (int k = 1; k < sets.length; k++) {
+                LongMySet other = sets[k];
+                int j = gallop(other.keys, positions[k], other.size, key);
+                positions[k] = j;
+                if (j == other.size) {
+                    break probe;
+                }
+                if (other.keys[j] != key) {
+                    i = gallop(candidates, i + 1, candidateCount, other.keys[j]);
+                    continue probe;
+                }
+            }
+            target[count++] = key;
+            i++;
+        }
+        return result(target, count);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LongMySet other = (LongMySet) o;
+        return Arrays.equals(keys, 0, size, other.keys, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Long.hashCode(keys[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            sb.append(keys[i]).append(" -> ");
+        }
+        return sb.append("null}").toString();
+    }
+}
@@ -0,0 +1,52 @@
+package h10;
+
+/**
+ * An out-of-place implementation of LongMySet, every operation writes its result to a new array.
+ */
+public class LongMySetAsCopy extends LongMySet {
+
+    /**
+     * Constructs and initializes a new set with the given values.
+     *
+     * @param keys the values of the set in ascending order
+     * @throws IllegalArgumentException if the given values are not pairwise different or not ordered
+     */
+    public LongMySetAsCopy(long... keys) {
+        this(keys, Validation.STRICT);
+    }
+
+    /**
+     * Constructs and initializes a new set with the given values which are validated according to the given mode.
+     *
+     * @param keys       the values of the set in ascending order
+     * @param validation the mode defining how thoroughly the given values are validated
+     * @throws IllegalArgumentException if the validation detects that the given values are not pairwise different
+     *                                  or not ordered
+     */
+    public LongMySetAsCopy(long[] keys, Validation validation) {
+        this(keys, keys.length, validation);
+    }
+
+    /**
+     * Constructs and initializes a new set with the first {@code size} values of the given array.
+     *
+     * @param keys       the values of the set in ascending order
+     * @param size       the number of values of the set
+     * @param validation the mode defining how thoroughly the given values are validated
+     * @throws IllegalArgumentException if the validation detects that the given values are not pairwise different
+     *                                  or not ordered
+     */
+    public LongMySetAsCopy(long[] keys, int size, Validation validation) {
+        super(keys, size, validation);
+    }
+
+    @Override
+    protected long[] target(int capacity) {
+        return new long[capacity];
+    }
+
+    @Override
+    protected LongMySet result(long[] keys, int size) {
+        return new LongMySetAsCopy(keys, size, Validation.TRUSTED);
+    }
+}
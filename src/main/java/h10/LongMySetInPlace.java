@@ -0,0 +1,55 @@
+package h10;
+
+/**
+ * An in-place implementation of LongMySet, every operation overwrites the array of this set with its result. Since
+ * the values of a result never precede their position in this set, the array is compacted in a single pass.
+ * Afterwards, this set and the result share the array and both contain the values of the result.
+ */
+public class LongMySetInPlace extends LongMySet {
+
+    /**
+     * Constructs and initializes a new set with the given values.
+     *
+     * @param keys the values of the set in ascending order
+     * @throws IllegalArgumentException if the given values are not pairwise different or not ordered
+     */
+    public LongMySetInPlace(long... keys) {
+        this(keys, Validation.STRICT);
+    }
+
+    /**
+     * Constructs and initializes a new set with the given values which are validated according to the given mode.
+     *
+     * @param keys       the values of the set in ascending order
+     * @param validation the mode defining how thoroughly the given values are validated
+     * @throws IllegalArgumentException if the validation detects that the given values are not pairwise different
+     *                                  or not ordered
+     */
+    public LongMySetInPlace(long[] keys, Validation validation) {
+        this(keys, keys.length, validation);
+    }
+
+    /**
+     * Constructs and initializes a new set with the first {@code size} values of the given array.
+     *
+     * @param keys       the values of the set in ascending order
+     * @param size       the number of values of the set
+     * @param validation the mode defining how thoroughly the given values are validated
+     * @throws IllegalArgumentException if the validation detects that the given values are not pairwise different
+     *                                  or not ordered
+     */
+    public LongMySetInPlace(long[] keys, int size, Validation validation) {
+        super(keys, size, validation);
+    }
+
+    @Override
+    protected long[] target(int capacity) {
+        return keys;
+    }
+
+    @Override
+    protected LongMySet result(long[] keys, int size) {
+        this.size = size;
+        return new LongMySetInPlace(keys, size, Validation.TRUSTED);
+    }
+}
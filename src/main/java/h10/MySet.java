@@ -3,7 +3,10 @@ package h10;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
 
 import java.util.Comparator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 /**
@@ -27,6 +30,47 @@ public abstract class MySet<T> {
     @DoNotTouch
     protected final Comparator<? super T> cmp;
 
+    /**
+     * The order of the elements detected for the comparator when this set was constructed. If this set was
+     * constructed empty, the order is detected again when it receives its first element.
+     *
+     * @see #compare(Object, Object)
+     * @see #detectKeyOrder()
+     */
+    protected KeyOrder keyOrder;
+
+    /**
+     * The skip index over the list items of this set or {@code null} if it has not been built yet or has been
+     * invalidated.
+     */
+    protected SkipIndex<T> index;
+
+    /**
+     * Whether this set uses a skip index to navigate its list items.
+     */
+    protected boolean indexed;
+
+    /**
+     * The number of elements of this set or {@value #UNKNOWN_SIZE} if it has not been computed yet or has been
+     * invalidated.
+     */
+    protected int cachedSize = UNKNOWN_SIZE;
+
+    /**
+     * The last list item of this set, which is only valid if {@link #cachedSize} is known.
+     */
+    protected ListItem<T> cachedTail;
+
+    /**
+     * The value of {@link #cachedSize} if the size of this set is not known.
+     */
+    protected static final int UNKNOWN_SIZE = -1;
+
+    /**
+     * The distance between two adjacent pairs which are compared by {@link Validation#SAMPLED}.
+     */
+    public static final int SAMPLE_STRIDE = 16;
+
     /**
      * Constructs and initializes a new set with the given elements.
      *
@@ -45,6 +89,142 @@ public abstract class MySet<T> {
 
         this.head = head;
         this.cmp = cmp;
+        this.keyOrder = KeyOrder.of(cmp, head == null ? null : head.key);
+    }
+
+    /**
+     * Constructs and initializes a new set with the given elements which are validated according to the given mode.
+     *
+     * @param head       the head of the set
+     * @param cmp        the comparator to compare elements
+     * @param validation the mode defining how thoroughly the given elements are validated
+     * @throws IllegalArgumentException if the validation detects that the given elements are not pairwise different
+     *                                  or not ordered
+     */
+    public MySet(ListItem<T> head, Comparator<? super T> cmp, Validation validation) {
+        switch (validation) {
+            case FULL -> {
+                if (!isOrdered(head, cmp)) {
+                    throw new IllegalArgumentException("The given elements are not ordered");
+                }
+                if (!isPairwiseDifferent(head, cmp)) {
+                    throw new IllegalArgumentException("The given elements are not pairwise different");
+                }
+            }
+            case STRICT -> {
+                if (!isStrictlyOrdered(head, cmp)) {
+                    throw invalidElements(head, cmp);
+                }
+            }
+            case SAMPLED -> {
+                if (!isSampledStrictlyOrdered(head, cmp)) {
+                    throw invalidElements(head, cmp);
+                }
+            }
+            case TRUSTED -> {
+                // Ordered and pairwise different by construction
+            }
+        }
+
+        this.head = head;
+        this.cmp = cmp;
+        this.keyOrder = KeyOrder.of(cmp, head == null ? null : head.key);
+    }
+
+    /**
+     * Constructs and initializes a new set with the given elements whose last list item and size are already known.
+     * The elements are not validated.
+     *
+     * @param head the head of the set
+     * @param tail the last list item of the set
+     * @param size the number of elements of the set
+     * @param cmp  the comparator to compare elements
+     */
+    protected MySet(ListItem<T> head, ListItem<T> tail, int size, Comparator<? super T> cmp) {
+        this(head, cmp, Validation.TRUSTED);
+        this.cachedTail = tail;
+        this.cachedSize = size;
+    }
+
+    /**
+     * Returns the exception describing why the given list is not a valid set. The order is reported first, as the
+     * pairwise difference can only be checked in a linear manner if the list is ordered.
+     *
+     * @param head the head of the list
+     * @param cmp  the comparator to compare elements
+     * @return the exception describing why the given list is not a valid set
+     */
+    private IllegalArgumentException invalidElements(ListItem<T> head, Comparator<? super T> cmp) {
+        if (!isOrdered(head, cmp)) {
+            return new IllegalArgumentException("The given elements are not ordered");
+        }
+        return new IllegalArgumentException("The given elements are not pairwise different");
+    }
+
+    /**
+     * Returns {@code true} if every element of the given list is strictly less than its successor according to the
+     * given comparator, which is the case if and only if the list is ordered and contains pairwise different elements.
+     *
+     * @param head the head of the list
+     * @param cmp  the comparator to compare elements
+     * @return {@code true} if the given list is strictly ordered according to the given comparator
+     */
+    protected boolean isStrictlyOrdered(ListItem<T> head, Comparator<? super T> cmp) {
+        if (head == null) {
+            return true;
+        }
+        for (ListItem<T> current = head; current.next != null; current = current.next) {
+            if (cmp.compare(current.key, current.next.key) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if every {@value #SAMPLE_STRIDE}-th element as well as the first and the penultimate
+     * element of the given list are strictly less than their successor according to the given comparator.
+     *
+     * @param head the head of the list
+     * @param cmp  the comparator to compare elements
+     * @return {@code true} if the sampled pairs of the given list are strictly ordered according to the given
+     *     comparator
+     */
+    protected boolean isSampledStrictlyOrdered(ListItem<T> head, Comparator<? super T> cmp) {
+        if (head == null) {
+            return true;
+        }
+        int index = 0;
+        for (ListItem<T> current = head; current.next != null; current = current.next, index++) {
+            if ((index % SAMPLE_STRIDE == 0 || current.next.next == null)
+                && cmp.compare(current.key, current.next.key) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the given elements according to the comparator of this set. Natural-order comparisons of common key
+     * types are specialized, so the merge loops of the set operations should compare elements using this method.
+     *
+     * @param a the first element to compare
+     * @param b the second element to compare
+     * @return a negative integer, zero or a positive integer as the first element is less than, equal to or greater
+     *     than the second element
+     * @see KeyOrder
+     */
+    protected final int compare(T a, T b) {
+        return keyOrder.compare(cmp, a, b);
+    }
+
+    /**
+     * Detects the order of the elements from the first element of this set. The order of a set constructed without
+     * elements cannot be detected from a sample element, so it must be detected again as soon as the first element is
+     * inserted.
+     */
+    protected void detectKeyOrder() {
+        keyOrder = KeyOrder.of(cmp, head == null ? null : head.key);
     }
 
     /**
@@ -86,6 +266,57 @@ public abstract class MySet<T> {
         return true;
     }
 
+    /**
+     * Returns the head of the list items of this set. Subclasses which do not store their elements as list items
+     * materialize them on demand.
+     *
+     * @return the head of the list items of this set
+     */
+    protected ListItem<T> head() {
+        return head;
+    }
+
+    /**
+     * Returns the first list item of this set. In contrast to {@link #head()}, the list items following the returned
+     * one may extend beyond this set, so they must only be traversed using {@link #seek(ListItem, Object)}, which
+     * stops at the end of this set. Views return the first list item of their backing set lying in their range
+     * without copying it.
+     *
+     * @return the first list item of this set or {@code null} if this set is empty
+     */
+    protected ListItem<T> first() {
+        return head();
+    }
+
+    /**
+     * Returns the list item at which a walk starting at {@link #first()} leaves this set. Views return the first list
+     * item of their backing set lying above their range, all other sets end at their last list item.
+     *
+     * @return the list item following the last list item of this set or {@code null} if this set ends at the end of
+     *     its list
+     */
+    protected ListItem<T> end() {
+        return null;
+    }
+
+    /**
+     * Returns the inclusive lower bound of the keys of this set if this set is a view of a key range.
+     *
+     * @return the inclusive lower bound of the keys of this set or {@code null} if the keys are not bounded
+     */
+    protected T lowerBound() {
+        return null;
+    }
+
+    /**
+     * Returns the exclusive upper bound of the keys of this set if this set is a view of a key range.
+     *
+     * @return the exclusive upper bound of the keys of this set or {@code null} if the keys are not bounded
+     */
+    protected T upperBound() {
+        return null;
+    }
+
     /**
      * Returns the subset of this set that contains all elements satisfying the given predicate, more formally
      * {@code {x ∈ this | pred(x)}}.
@@ -96,6 +327,22 @@ public abstract class MySet<T> {
     @DoNotTouch
     public abstract MySet<T> subset(Predicate<? super T> pred);
 
+    /**
+     * Returns the subset of this set that contains all elements satisfying the given predicate like
+     * {@link #subset(Predicate)}, but evaluates the predicate concurrently on the given pool. The predicate is still
+     * evaluated exactly once per element, but in an unspecified order and from multiple threads.
+     *
+     * <p>Sets which cannot be split into independent chunks evaluate the predicate sequentially.
+     *
+     * @param pred the predicate to apply to each element to determine if it should be included
+     * @param pool the pool evaluating the predicate
+     * @return the subset of this set that contains all elements satisfying the given predicate
+     * @see ParallelSubset
+     */
+    public MySet<T> parallelSubset(Predicate<? super T> pred, ForkJoinPool pool) {
+        return subset(pred);
+    }
+
     /**
      * Returns the cartesian product of this set and the given set, more formally {@code this × other}.
      *
@@ -123,6 +370,49 @@ public abstract class MySet<T> {
     @DoNotTouch
     protected abstract MySet<T> intersectionListItems(ListItem<ListItem<T>> heads);
 
+    /**
+     * Returns the intersection of the given lists like {@link #intersectionListItems(ListItem)}, but only considers
+     * keys less than the given bound. The lists may continue beyond the bound, which allows intersecting views
+     * without copying their list items. Lists sampled by a skip index may be searched through the index.
+     *
+     * <p>This default implementation ignores the indices and copies the prefixes of the lists lying below the bound.
+     *
+     * @param heads   the heads of the lists to intersect, the first one is the head of this set
+     * @param indexes the skip indices sampling the lists in the same order as the heads, where {@code null} denotes
+     *                a list which is not indexed, or {@code null} if no list is indexed
+     * @param bound   the exclusive upper bound of the keys to intersect or {@code null} if the keys are not bounded
+     * @return the intersection of the given lists
+     */
+    protected MySet<T> intersectionListItems(ListItem<ListItem<T>> heads, ListItem<SkipIndex<T>> indexes, T bound) {
+        if (bound == null) {
+            return intersectionListItems(heads);
+        }
+        ListItem<ListItem<T>> prefixes = null;
+        ListItem<ListItem<T>> prefixesTail = null;
+        for (ListItem<ListItem<T>> list = heads; list != null; list = list.next) {
+            ListItem<T> prefix = null;
+            ListItem<T> prefixTail = null;
+            for (ListItem<T> current = list.key; current != null && compare(current.key, bound) < 0;
+                 current = current.next) {
+                ListItem<T> item = new ListItem<>(current.key);
+                if (prefix == null) {
+                    prefix = item;
+                } else {
+                    prefixTail.next = item;
+                }
+                prefixTail = item;
+            }
+            ListItem<ListItem<T>> item = new ListItem<>(prefix);
+            if (prefixes == null) {
+                prefixes = item;
+            } else {
+                prefixesTail.next = item;
+            }
+            prefixesTail = item;
+        }
+        return intersectionListItems(prefixes);
+    }
+
     /**
      * Returns a converted version of the sets as a list.
      *
@@ -131,12 +421,12 @@ public abstract class MySet<T> {
      */
     @DoNotTouch
     protected ListItem<ListItem<T>> toListItem(ListItem<MySet<T>> others) {
-        ListItem<ListItem<T>> heads = new ListItem<>(head);
+        ListItem<ListItem<T>> heads = new ListItem<>(head());
         ListItem<ListItem<T>> tails = heads;
 
         // Retrieve pointers to a head pointer from all sets
         for (ListItem<MySet<T>> otherSets = others; otherSets != null; otherSets = otherSets.next) {
-            ListItem<T> otherHead = otherSets.key.head;
+            ListItem<T> otherHead = otherSets.key.head();
             ListItem<ListItem<T>> item = new ListItem<>(otherHead);
             tails.next = item;
             tails = item;
@@ -144,6 +434,22 @@ public abstract class MySet<T> {
         return heads;
     }
 
+    /**
+     * Returns the comparator defining the lexicographic order of the pairs created by
+     * {@link #cartesianProduct(MySet)}.
+     *
+     * @return the comparator defining the lexicographic order of the pairs
+     */
+    protected Comparator<ListItem<T>> pairComparator() {
+        return (a, b) -> {
+            int order = compare(a.key, b.key);
+            if (order != 0) {
+                return order;
+            }
+            return compare(a.next.key, b.next.key);
+        };
+    }
+
     /**
      * Returns the intersection of this set and the given sets, more formally {@code this ∩ other1 ∩ ... ∩ otherN}.
      *
@@ -152,7 +458,104 @@ public abstract class MySet<T> {
      */
     @DoNotTouch
     public MySet<T> intersection(ListItem<MySet<T>> others) {
-        return intersectionListItems(toListItem(others));
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(OperationStats.Operation.INTERSECTION, this, others);
+        MySet<T> result = intersectionInRange(others);
+        WorkloadRecorder.end(entry, entry == null ? 0 : result.size());
+        return result;
+    }
+
+    /**
+     * Returns the intersection of this set and the given sets within the common key range of all sets.
+     *
+     * @param others the sets to intersect with this set
+     * @return the intersection of this set and the given sets
+     */
+    private MySet<T> intersectionInRange(ListItem<MySet<T>> others) {
+        if (isDisjointRange(others)) {
+            // An empty first list yields the empty intersection of the same kind as this set in constant time
+            return intersectionListItems(new ListItem<>(null));
+        }
+        T lower = lowerBound();
+        T upper = upperBound();
+        for (ListItem<MySet<T>> current = others; current != null; current = current.next) {
+            lower = maxBound(lower, current.key.lowerBound());
+            upper = minBound(upper, current.key.upperBound());
+        }
+        ListItem<SkipIndex<T>> indexes = indexes(others);
+        if (lower == null && upper == null) {
+            return indexes == null
+                ? intersectionListItems(toListItem(others))
+                : intersectionListItems(toListItem(others), indexes, null);
+        }
+
+        // Views are intersected within the common key range directly on the list items of their backing sets
+        ListItem<ListItem<T>> heads = new ListItem<>(start(this, lower));
+        ListItem<ListItem<T>> tails = heads;
+        for (ListItem<MySet<T>> current = others; current != null; current = current.next) {
+            tails.next = new ListItem<>(start(current.key, lower));
+            tails = tails.next;
+        }
+        return intersectionListItems(heads, indexes, upper);
+    }
+
+    /**
+     * Returns the skip indices of this set and the given sets in the order of {@link #toListItem(ListItem)}.
+     *
+     * @param others the other sets
+     * @return the skip indices of the sets, where {@code null} denotes a set which is not indexed, or {@code null} if
+     *     no set is indexed
+     */
+    private ListItem<SkipIndex<T>> indexes(ListItem<MySet<T>> others) {
+        ListItem<SkipIndex<T>> indexes = new ListItem<>(index());
+        ListItem<SkipIndex<T>> tail = indexes;
+        boolean indexed = indexes.key != null;
+        for (ListItem<MySet<T>> current = others; current != null; current = current.next) {
+            tail.next = new ListItem<>(current.key.index());
+            tail = tail.next;
+            indexed |= tail.key != null;
+        }
+        return indexed ? indexes : null;
+    }
+
+    /**
+     * Returns the first list item of the given set whose key is greater than or equal to the given key.
+     *
+     * @param set the set to search in
+     * @param key the key to search for or {@code null} to return the first list item of the set
+     * @param <T> type of elements
+     * @return the first list item of the given set not less than the given key
+     */
+    private static <T> ListItem<T> start(MySet<T> set, T key) {
+        ListItem<T> first = set.first();
+        return key == null || first == null ? first : set.seek(first, key);
+    }
+
+    /**
+     * Returns the greater of the given lower bounds, where {@code null} denotes an unbounded range.
+     *
+     * @param a the first bound
+     * @param b the second bound
+     * @return the greater of the given lower bounds
+     */
+    protected T maxBound(T a, T b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return compare(a, b) >= 0 ? a : b;
+    }
+
+    /**
+     * Returns the smaller of the given upper bounds, where {@code null} denotes an unbounded range.
+     *
+     * @param a the first bound
+     * @param b the second bound
+     * @return the smaller of the given upper bounds
+     */
+    protected T minBound(T a, T b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return compare(a, b) <= 0 ? a : b;
     }
 
     /**
@@ -166,6 +569,505 @@ public abstract class MySet<T> {
         return intersection(new ListItem<>(other));
     }
 
+    /**
+     * Returns the symmetric difference of this set and the given set, more formally
+     * {@code (this \ other) ∪ (other \ this)}. Both sets are walked exactly once.
+     *
+     * @param other the set to combine with this set
+     * @return the symmetric difference of this set and the given set
+     */
+    public abstract MySet<T> symmetricDifference(MySet<T> other);
+
+    /**
+     * Returns the union of this set and the given sets, more formally {@code this ∪ other1 ∪ ... ∪ otherN}.
+     *
+     * @param others the sets to unite with this set
+     * @return the union of this set and the given sets
+     */
+    public MySet<T> union(ListItem<MySet<T>> others) {
+        boolean bounded = lowerBound() != null || upperBound() != null;
+        for (ListItem<MySet<T>> current = others; current != null && !bounded; current = current.next) {
+            bounded = current.key.lowerBound() != null || current.key.upperBound() != null;
+        }
+        if (!bounded) {
+            return unionListItems(toListItem(others));
+        }
+
+        // Views are merged directly on the list items of their backing sets up to the end of their range
+        ListItem<ListItem<T>> heads = new ListItem<>(first());
+        ListItem<ListItem<T>> ends = new ListItem<>(end());
+        ListItem<ListItem<T>> headsTail = heads;
+        ListItem<ListItem<T>> endsTail = ends;
+        for (ListItem<MySet<T>> current = others; current != null; current = current.next) {
+            headsTail.next = new ListItem<>(current.key.first());
+            headsTail = headsTail.next;
+            endsTail.next = new ListItem<>(current.key.end());
+            endsTail = endsTail.next;
+        }
+        return unionListItems(heads, ends);
+    }
+
+    /**
+     * Returns the union of this set and the given set, more formally {@code this ∪ other}.
+     *
+     * @param other the set to unite with this set
+     * @return the union of this set and the given set
+     */
+    public MySet<T> union(MySet<T> other) {
+        return union(new ListItem<>(other));
+    }
+
+    /**
+     * Returns the union of the given lists. If several lists contain the same element, the element of the list given
+     * first is kept.
+     *
+     * @param heads the heads of the lists to unite, the first one is the head of this set
+     * @return the union of the given lists
+     * @see UnionEngine
+     */
+    protected abstract MySet<T> unionListItems(ListItem<ListItem<T>> heads);
+
+    /**
+     * Returns the union of the given lists like {@link #unionListItems(ListItem)}, but each list ends at the given
+     * list item. The lists may continue beyond their end, which allows uniting views without copying their list
+     * items.
+     *
+     * <p>This default implementation copies the lists up to their end.
+     *
+     * @param heads the heads of the lists to unite, the first one is the first list item of this set
+     * @param ends  the list items at which the lists end in the same order as the heads, where {@code null} denotes
+     *              a list ending at its last list item, or {@code null} if all lists end at their last list item
+     * @return the union of the given lists
+     * @see #end()
+     */
+    protected MySet<T> unionListItems(ListItem<ListItem<T>> heads, ListItem<ListItem<T>> ends) {
+        if (ends == null) {
+            return unionListItems(heads);
+        }
+        ListItem<ListItem<T>> copies = null;
+        ListItem<ListItem<T>> copiesTail = null;
+        ListItem<ListItem<T>> end = ends;
+        for (ListItem<ListItem<T>> list = heads; list != null; list = list.next, end = end.next) {
+            ListItem<T> copy = null;
+            ListItem<T> copyTail = null;
+            for (ListItem<T> current = list.key; current != null && current != end.key; current = current.next) {
+                ListItem<T> item = new ListItem<>(current.key);
+                if (copy == null) {
+                    copy = item;
+                } else {
+                    copyTail.next = item;
+                }
+                copyTail = item;
+            }
+            ListItem<ListItem<T>> item = new ListItem<>(copy);
+            if (copies == null) {
+                copies = item;
+            } else {
+                copiesTail.next = item;
+            }
+            copiesTail = item;
+        }
+        return unionListItems(copies);
+    }
+
+    /**
+     * Returns the difference of this set and the given set like {@link #difference(MySet)}, but merges disjoint key
+     * ranges of both sets concurrently on the given pool.
+     *
+     * <p>Sets which cannot be partitioned into key ranges compute the difference sequentially.
+     *
+     * @param other the set to subtract from this set
+     * @param pool  the pool merging the key ranges
+     * @return the difference of this set and the given set
+     * @see ParallelMerge
+     */
+    public MySet<T> parallelDifference(MySet<T> other, ForkJoinPool pool) {
+        return difference(other);
+    }
+
+    /**
+     * Returns the intersection of this set and the given sets like {@link #intersection(ListItem)}, but merges
+     * disjoint key ranges of all sets concurrently on the given pool.
+     *
+     * <p>Sets which cannot be partitioned into key ranges compute the intersection sequentially.
+     *
+     * @param others the sets to intersect with this set
+     * @param pool   the pool merging the key ranges
+     * @return the intersection of this set and the given sets
+     * @see ParallelMerge
+     */
+    public MySet<T> parallelIntersection(ListItem<MySet<T>> others, ForkJoinPool pool) {
+        return intersection(others);
+    }
+
+    /**
+     * Returns a view of the elements of this set ranging from {@code fromKey}, inclusive, to {@code toKey},
+     * exclusive. The view shares the list items of this set instead of copying them, so it reflects later changes of
+     * this set, and it can be used as an operand of every set operation.
+     *
+     * @param fromKey the inclusive lower bound of the view
+     * @param toKey   the exclusive upper bound of the view
+     * @return a view of the elements of this set in the given range
+     * @throws IllegalArgumentException if {@code fromKey} is greater than {@code toKey}
+     * @see RangeView
+     */
+    public MySet<T> subSet(T fromKey, T toKey) {
+        Objects.requireNonNull(fromKey, "fromKey");
+        Objects.requireNonNull(toKey, "toKey");
+        if (cmp.compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("The lower bound is greater than the upper bound");
+        }
+        return view(fromKey, toKey);
+    }
+
+    /**
+     * Returns a view of the elements of this set which are strictly less than {@code toKey}.
+     *
+     * @param toKey the exclusive upper bound of the view
+     * @return a view of the elements of this set less than the given key
+     * @see #subSet(Object, Object)
+     */
+    public MySet<T> headSet(T toKey) {
+        return view(null, Objects.requireNonNull(toKey, "toKey"));
+    }
+
+    /**
+     * Returns a view of the elements of this set which are greater than or equal to {@code fromKey}.
+     *
+     * @param fromKey the inclusive lower bound of the view
+     * @return a view of the elements of this set not less than the given key
+     * @see #subSet(Object, Object)
+     */
+    public MySet<T> tailSet(T fromKey) {
+        return view(Objects.requireNonNull(fromKey, "fromKey"), null);
+    }
+
+    /**
+     * Returns a view of the elements of this set in the given range.
+     *
+     * @param fromKey the inclusive lower bound of the view or {@code null} if the view has no lower bound
+     * @param toKey   the exclusive upper bound of the view or {@code null} if the view has no upper bound
+     * @return a view of the elements of this set in the given range
+     */
+    protected MySet<T> view(T fromKey, T toKey) {
+        return new RangeView<>(this, fromKey, toKey);
+    }
+
+    /**
+     * Returns a new finger pointing to the first element of this set, which answers lookups with ascending keys
+     * without restarting at the head of this set. Sets which do not own their list items return a read-only finger.
+     *
+     * @return a new finger into this set
+     * @see Finger#isReadOnly()
+     */
+    public Finger<T> finger() {
+        return new Finger<>(this);
+    }
+
+    /**
+     * Returns a spliterator over the elements of this set which reports that they are sorted by the comparator of
+     * this set and distinct. The spliterator splits in constant time using the skip index of this set or, if this set
+     * is not indexed, a temporary index built by walking the list items once.
+     *
+     * @return a spliterator over the elements of this set
+     */
+    public Spliterator<T> spliterator() {
+        SkipIndex<T> index = index();
+        return new ListItemSpliterator<>(index != null ? index : new SkipIndex<>(head(), cmp), cmp);
+    }
+
+    /**
+     * Enables the skip index of this set and builds it over the current list items. Afterwards, lookups and seeks
+     * on this set take {@code O(log n)} steps instead of walking the list from its head.
+     */
+    public void buildIndex() {
+        indexed = true;
+        index = new SkipIndex<>(head(), cmp);
+    }
+
+    /**
+     * Returns {@code true} if this set uses a skip index to navigate its list items.
+     *
+     * @return {@code true} if this set uses a skip index to navigate its list items
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Invalidates the skip index, the size and the last list item of this set. This method must be called whenever
+     * the list items of this set are relinked, they are then computed lazily on their next use.
+     */
+    protected void invalidateCaches() {
+        index = null;
+        cachedSize = UNKNOWN_SIZE;
+        cachedTail = null;
+    }
+
+    /**
+     * Walks the list items of this set to compute its size and its last list item if they are not known.
+     */
+    private void computeMetadata() {
+        if (cachedSize != UNKNOWN_SIZE) {
+            return;
+        }
+        int size = 0;
+        ListItem<T> tail = null;
+        for (ListItem<T> current = head(); current != null; current = current.next) {
+            tail = current;
+            size++;
+        }
+        cachedTail = tail;
+        cachedSize = size;
+    }
+
+    /**
+     * Returns the number of elements in this set. The size is maintained by the set operations, so it is only
+     * computed by walking the list items if this set has been created from a list of unknown size.
+     *
+     * @return the number of elements in this set
+     */
+    public int size() {
+        computeMetadata();
+        return cachedSize;
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return head() == null;
+    }
+
+    /**
+     * Returns the last list item of this set.
+     *
+     * @return the last list item of this set or {@code null} if this set is empty
+     */
+    protected ListItem<T> tail() {
+        computeMetadata();
+        return cachedTail;
+    }
+
+    /**
+     * Returns the smallest element of this set.
+     *
+     * @return the smallest element of this set
+     * @throws NoSuchElementException if this set is empty
+     */
+    public T min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        return head().key;
+    }
+
+    /**
+     * Returns the greatest element of this set.
+     *
+     * @return the greatest element of this set
+     * @throws NoSuchElementException if this set is empty
+     */
+    public T max() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        return tail().key;
+    }
+
+    /**
+     * Returns {@code true} if the key ranges of this set and the given set do not overlap, i.e. if one of the sets is
+     * empty or all elements of one set are less than all elements of the other set. In this case, the sets are
+     * disjoint and the check takes constant time once their last list items are known.
+     *
+     * @param other the set to compare with
+     * @return {@code true} if the key ranges of this set and the given set do not overlap
+     */
+    protected boolean isDisjointRange(MySet<T> other) {
+        return isEmpty()
+            || other.isEmpty()
+            || compare(max(), other.min()) < 0
+            || compare(other.max(), min()) < 0;
+    }
+
+    /**
+     * Returns {@code true} if the key range of this set does not overlap with the key range of any of the given sets.
+     *
+     * @param others the sets to compare with
+     * @return {@code true} if the key range of this set does not overlap with the key range of any given set
+     * @see #isDisjointRange(MySet)
+     */
+    protected boolean isDisjointRange(ListItem<MySet<T>> others) {
+        for (ListItem<MySet<T>> current = others; current != null; current = current.next) {
+            if (isDisjointRange(current.key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the skip index of this set, rebuilding it if it has been invalidated.
+     *
+     * @return the skip index of this set or {@code null} if this set does not use an index
+     */
+    protected SkipIndex<T> index() {
+        if (indexed && index == null) {
+            index = new SkipIndex<>(head(), cmp);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the last list item of this set whose key is less than the given key or, if {@code inclusive} is set,
+     * less than or equal to the given key.
+     *
+     * @param key       the key to search for
+     * @param inclusive whether a list item with a key equal to the given key may be returned
+     * @return the last list item lying before the given key or {@code null} if there is no such list item
+     */
+    protected ListItem<T> predecessor(T key, boolean inclusive) {
+        SkipIndex<T> index = index();
+        if (index != null) {
+            return index.predecessor(key, inclusive);
+        }
+        ListItem<T> predecessor = null;
+        for (ListItem<T> current = head(); current != null; current = current.next) {
+            int order = compare(current.key, key);
+            if (order > 0 || order == 0 && !inclusive) {
+                break;
+            }
+            predecessor = current;
+        }
+        return predecessor;
+    }
+
+    /**
+     * Returns the first list item of this set starting from the given list item whose key is greater than or equal
+     * to the given key. The list is walked linearly for a few steps, long runs of smaller keys are skipped using the
+     * skip index if this set is indexed.
+     *
+     * @param from the list item of this set to start from
+     * @param key  the key to search for
+     * @return the first list item not less than the given key or {@code null} if there is no such list item
+     */
+    protected ListItem<T> seek(ListItem<T> from, T key) {
+        ListItem<T> current = from;
+        for (int step = 0; current != null && compare(current.key, key) < 0; step++) {
+            if (step == SkipIndex.FANOUT && index() != null) {
+                ListItem<T> predecessor = index.predecessor(key, false);
+                return predecessor == null ? head() : predecessor.next;
+            }
+            current = current.next;
+        }
+        return current;
+    }
+
+    /**
+     * Returns {@code true} if this set contains the given key.
+     *
+     * @param key the key to search for
+     * @return {@code true} if this set contains the given key
+     */
+    public boolean contains(T key) {
+        ListItem<T> floor = predecessor(key, true);
+        return floor != null && compare(floor.key, key) == 0;
+    }
+
+    /**
+     * Returns the greatest element of this set less than or equal to the given key.
+     *
+     * @param key the key to search for
+     * @return the greatest element less than or equal to the given key or {@code null} if there is no such element
+     */
+    public T floor(T key) {
+        ListItem<T> floor = predecessor(key, true);
+        return floor == null ? null : floor.key;
+    }
+
+    /**
+     * Returns the greatest element of this set strictly less than the given key.
+     *
+     * @param key the key to search for
+     * @return the greatest element less than the given key or {@code null} if there is no such element
+     */
+    public T lower(T key) {
+        ListItem<T> lower = predecessor(key, false);
+        return lower == null ? null : lower.key;
+    }
+
+    /**
+     * Returns the least element of this set greater than or equal to the given key.
+     *
+     * @param key the key to search for
+     * @return the least element greater than or equal to the given key or {@code null} if there is no such element
+     */
+    public T ceiling(T key) {
+        ListItem<T> lower = predecessor(key, false);
+        ListItem<T> ceiling = lower == null ? head() : lower.next;
+        return ceiling == null ? null : ceiling.key;
+    }
+
+    /**
+     * Returns the least element of this set strictly greater than the given key.
+     *
+     * @param key the key to search for
+     * @return the least element greater than the given key or {@code null} if there is no such element
+     */
+    public T higher(T key) {
+        ListItem<T> floor = predecessor(key, true);
+        ListItem<T> higher = floor == null ? head() : floor.next;
+        return higher == null ? null : higher.key;
+    }
+
+    /**
+     * Returns the number of elements of this set which are strictly less than the given key. If this set is indexed,
+     * the rank is computed in {@code O(log n)} steps, otherwise the list items are walked from the head.
+     *
+     * @param key the key to search for
+     * @return the number of elements less than the given key
+     */
+    public int rank(T key) {
+        SkipIndex<T> index = index();
+        if (index != null) {
+            return index.rank(key);
+        }
+        int rank = 0;
+        for (ListItem<T> current = head(); current != null; current = current.next, rank++) {
+            if (compare(current.key, key) >= 0) {
+                break;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the element at the given position of this set in ascending order, i.e. the {@code index + 1}-th
+     * smallest element. If this set is indexed, the element is found in constant time, otherwise the list items are
+     * walked from the head.
+     *
+     * @param index the position of the element
+     * @return the element at the given position
+     * @throws IndexOutOfBoundsException if the position is negative or not less than the size of this set
+     */
+    public T select(int index) {
+        SkipIndex<T> skipIndex = index();
+        if (skipIndex != null) {
+            return skipIndex.select(index).key;
+        }
+        if (index >= 0) {
+            int position = 0;
+            for (ListItem<T> current = head(); current != null; current = current.next, position++) {
+                if (position == index) {
+                    return current.key;
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+    }
+
     @Override
     @DoNotTouch
     public boolean equals(Object o) {
@@ -176,18 +1078,18 @@ public abstract class MySet<T> {
             return false;
         }
         MySet<?> mySet = (MySet<?>) o;
-        return Objects.equals(head, mySet.head);
+        return Objects.equals(head(), mySet.head());
     }
 
     @Override
     @DoNotTouch
     public int hashCode() {
-        return Objects.hash(head);
+        return Objects.hash(head());
     }
 
     @Override
     @DoNotTouch
     public String toString() {
-        return String.valueOf(head);
+        return String.valueOf(head());
     }
 }
@@ -0,0 +1,410 @@
+package h10;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * An out-of-place implementation of MySet for integers which stores its elements in compressed Roaring-style
+ * containers instead of list items. The elements are partitioned by their upper 16 bits, and the lower 16 bits of
+ * each partition are stored in an array, bitmap or run container, whichever is the most compact one. Dense integer
+ * domains therefore need a few bits per element instead of a list item and a boxed integer.
+ *
+ * <p>The elements are ordered by their natural order. Operations with other bitmap sets are evaluated on the
+ * containers using word-level bit operations. The list items of a bitmap set are only materialized if the set is
+ * combined with a list-based set, and they are not retained afterwards.
+ */
+public class MySetAsBitmap extends MySet<Integer> {
+
+    /**
+     * The upper 16 bits of the partitions in ascending order. The sign bit of the elements is flipped, so that the
+     * unsigned order of the partitions matches the natural order of the elements.
+     */
+    private final char[] highs;
+
+    /**
+     * The containers storing the lower 16 bits of the partitions.
+     */
+    private final Container[] containers;
+
+    /**
+     * The number of elements in this set.
+     */
+    private final int size;
+
+    /**
+     * Constructs and initializes a new set with the given elements.
+     *
+     * @param head the head of the elements in ascending order
+     * @throws IllegalArgumentException if the given elements are not pairwise different or not ordered
+     */
+    public MySetAsBitmap(ListItem<Integer> head) {
+        this(head, Validation.STRICT);
+    }
+
+    /**
+     * Constructs and initializes a new set with the given elements which are validated according to the given mode.
+     *
+     * @param head       the head of the elements in ascending order
+     * @param validation the mode defining how thoroughly the given elements are validated
+     * @throws IllegalArgumentException if the validation detects that the given elements are not pairwise different
+     *                                  or not ordered
+     */
+    public MySetAsBitmap(ListItem<Integer> head, Validation validation) {
+        super(head, Comparator.naturalOrder(), validation);
+        // The list items are not retained, they are materialized again if needed
+        this.head = null;
+        this.keyOrder = KeyOrder.INTEGER;
+
+        int partitions = 0;
+        int size = 0;
+        int previous = -1;
+        for (ListItem<Integer> current = head; current != null; current = current.next, size++) {
+            int high = high(current.key);
+            if (high != previous) {
+                partitions++;
+                previous = high;
+            }
+        }
+        this.highs = new char[partitions];
+        this.containers = new Container[partitions];
+        this.size = size;
+
+        char[] values = new char[1 << 16];
+        int partition = 0;
+        int count = 0;
+        for (ListItem<Integer> current = head; current != null; current = current.next) {
+            int high = high(current.key);
+            if (count > 0 && high != highs[partition]) {
+                containers[partition++] = Container.of(values, count);
+                count = 0;
+            }
+            highs[partition] = (char) high;
+            values[count++] = (char) flip(current.key);
+        }
+        if (count > 0) {
+            containers[partition] = Container.of(values, count);
+        }
+    }
+
+    /**
+     * Constructs and initializes a new set consisting of the given partitions.
+     *
+     * @param highs      the upper 16 bits of the partitions in ascending order
+     * @param containers the non-empty containers of the partitions
+     * @param partitions the number of partitions
+     */
+    private MySetAsBitmap(char[] highs, Container[] containers, int partitions) {
+        super(null, Comparator.naturalOrder(), Validation.TRUSTED);
+        this.keyOrder = KeyOrder.INTEGER;
+        this.highs = Arrays.copyOf(highs, partitions);
+        this.containers = Arrays.copyOf(containers, partitions);
+        int size = 0;
+        for (int i = 0; i < partitions; i++) {
+            size += containers[i].cardinality();
+        }
+        this.size = size;
+    }
+
+    /**
+     * Returns the given element with its sign bit flipped, so that the unsigned order matches the natural order.
+     *
+     * @param key the element to flip
+     * @return the flipped element
+     */
+    private static int flip(int key) {
+        return key ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Returns the upper 16 bits of the given element which identify its partition.
+     *
+     * @param key the element
+     * @return the upper 16 bits of the given element
+     */
+    private static int high(int key) {
+        return flip(key) >>> 16;
+    }
+
+    /**
+     * Returns the element consisting of the given upper and lower 16 bits.
+     *
+     * @param high the upper 16 bits of the element
+     * @param low  the lower 16 bits of the element
+     * @return the element consisting of the given upper and lower 16 bits
+     */
+    static int combine(int high, int low) {
+        return flip(high << 16 | low);
+    }
+
+    /**
+     * Returns the given set as a bitmap set, converting it if necessary.
+     *
+     * @param set the set to convert
+     * @return the given set as a bitmap set
+     */
+    public static MySetAsBitmap of(MySet<Integer> set) {
+        if (set instanceof MySetAsBitmap bitmap) {
+            return bitmap;
+        }
+        return new MySetAsBitmap(set.head(), Validation.TRUSTED);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the elements of this set in ascending order.
+     *
+     * @return the elements of this set in ascending order
+     */
+    public int[] toArray() {
+        int[] elements = new int[size];
+        int offset = 0;
+        for (int i = 0; i < highs.length; i++) {
+            offset = containers[i].toArray(highs[i], elements, offset);
+        }
+        return elements;
+    }
+
+    /**
+     * Returns a newly allocated list of the elements of this set in ascending order.
+     *
+     * @return the head of a newly allocated list of the elements of this set
+     */
+    public ListItem<Integer> toListItems() {
+        int[] elements = toArray();
+        ListItem<Integer> newHead = null;
+        for (int i = elements.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(elements[i]);
+            item.next = newHead;
+            newHead = item;
+        }
+        return newHead;
+    }
+
+    /**
+     * {@inheritDoc} The list items are materialized on every call and are not retained, so that the set keeps
+     * needing a few bits per element.
+     */
+    @Override
+    protected ListItem<Integer> head() {
+        return toListItems();
+    }
+
+    /**
+     * {@inheritDoc} The returned list item is allocated on every call and is not linked to the list items returned by
+     * {@link #head()}.
+     */
+    @Override
+    protected ListItem<Integer> tail() {
+        return size == 0 ? null : new ListItem<>(max());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Integer min() {
+        if (size == 0) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        return combine(highs[0], containers[0].min());
+    }
+
+    @Override
+    public Integer max() {
+        if (size == 0) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        int last = highs.length - 1;
+        return combine(highs[last], containers[last].max());
+    }
+
+    /**
+     * {@inheritDoc} The finger is read-only and points into list items materialized when it is created.
+     */
+    @Override
+    public Finger<Integer> finger() {
+        return new Finger<>(this, true);
+    }
+
+    @Override
+    public boolean contains(Integer key) {
+        int index = Arrays.binarySearch(highs, (char) high(key));
+        return index >= 0 && containers[index].contains((char) flip(key));
+    }
+
+    @Override
+    public MySet<Integer> subset(Predicate<? super Integer> pred) {
+        char[] newHighs = new char[highs.length];
+        Container[] newContainers = new Container[highs.length];
+        int partitions = 0;
+        for (int i = 0; i < highs.length; i++) {
+            Container container = containers[i].filter(highs[i], pred::test);
+            if (container != null) {
+                newHighs[partitions] = highs[i];
+                newContainers[partitions++] = container;
+            }
+        }
+        return new MySetAsBitmap(newHighs, newContainers, partitions);
+    }
+
+    @Override
+    public MySet<ListItem<Integer>> cartesianProduct(MySet<Integer> other) {
+        int[] elements = toArray();
+        int[] otherElements = of(other).toArray();
+        Integer[] row = new Integer[otherElements.length];
+        Arrays.setAll(row, j -> otherElements[j]);
+        PackedProduct.Builder<Integer> builder =
+            new PackedProduct.Builder<>(this, Math.multiplyExact(elements.length, row.length));
+        for (int element : elements) {
+            builder.appendRow(element, row);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public MySet<Integer> difference(MySet<Integer> other) {
+        MySetAsBitmap bitmap = of(other);
+        char[] newHighs = new char[highs.length];
+        Container[] newContainers = new Container[highs.length];
+        int partitions = 0;
+        int j = 0;
+        for (int i = 0; i < highs.length; i++) {
+            while (j < bitmap.highs.length && bitmap.highs[j] < highs[i]) {
+                j++;
+            }
+            Container container = containers[i];
+            if (j < bitmap.highs.length && bitmap.highs[j] == highs[i]) {
+                container = container.andNot(bitmap.containers[j]);
+            }
+            if (container != null) {
+                newHighs[partitions] = highs[i];
+                newContainers[partitions++] = container;
+            }
+        }
+        return new MySetAsBitmap(newHighs, newContainers, partitions);
+    }
+
+    /**
+     * Returns the intersection of this set and the given bitmap set.
+     *
+     * @param other the set to intersect with this set
+     * @return the intersection of this set and the given set
+     */
+    private MySetAsBitmap and(MySetAsBitmap other) {
+        int capacity = Math.min(highs.length, other.highs.length);
+        char[] newHighs = new char[capacity];
+        Container[] newContainers = new Container[capacity];
+        int partitions = 0;
+        int i = 0;
+        int j = 0;
+        while (i < highs.length && j < other.highs.length) {
+            if (highs[i] < other.highs[j]) {
+                i++;
+            } else if (highs[i] > other.highs[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container != null) {
+                    newHighs[partitions] = highs[i];
+                    newContainers[partitions++] = container;
+                }
+                i++;
+                j++;
+            }
+        }
+        return new MySetAsBitmap(newHighs, newContainers, partitions);
+    }
+
+    @Override
+    public MySet<Integer> intersection(ListItem<MySet<Integer>> others) {
+        int count = 0;
+        for (ListItem<MySet<Integer>> current = others; current != null; current = current.next) {
+            count++;
+        }
+        MySetAsBitmap[] bitmaps = new MySetAsBitmap[count];
+        int i = 0;
+        for (ListItem<MySet<Integer>> current = others; current != null; current = current.next) {
+            bitmaps[i++] = of(current.key);
+        }
+        return intersect(bitmaps);
+    }
+
+    @Override
+    protected MySet<Integer> intersectionListItems(ListItem<ListItem<Integer>> heads) {
+        int count = 0;
+        for (ListItem<ListItem<Integer>> current = heads.next; current != null; current = current.next) {
+            count++;
+        }
+        MySetAsBitmap[] bitmaps = new MySetAsBitmap[count];
+        int i = 0;
+        for (ListItem<ListItem<Integer>> current = heads.next; current != null; current = current.next) {
+            bitmaps[i++] = new MySetAsBitmap(current.key, Validation.TRUSTED);
+        }
+        return intersect(bitmaps);
+    }
+
+    @Override
+    public MySet<Integer> symmetricDifference(MySet<Integer> other) {
+        MySet<Integer> difference = new MySetAsCopy<>(head(), cmp, Validation.TRUSTED).symmetricDifference(other);
+        return new MySetAsBitmap(difference.head(), Validation.TRUSTED);
+    }
+
+    @Override
+    protected MySet<Integer> unionListItems(ListItem<ListItem<Integer>> heads) {
+        MySet<Integer> union = new MySetAsCopy<>(heads.key, cmp, Validation.TRUSTED).unionListItems(heads);
+        return new MySetAsBitmap(union.head(), Validation.TRUSTED);
+    }
+
+    /**
+     * Returns the intersection of this set and the given bitmap sets. The sets are intersected from the smallest to
+     * the largest one, and the intersection stops as soon as the result is empty.
+     *
+     * @param others the sets to intersect with this set
+     * @return the intersection of this set and the given sets
+     */
+    private MySetAsBitmap intersect(MySetAsBitmap[] others) {
+        Arrays.sort(others, Comparator.comparingInt(MySetAsBitmap::size));
+        MySetAsBitmap result = this;
+        for (MySetAsBitmap other : others) {
+            if (result.size == 0) {
+                break;
+            }
+            result = result.and(other);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MySetAsBitmap other) || size != other.size || !Arrays.equals(highs, other.highs)) {
+            return false;
+        }
+        for (int i = 0; i < highs.length; i++) {
+            if (!containers[i].sameValues(other.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(toListItems());
+    }
+}
@@ -1,13 +1,13 @@
 package h10;
 
+import h10.OperationStats.Operation;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
 import org.tudalgo.algoutils.student.annotation.StudentImplementationRequired;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
-import static org.tudalgo.algoutils.student.Student.crash;
-
 /**
  * An out-of-place implementation of MySet.
  *
@@ -29,27 +29,224 @@ public class MySetAsCopy<T> extends MySet<T> {
         super(head, cmp);
     }
 
+    /**
+     * Constructs and initializes a new set with the given elements which are validated according to the given mode.
+     *
+     * @param head       the head of the set
+     * @param cmp        the comparator to compare elements
+     * @param validation the mode defining how thoroughly the given elements are validated
+     * @throws IllegalArgumentException if the validation detects that the given elements are not pairwise different
+     *                                  or not ordered
+     */
+    public MySetAsCopy(ListItem<T> head, Comparator<? super T> cmp, Validation validation) {
+        super(head, cmp, validation);
+    }
+
+    /**
+     * Constructs and initializes a new set with the given elements whose last list item and size are already known.
+     * The elements are not validated.
+     *
+     * @param head the head of the set
+     * @param tail the last list item of the set
+     * @param size the number of elements of the set
+     * @param cmp  the comparator to compare elements
+     */
+    protected MySetAsCopy(ListItem<T> head, ListItem<T> tail, int size, Comparator<? super T> cmp) {
+        super(head, tail, size, cmp);
+    }
+
     @Override
     @StudentImplementationRequired
     public MySet<T> subset(Predicate<? super T> pred) {
-        return crash(); // TODO: H1.1 - remove if implemented
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.SUBSET, pred, this, null);
+        OperationStats.Probe probe = OperationStats.begin();
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        for (ListItem<T> current = head; current != null; current = current.next) {
+            if (pred.test(current.key)) {
+                ListItem<T> item = ListItemRecycler.obtain(pool, current.key);
+                if (newHead == null) {
+                    newHead = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+                size++;
+            }
+        }
+        ListItemRecycler.flush(pool);
+        OperationStats.end(Operation.SUBSET, probe, size, 0);
+        WorkloadRecorder.end(entry, size);
+        return new MySetAsCopy<>(newHead, tail, size, cmp);
+    }
+
+    @Override
+    public MySet<T> parallelSubset(Predicate<? super T> pred, ForkJoinPool pool) {
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.SUBSET, pred, this, null);
+        OperationStats.Probe probe = OperationStats.begin();
+        Segment<T> result = ParallelSubset.subset(this, pred, true, pool);
+        OperationStats.end(Operation.SUBSET, probe, result.size(), 0);
+        WorkloadRecorder.end(entry, result.size());
+        return new MySetAsCopy<>(result.head(), result.tail(), result.size(), cmp);
+    }
+
+    @Override
+    public MySet<T> parallelDifference(MySet<T> other, ForkJoinPool pool) {
+        if (size() < 2 * ParallelMerge.MIN_CHUNK_SIZE || isDisjointRange(other)) {
+            return difference(other);
+        }
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.DIFFERENCE, null, this, other);
+        OperationStats.Probe probe = OperationStats.begin();
+        Segment<T> result = ParallelMerge.difference(this, other, true, pool);
+        OperationStats.end(Operation.DIFFERENCE, probe, result.size(), 0);
+        WorkloadRecorder.end(entry, result.size());
+        return new MySetAsCopy<>(result.head(), result.tail(), result.size(), cmp);
+    }
+
+    @Override
+    public MySet<T> parallelIntersection(ListItem<MySet<T>> others, ForkJoinPool pool) {
+        if (size() < 2 * ParallelMerge.MIN_CHUNK_SIZE || isDisjointRange(others)) {
+            return intersection(others);
+        }
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.INTERSECTION, this, others);
+        OperationStats.Probe probe = OperationStats.begin();
+        Segment<T> result = ParallelMerge.intersection(this, others, true, pool);
+        OperationStats.end(Operation.INTERSECTION, probe, result.size(), 0);
+        WorkloadRecorder.end(entry, result.size());
+        return new MySetAsCopy<>(result.head(), result.tail(), result.size(), cmp);
     }
 
     @Override
     @StudentImplementationRequired
     public MySet<ListItem<T>> cartesianProduct(MySet<T> other) {
-        return crash(); // TODO: H2.1 - remove if implemented
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.CARTESIAN_PRODUCT, null, this, other);
+        OperationStats.Probe probe = OperationStats.begin();
+        MySet<ListItem<T>> product = new FactorizedProduct<>(this, other);
+        OperationStats.end(Operation.CARTESIAN_PRODUCT, probe, 0, 0);
+        WorkloadRecorder.end(entry, entry == null ? 0 : product.size());
+        return product;
     }
 
     @Override
     @StudentImplementationRequired
     public MySet<T> difference(MySet<T> other) {
-        return crash(); // TODO: H3.1 - remove if implemented
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.DIFFERENCE, null, this, other);
+        OperationStats.Probe probe = OperationStats.begin();
+        boolean disjoint = isDisjointRange(other);
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        ListItem<T> otherCurrent = other.first();
+        for (ListItem<T> current = head; current != null; current = current.next) {
+            if (!disjoint) {
+                otherCurrent = other.seek(otherCurrent, current.key);
+            }
+            if (disjoint || otherCurrent == null || compare(otherCurrent.key, current.key) != 0) {
+                ListItem<T> item = ListItemRecycler.obtain(pool, current.key);
+                if (newHead == null) {
+                    newHead = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+                size++;
+            }
+        }
+        ListItemRecycler.flush(pool);
+        OperationStats.end(Operation.DIFFERENCE, probe, size, 0);
+        WorkloadRecorder.end(entry, size);
+        return new MySetAsCopy<>(newHead, tail, size, cmp);
+    }
+
+    @Override
+    public MySet<T> symmetricDifference(MySet<T> other) {
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        ListItem<T> current = head;
+        ListItem<T> otherCurrent = other.first();
+        ListItem<T> otherEnd = other.end();
+        while (current != null || otherCurrent != null) {
+            int order = current == null ? 1 : otherCurrent == null ? -1 : compare(current.key, otherCurrent.key);
+            ListItem<T> item = null;
+            if (order <= 0) {
+                item = order < 0 ? ListItemRecycler.obtain(pool, current.key) : null;
+                current = current.next;
+            }
+            if (order >= 0) {
+                item = order > 0 ? ListItemRecycler.obtain(pool, otherCurrent.key) : item;
+                otherCurrent = otherCurrent.next == otherEnd ? null : otherCurrent.next;
+            }
+            if (item != null) {
+                if (newHead == null) {
+                    newHead = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+                size++;
+            }
+        }
+        ListItemRecycler.flush(pool);
+        return new MySetAsCopy<>(newHead, tail, size, cmp);
     }
 
     @Override
     @StudentImplementationRequired
     protected MySet<T> intersectionListItems(ListItem<ListItem<T>> heads) {
-        return crash(); // TODO: H4.1 - remove if implemented
+        return intersectionListItems(heads, null, null);
+    }
+
+    @Override
+    protected MySet<T> intersectionListItems(ListItem<ListItem<T>> heads, ListItem<SkipIndex<T>> indexes, T bound) {
+        OperationStats.Probe probe = OperationStats.begin();
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        IntersectionEngine<T> engine = new IntersectionEngine<>(heads, indexes, cmp, bound);
+        for (ListItem<T> current = engine.next(); current != null; current = engine.next()) {
+            ListItem<T> item = ListItemRecycler.obtain(pool, current.key);
+            if (newHead == null) {
+                newHead = item;
+            } else {
+                tail.next = item;
+            }
+            tail = item;
+            size++;
+        }
+        ListItemRecycler.flush(pool);
+        OperationStats.end(Operation.INTERSECTION, probe, size, 0);
+        return new MySetAsCopy<>(newHead, tail, size, cmp);
+    }
+
+    @Override
+    protected MySet<T> unionListItems(ListItem<ListItem<T>> heads) {
+        return unionListItems(heads, null);
+    }
+
+    @Override
+    protected MySet<T> unionListItems(ListItem<ListItem<T>> heads, ListItem<ListItem<T>> ends) {
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        UnionEngine<T> engine = new UnionEngine<>(heads, ends, cmp);
+        for (ListItem<T> current = engine.next(); current != null; current = engine.next()) {
+            ListItem<T> item = ListItemRecycler.obtain(pool, current.key);
+            if (newHead == null) {
+                newHead = item;
+            } else {
+                tail.next = item;
+            }
+            tail = item;
+            size++;
+        }
+        ListItemRecycler.flush(pool);
+        return new MySetAsCopy<>(newHead, tail, size, cmp);
     }
 }
@@ -0,0 +1,241 @@
+package h10;
+
+import h10.OperationStats.Operation;
+
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * An immutable out-of-place implementation of MySet whose results share unchanged list items with this set.
+ *
+ * <p>The list items of a frozen set are never modified, so {@link #subset}, {@link #difference} and the intersection
+ * do not copy the longest suffix of this set which is kept entirely, but link the copied prefix of the result to the
+ * list items of this set instead. For example, a subset keeping all elements greater than some key copies no list item
+ * at all. The results are frozen sets again, so chained operations share the same suffix. The remaining operations
+ * behave like the ones of {@link MySetAsCopy}.
+ *
+ * <p>The list items given to the constructors are handed over to the set and must not be modified afterwards.
+ * Operations relinking their arguments, such as {@link MySetInPlace#symmetricDifference}, copy frozen sets instead.
+ * Fingers are not supported, since they modify the list items.
+ *
+ * @param <T> the type of the elements in the set
+ */
+public class MySetFrozen<T> extends MySetAsCopy<T> {
+
+    /**
+     * Collects the list items of a result, sharing the last run of consecutive list items of the source if it extends
+     * to the end of the source.
+     *
+     * @param <T> the type of the elements
+     */
+    private static final class SharingBuilder<T> {
+
+        /**
+         * The pool the copied list items are taken from or {@code null} if list items are not recycled.
+         */
+        private final ListItemRecycler.Pool pool = ListItemRecycler.pool();
+
+        /**
+         * The head of the copied list items.
+         */
+        private ListItem<T> head;
+
+        /**
+         * The last copied list item.
+         */
+        private ListItem<T> tail;
+
+        /**
+         * The number of copied list items.
+         */
+        private int size;
+
+        /**
+         * The first list item of the source in the current run of consecutive kept list items.
+         */
+        private ListItem<T> runStart;
+
+        /**
+         * The last list item of the source in the current run of consecutive kept list items.
+         */
+        private ListItem<T> runEnd;
+
+        /**
+         * The number of list items in the current run.
+         */
+        private int runSize;
+
+        /**
+         * Keeps the given list item of the source, which must follow all list items kept before.
+         *
+         * @param item the list item of the source to keep
+         */
+        void keep(ListItem<T> item) {
+            if (runEnd != null && runEnd.next == item) {
+                runEnd = item;
+                runSize++;
+                return;
+            }
+            copyRun();
+            runStart = item;
+            runEnd = item;
+            runSize = 1;
+        }
+
+        /**
+         * Copies the list items of the current run and ends it.
+         */
+        private void copyRun() {
+            if (runStart == null) {
+                return;
+            }
+            for (ListItem<T> current = runStart; ; current = current.next) {
+                ListItem<T> item = ListItemRecycler.obtain(pool, current.key);
+                if (head == null) {
+                    head = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+                size++;
+                if (current == runEnd) {
+                    break;
+                }
+            }
+            runStart = null;
+            runEnd = null;
+            runSize = 0;
+        }
+
+        /**
+         * Returns the number of list items copied so far.
+         *
+         * @return the number of copied list items
+         */
+        int copied() {
+            return size;
+        }
+
+        /**
+         * Returns the result, whose last run is shared with the source if it ends with the last list item of the
+         * source and copied otherwise.
+         *
+         * @param cmp the comparator of the result
+         * @return the frozen result
+         */
+        MySetFrozen<T> build(Comparator<? super T> cmp) {
+            if (runEnd != null && runEnd.next != null) {
+                copyRun();
+            }
+            ListItemRecycler.flush(pool);
+            if (runStart == null) {
+                return new MySetFrozen<>(head, tail, size, cmp);
+            }
+            if (head == null) {
+                head = runStart;
+            } else {
+                tail.next = runStart;
+            }
+            return new MySetFrozen<>(head, runEnd, size + runSize, cmp);
+        }
+    }
+
+    /**
+     * Constructs and initializes a new frozen set with the given elements.
+     *
+     * @param head the head of the set
+     * @param cmp  the comparator to compare elements
+     * @throws IllegalArgumentException if the given elements are not pairwise different or not ordered
+     */
+    public MySetFrozen(ListItem<T> head, Comparator<? super T> cmp) {
+        super(head, cmp);
+    }
+
+    /**
+     * Constructs and initializes a new frozen set with the given elements which are validated according to the given
+     * mode.
+     *
+     * @param head       the head of the set
+     * @param cmp        the comparator to compare elements
+     * @param validation the mode defining how thoroughly the given elements are validated
+     * @throws IllegalArgumentException if the validation detects that the given elements are not pairwise different
+     *                                  or not ordered
+     */
+    public MySetFrozen(ListItem<T> head, Comparator<? super T> cmp, Validation validation) {
+        super(head, cmp, validation);
+    }
+
+    /**
+     * Constructs and initializes a new frozen set with the given elements whose last list item and size are already
+     * known. The elements are not validated.
+     *
+     * @param head the head of the set
+     * @param tail the last list item of the set
+     * @param size the number of elements of the set
+     * @param cmp  the comparator to compare elements
+     */
+    protected MySetFrozen(ListItem<T> head, ListItem<T> tail, int size, Comparator<? super T> cmp) {
+        super(head, tail, size, cmp);
+    }
+
+    @Override
+    public MySet<T> subset(Predicate<? super T> pred) {
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.SUBSET, pred, this, null);
+        OperationStats.Probe probe = OperationStats.begin();
+        SharingBuilder<T> builder = new SharingBuilder<>();
+        for (ListItem<T> current = head; current != null; current = current.next) {
+            if (pred.test(current.key)) {
+                builder.keep(current);
+            }
+        }
+        MySetFrozen<T> result = builder.build(cmp);
+        OperationStats.end(Operation.SUBSET, probe, builder.copied(), 0);
+        WorkloadRecorder.end(entry, result.size());
+        return result;
+    }
+
+    @Override
+    public MySet<T> difference(MySet<T> other) {
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.DIFFERENCE, null, this, other);
+        OperationStats.Probe probe = OperationStats.begin();
+        if (isDisjointRange(other)) {
+            // Nothing to remove, so the result shares all list items
+            OperationStats.end(Operation.DIFFERENCE, probe, 0, 0);
+            WorkloadRecorder.end(entry, size());
+            return new MySetFrozen<>(head, tail(), size(), cmp);
+        }
+        SharingBuilder<T> builder = new SharingBuilder<>();
+        ListItem<T> otherCurrent = other.first();
+        for (ListItem<T> current = head; current != null; current = current.next) {
+            otherCurrent = other.seek(otherCurrent, current.key);
+            if (otherCurrent == null || compare(otherCurrent.key, current.key) != 0) {
+                builder.keep(current);
+            }
+        }
+        MySetFrozen<T> result = builder.build(cmp);
+        OperationStats.end(Operation.DIFFERENCE, probe, builder.copied(), 0);
+        WorkloadRecorder.end(entry, result.size());
+        return result;
+    }
+
+    @Override
+    protected MySet<T> intersectionListItems(ListItem<ListItem<T>> heads, ListItem<SkipIndex<T>> indexes, T bound) {
+        OperationStats.Probe probe = OperationStats.begin();
+        SharingBuilder<T> builder = new SharingBuilder<>();
+        IntersectionEngine<T> engine = new IntersectionEngine<>(heads, indexes, cmp, bound);
+        for (ListItem<T> current = engine.next(); current != null; current = engine.next()) {
+            builder.keep(current);
+        }
+        MySetFrozen<T> result = builder.build(cmp);
+        OperationStats.end(Operation.INTERSECTION, probe, builder.copied(), 0);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc} The finger is read-only, since the list items may be shared with other frozen sets.
+     */
+    @Override
+    public Finger<T> finger() {
+        return new Finger<>(this, true);
+    }
+}
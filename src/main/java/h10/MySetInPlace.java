@@ -1,13 +1,13 @@
 package h10;
 
+import h10.OperationStats.Operation;
 import org.tudalgo.algoutils.student.annotation.DoNotTouch;
 import org.tudalgo.algoutils.student.annotation.StudentImplementationRequired;
 
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
-import static org.tudalgo.algoutils.student.Student.crash;
-
 /**
  * An in-place implementation of MySet.
  *
@@ -29,27 +29,405 @@ public class MySetInPlace<T> extends MySet<T> {
         super(head, cmp);
     }
 
+    /**
+     * Constructs and initializes a new set with the given elements which are validated according to the given mode.
+     *
+     * @param head       the head of the set
+     * @param cmp        the comparator to compare elements
+     * @param validation the mode defining how thoroughly the given elements are validated
+     * @throws IllegalArgumentException if the validation detects that the given elements are not pairwise different
+     *                                  or not ordered
+     */
+    public MySetInPlace(ListItem<T> head, Comparator<? super T> cmp, Validation validation) {
+        super(head, cmp, validation);
+    }
+
+    /**
+     * Constructs and initializes a new set with the given elements whose last list item and size are already known.
+     * The elements are not validated.
+     *
+     * @param head the head of the set
+     * @param tail the last list item of the set
+     * @param size the number of elements of the set
+     * @param cmp  the comparator to compare elements
+     */
+    protected MySetInPlace(ListItem<T> head, ListItem<T> tail, int size, Comparator<? super T> cmp) {
+        super(head, tail, size, cmp);
+    }
+
     @Override
     @StudentImplementationRequired
     public MySet<T> subset(Predicate<? super T> pred) {
-        return crash(); // TODO: H1.2 - remove if implemented
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.SUBSET, pred, this, null);
+        OperationStats.Probe probe = OperationStats.begin();
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        for (ListItem<T> current = head; current != null; current = current.next) {
+            if (pred.test(current.key)) {
+                if (newHead == null) {
+                    newHead = current;
+                } else {
+                    tail.next = current;
+                }
+                tail = current;
+                size++;
+            } else {
+                ListItemRecycler.release(pool, current);
+            }
+        }
+        if (tail != null) {
+            tail.next = null;
+        }
+        invalidateCaches();
+        ListItemRecycler.flush(pool);
+        OperationStats.end(Operation.SUBSET, probe, 0, size);
+        WorkloadRecorder.end(entry, size);
+        return new MySetInPlace<>(newHead, tail, size, cmp);
+    }
+
+    @Override
+    public MySet<T> parallelSubset(Predicate<? super T> pred, ForkJoinPool pool) {
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.SUBSET, pred, this, null);
+        OperationStats.Probe probe = OperationStats.begin();
+        Segment<T> result = ParallelSubset.subset(this, pred, false, pool);
+        invalidateCaches();
+        OperationStats.end(Operation.SUBSET, probe, 0, result.size());
+        WorkloadRecorder.end(entry, result.size());
+        return new MySetInPlace<>(result.head(), result.tail(), result.size(), cmp);
+    }
+
+    @Override
+    public MySet<T> parallelDifference(MySet<T> other, ForkJoinPool pool) {
+        if (size() < 2 * ParallelMerge.MIN_CHUNK_SIZE || isDisjointRange(other)) {
+            return difference(other);
+        }
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.DIFFERENCE, null, this, other);
+        OperationStats.Probe probe = OperationStats.begin();
+        Segment<T> result = ParallelMerge.difference(this, other, false, pool);
+        invalidateCaches();
+        OperationStats.end(Operation.DIFFERENCE, probe, 0, result.size());
+        WorkloadRecorder.end(entry, result.size());
+        return new MySetInPlace<>(result.head(), result.tail(), result.size(), cmp);
+    }
+
+    @Override
+    public MySet<T> parallelIntersection(ListItem<MySet<T>> others, ForkJoinPool pool) {
+        if (size() < 2 * ParallelMerge.MIN_CHUNK_SIZE || isDisjointRange(others)) {
+            return intersection(others);
+        }
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.INTERSECTION, this, others);
+        OperationStats.Probe probe = OperationStats.begin();
+        Segment<T> result = ParallelMerge.intersection(this, others, false, pool);
+        invalidateCaches();
+        OperationStats.end(Operation.INTERSECTION, probe, 0, result.size());
+        WorkloadRecorder.end(entry, result.size());
+        return new MySetInPlace<>(result.head(), result.tail(), result.size(), cmp);
     }
 
     @Override
     @StudentImplementationRequired
     public MySet<ListItem<T>> cartesianProduct(MySet<T> other) {
-        return crash(); // TODO: H2.2 - remove if implemented
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.CARTESIAN_PRODUCT, null, this, other);
+        OperationStats.Probe probe = OperationStats.begin();
+        MySet<ListItem<T>> product = new FactorizedProduct<>(this, other);
+        OperationStats.end(Operation.CARTESIAN_PRODUCT, probe, 0, 0);
+        WorkloadRecorder.end(entry, entry == null ? 0 : product.size());
+        return product;
     }
 
     @Override
     @StudentImplementationRequired
     public MySet<T> difference(MySet<T> other) {
-        return crash(); // TODO: H3.2 - remove if implemented
+        WorkloadRecorder.Entry entry = WorkloadRecorder.begin(Operation.DIFFERENCE, null, this, other);
+        OperationStats.Probe probe = OperationStats.begin();
+        if (isDisjointRange(other)) {
+            // Nothing to remove, so the list items are kept as they are
+            OperationStats.end(Operation.DIFFERENCE, probe, 0, 0);
+            WorkloadRecorder.end(entry, size());
+            return new MySetInPlace<>(head, tail(), size(), cmp);
+        }
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        ListItem<T> otherCurrent = other.first();
+        for (ListItem<T> current = head; current != null; current = current.next) {
+            otherCurrent = other.seek(otherCurrent, current.key);
+            if (otherCurrent == null || compare(otherCurrent.key, current.key) != 0) {
+                if (newHead == null) {
+                    newHead = current;
+                } else {
+                    tail.next = current;
+                }
+                tail = current;
+                size++;
+            } else {
+                ListItemRecycler.release(pool, current);
+            }
+        }
+        if (tail != null) {
+            tail.next = null;
+        }
+        invalidateCaches();
+        ListItemRecycler.flush(pool);
+        OperationStats.end(Operation.DIFFERENCE, probe, 0, size);
+        WorkloadRecorder.end(entry, size);
+        return new MySetInPlace<>(newHead, tail, size, cmp);
+    }
+
+    /**
+     * {@inheritDoc} If the given set is an in-place set, no list items are created, the list items of both sets are
+     * relinked instead. Therefore, the given set must not be used afterwards either. If the key ranges of both sets
+     * do not overlap, the sets are concatenated in constant time. Other sets, such as views, copy-mode and frozen
+     * sets, may share their list items with further sets, so their elements are copied and they remain unchanged.
+     */
+    @Override
+    public MySet<T> symmetricDifference(MySet<T> other) {
+        MySet<T> relinked = relinkable(other);
+        if (isDisjointRange(relinked)) {
+            return concatenate(relinked);
+        }
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        ListItem<T> current = head;
+        ListItem<T> otherCurrent = relinked.head();
+        while (current != null || otherCurrent != null) {
+            int order = current == null ? 1 : otherCurrent == null ? -1 : compare(current.key, otherCurrent.key);
+            ListItem<T> item = null;
+            if (order <= 0) {
+                item = order < 0 ? current : null;
+                current = current.next;
+            }
+            if (order >= 0) {
+                item = order > 0 ? otherCurrent : item;
+                otherCurrent = otherCurrent.next;
+            }
+            if (item != null) {
+                if (newHead == null) {
+                    newHead = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+                size++;
+            }
+        }
+        if (tail != null) {
+            tail.next = null;
+        }
+        invalidateCaches();
+        relinked.invalidateCaches();
+        return new MySetInPlace<>(newHead, tail, size, cmp);
+    }
+
+    /**
+     * Returns the given set if its list items may be relinked by this set, i.e. if it is an in-place set, and an
+     * in-place copy of its elements otherwise.
+     *
+     * @param other the set to relink
+     * @return an in-place set with the elements of the given set
+     */
+    private MySet<T> relinkable(MySet<T> other) {
+        if (other instanceof MySetInPlace<T>) {
+            return other;
+        }
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        for (ListItem<T> current = other.head(); current != null; current = current.next) {
+            ListItem<T> item = new ListItem<>(current.key);
+            if (newHead == null) {
+                newHead = item;
+            } else {
+                tail.next = item;
+            }
+            tail = item;
+            size++;
+        }
+        return new MySetInPlace<>(newHead, tail, size, cmp);
+    }
+
+    /**
+     * Returns the concatenation of this set and the given set whose key ranges do not overlap by linking the last
+     * list item of the lower set to the first list item of the upper set.
+     *
+     * @param other the in-place set whose key range does not overlap with the key range of this set
+     * @return the union of this set and the given set
+     */
+    private MySet<T> concatenate(MySet<T> other) {
+        boolean otherFirst = isEmpty() || !other.isEmpty() && compare(other.max(), min()) < 0;
+        MySet<T> lower = otherFirst ? other : this;
+        MySet<T> upper = otherFirst ? this : other;
+        MySet<T> result;
+        if (lower.isEmpty()) {
+            result = new MySetInPlace<>(upper.head(), upper.tail(), upper.size(), cmp);
+        } else if (upper.isEmpty()) {
+            result = new MySetInPlace<>(lower.head(), lower.tail(), lower.size(), cmp);
+        } else {
+            lower.tail().next = upper.head();
+            result = new MySetInPlace<>(lower.head(), upper.tail(), lower.size() + upper.size(), cmp);
+        }
+        invalidateCaches();
+        other.invalidateCaches();
+        return result;
     }
 
     @Override
     @StudentImplementationRequired
     protected MySet<T> intersectionListItems(ListItem<ListItem<T>> heads) {
-        return crash(); // TODO: H4.2 - remove if implemented
+        return intersectionListItems(heads, null, null);
+    }
+
+    @Override
+    protected MySet<T> intersectionListItems(ListItem<ListItem<T>> heads, ListItem<SkipIndex<T>> indexes, T bound) {
+        OperationStats.Probe probe = OperationStats.begin();
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        // The list items of this set which have not been visited yet, starting with the first one
+        ListItem<T> unvisited = head;
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        IntersectionEngine<T> engine = new IntersectionEngine<>(heads, indexes, cmp, bound);
+        for (ListItem<T> current = engine.next(); current != null; current = engine.next()) {
+            if (pool != null) {
+                unvisited = release(pool, unvisited, current);
+            }
+            if (newHead == null) {
+                newHead = current;
+            } else {
+                tail.next = current;
+            }
+            tail = current;
+            size++;
+        }
+        if (pool != null) {
+            release(pool, unvisited, null);
+        }
+        if (tail != null) {
+            tail.next = null;
+        }
+        invalidateCaches();
+        ListItemRecycler.flush(pool);
+        OperationStats.end(Operation.INTERSECTION, probe, 0, size);
+        return new MySetInPlace<>(newHead, tail, size, cmp);
+    }
+
+    /**
+     * Releases the list items of this set from the given list item up to the given kept list item to the given pool.
+     *
+     * @param pool  the pool of the current thread
+     * @param from  the first list item to release
+     * @param until the next list item which is kept in the result or {@code null} to release all remaining list items
+     * @return the successor of the kept list item, which is read before the kept list item is relinked
+     */
+    private ListItem<T> release(ListItemRecycler.Pool pool, ListItem<T> from, ListItem<T> until) {
+        ListItem<T> current = from;
+        while (current != until) {
+            pool.release(current);
+            current = current.next;
+        }
+        return until == null ? null : until.next;
+    }
+
+    /**
+     * {@inheritDoc} The list items of this set are relinked, while the elements which are only contained in the
+     * given sets are copied, so that the given sets remain unchanged.
+     */
+    @Override
+    protected MySet<T> unionListItems(ListItem<ListItem<T>> heads) {
+        return unionListItems(heads, null);
+    }
+
+    @Override
+    protected MySet<T> unionListItems(ListItem<ListItem<T>> heads, ListItem<ListItem<T>> ends) {
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        UnionEngine<T> engine = new UnionEngine<>(heads, ends, cmp);
+        for (ListItem<T> current = engine.next(); current != null; current = engine.next()) {
+            ListItem<T> item = engine.isFromFirst() ? current : ListItemRecycler.obtain(pool, current.key);
+            if (newHead == null) {
+                newHead = item;
+            } else {
+                tail.next = item;
+            }
+            tail = item;
+            size++;
+        }
+        if (tail != null) {
+            tail.next = null;
+        }
+        invalidateCaches();
+        ListItemRecycler.flush(pool);
+        return new MySetInPlace<>(newHead, tail, size, cmp);
+    }
+
+    /**
+     * Inserts the elements of the given batch into this set by merging the batch into the list items of this set in
+     * a single pass. The batch must be ordered according to the comparator of this set and is not validated, elements
+     * which are already contained in this set are skipped. The elements are copied into new list items, so the batch
+     * remains unchanged.
+     *
+     * <p>The insertion costs {@code O(n + b)} steps for a set of size {@code n} and a batch of size {@code b}, and
+     * only {@code O(b)} steps for elements which are greater than all elements of this set.
+     *
+     * @param batch the head of the ordered elements to insert
+     * @return {@code true} if this set changed as a result of the call
+     */
+    public boolean addAll(ListItem<T> batch) {
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        Finger<T> finger = finger();
+        ListItem<T> tail = tail();
+        boolean changed = false;
+        for (ListItem<T> element = batch; element != null; element = element.next) {
+            if (tail != null && compare(element.key, tail.key) > 0) {
+                finger.moveToEnd();
+            } else if (finger.seek(element.key) == 0) {
+                continue;
+            } else if (finger.predecessor() != null && compare(finger.predecessor().key, element.key) == 0) {
+                // Duplicate within the batch, which has just been inserted
+                continue;
+            }
+            ListItem<T> item = ListItemRecycler.obtain(pool, element.key);
+            finger.insert(item);
+            tail = tail();
+            changed = true;
+        }
+        ListItemRecycler.flush(pool);
+        return changed;
+    }
+
+    /**
+     * Removes the elements of the given batch from this set by merging the batch into the list items of this set in
+     * a single pass. The batch must be ordered according to the comparator of this set and is not validated, elements
+     * which are not contained in this set are skipped.
+     *
+     * <p>The removal costs {@code O(n + b)} steps for a set of size {@code n} and a batch of size {@code b} and stops
+     * as soon as the remaining elements of the batch are greater than all elements of this set.
+     *
+     * @param batch the head of the ordered elements to remove
+     * @return {@code true} if this set changed as a result of the call
+     */
+    public boolean removeAll(ListItem<T> batch) {
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        Finger<T> finger = finger();
+        ListItem<T> tail = tail();
+        boolean changed = false;
+        for (ListItem<T> element = batch; element != null && tail != null; element = element.next) {
+            if (compare(element.key, tail.key) > 0) {
+                break;
+            }
+            if (finger.seek(element.key) == 0) {
+                ListItemRecycler.release(pool, finger.remove());
+                tail = tail();
+                changed = true;
+            }
+        }
+        ListItemRecycler.flush(pool);
+        return changed;
     }
 }
@@ -0,0 +1,770 @@
+package h10;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * An out-of-place implementation of MySet for {@code long} values whose nodes are stored in an
+ * {@link OffHeapArena} instead of list items. The results of all operations are allocated in the arena of this set,
+ * so the memory of a whole computation is released at once by closing the arena.
+ *
+ * <p>The elements are ordered by their natural order. Sets ordered by another comparator are copied and sorted into
+ * the natural order before they are merged with an off-heap set. The list items of an off-heap set are only
+ * materialized if the set is combined with a list-based set or its list items are requested explicitly, and they are
+ * not retained afterwards. Lookups, bounds and iteration read the arena directly: since the nodes of a set are
+ * allocated consecutively, the {@code i}-th element is found at the address {@code first + i} and lookups are answered
+ * by binary searches over the addresses.
+ *
+ * <p>Once the arena of a set has been closed, every operation on the set throws an {@link IllegalStateException}.
+ */
+public class MySetOffHeap extends MySet<Long> {
+
+    /**
+     * The arena storing the nodes of this set.
+     */
+    private final OffHeapArena arena;
+
+    /**
+     * The address of the first node of this set or {@link OffHeapArena#NIL} if the set is empty.
+     */
+    private final int first;
+
+    /**
+     * The address of the last node of this set or {@link OffHeapArena#NIL} if the set is empty.
+     */
+    private final int last;
+
+    /**
+     * The number of elements in this set.
+     */
+    private final int size;
+
+    /**
+     * Whether the nodes of this set occupy consecutive addresses, so that the {@code i}-th element is stored at the
+     * address {@code first + i}. Otherwise, positional lookups walk the nodes.
+     */
+    private final boolean contiguous;
+
+    /**
+     * Constructs and initializes a new set in the given arena with the given elements.
+     *
+     * @param arena the arena to store the nodes of the set in
+     * @param head  the head of the elements in ascending order
+     * @throws IllegalArgumentException if the given elements are not pairwise different or not ordered
+     */
+    public MySetOffHeap(OffHeapArena arena, ListItem<Long> head) {
+        this(arena, head, Validation.STRICT);
+    }
+
+    /**
+     * Constructs and initializes a new set in the given arena with the given elements which are validated according
+     * to the given mode.
+     *
+     * @param arena      the arena to store the nodes of the set in
+     * @param head       the head of the elements in ascending order
+     * @param validation the mode defining how thoroughly the given elements are validated
+     * @throws IllegalArgumentException if the validation detects that the given elements are not pairwise different
+     *                                  or not ordered
+     */
+    public MySetOffHeap(OffHeapArena arena, ListItem<Long> head, Validation validation) {
+        super(head, Comparator.naturalOrder(), validation);
+        // The list items are not retained, they are materialized again if needed
+        this.head = null;
+        this.keyOrder = KeyOrder.LONG;
+        this.arena = arena;
+        Builder builder = new Builder(arena);
+        for (ListItem<Long> current = head; current != null; current = current.next) {
+            builder.append(current.key);
+        }
+        this.first = builder.first;
+        this.last = builder.last;
+        this.size = builder.size;
+        this.contiguous = builder.contiguous;
+    }
+
+    /**
+     * Constructs and initializes a new set consisting of the nodes appended to the given builder.
+     *
+     * @param builder the builder the nodes have been appended to
+     */
+    private MySetOffHeap(Builder builder) {
+        super(null, Comparator.naturalOrder(), Validation.TRUSTED);
+        this.keyOrder = KeyOrder.LONG;
+        this.arena = builder.arena;
+        this.first = builder.first;
+        this.last = builder.last;
+        this.size = builder.size;
+        this.contiguous = builder.contiguous;
+    }
+
+    /**
+     * Returns the arena storing the nodes of this set.
+     *
+     * @return the arena storing the nodes of this set
+     */
+    public OffHeapArena arena() {
+        return arena;
+    }
+
+    @Override
+    public int size() {
+        arena.checkOpen();
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns a newly allocated list of the elements of this set in ascending order.
+     *
+     * @return the head of a newly allocated list of the elements of this set
+     */
+    public ListItem<Long> toListItems() {
+        arena.checkOpen();
+        ListItem<Long> newHead = null;
+        ListItem<Long> tail = null;
+        for (int node = first; node != OffHeapArena.NIL; node = arena.next(node)) {
+            ListItem<Long> item = new ListItem<>(arena.key(node));
+            if (newHead == null) {
+                newHead = item;
+            } else {
+                tail.next = item;
+            }
+            tail = item;
+        }
+        return newHead;
+    }
+
+    /**
+     * {@inheritDoc} The list items are materialized on every call and are not retained.
+     */
+    @Override
+    protected ListItem<Long> head() {
+        return toListItems();
+    }
+
+    /**
+     * {@inheritDoc} The returned list item is allocated on every call and is not linked to the list items returned by
+     * {@link #head()}.
+     */
+    @Override
+    protected ListItem<Long> tail() {
+        return isEmpty() ? null : new ListItem<>(arena.key(last));
+    }
+
+    @Override
+    public Long min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        return arena.key(first);
+    }
+
+    @Override
+    public Long max() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        return arena.key(last);
+    }
+
+    /**
+     * Returns the address of the node storing the element at the given position of this set.
+     *
+     * @param index the position of the element, which must be less than the size of this set
+     * @return the address of the node storing the element at the given position
+     */
+    private int node(int index) {
+        if (contiguous) {
+            return first + index;
+        }
+        int node = first;
+        for (int i = 0; i < index; i++) {
+            node = arena.next(node);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the number of elements of this set which are strictly less than the given key, which is the position
+     * of the first element not less than the given key. The position is found by a binary search over the addresses
+     * of the nodes if they are consecutive.
+     *
+     * @param key the key to search for
+     * @return the number of elements less than the given key
+     * @throws IllegalStateException if the arena of this set has been closed
+     */
+    private int search(long key) {
+        arena.checkOpen();
+        if (!contiguous) {
+            int rank = 0;
+            for (int node = first; node != OffHeapArena.NIL && arena.key(node) < key; node = arena.next(node)) {
+                rank++;
+            }
+            return rank;
+        }
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (arena.key(first + middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * {@inheritDoc} The finger is read-only and points into list items materialized when it is created.
+     */
+    @Override
+    public Finger<Long> finger() {
+        return new Finger<>(this, true);
+    }
+
+    @Override
+    public boolean contains(Long key) {
+        int index = search(key);
+        return index < size && arena.key(node(index)) == key;
+    }
+
+    @Override
+    public Long floor(Long key) {
+        int index = search(key);
+        if (index < size && arena.key(node(index)) == key) {
+            return key;
+        }
+        return index == 0 ? null : arena.key(node(index - 1));
+    }
+
+    @Override
+    public Long lower(Long key) {
+        int index = search(key);
+        return index == 0 ? null : arena.key(node(index - 1));
+    }
+
+    @Override
+    public Long ceiling(Long key) {
+        int index = search(key);
+        return index == size ? null : arena.key(node(index));
+    }
+
+    @Override
+    public Long higher(Long key) {
+        int index = search(key);
+        if (index < size && arena.key(node(index)) == key) {
+            index++;
+        }
+        return index == size ? null : arena.key(node(index));
+    }
+
+    @Override
+    public int rank(Long key) {
+        return search(key);
+    }
+
+    @Override
+    public Long select(int index) {
+        arena.checkOpen();
+        return arena.key(node(Objects.checkIndex(index, size)));
+    }
+
+    /**
+     * {@inheritDoc} The spliterator reads the arena directly and splits the consecutive addresses of the nodes in
+     * halves.
+     */
+    @Override
+    public Spliterator<Long> spliterator() {
+        arena.checkOpen();
+        if (!contiguous) {
+            return super.spliterator();
+        }
+        return new ArenaSpliterator(arena, first, first + size);
+    }
+
+    /**
+     * Returns a cursor over the elements of the given set in ascending natural order, reading the arena directly if
+     * the set is an off-heap set.
+     *
+     * @param set the set to iterate over
+     * @return a cursor over the elements of the given set
+     * @throws IllegalStateException if the given set is an off-heap set whose arena has been closed
+     */
+    private Cursor cursor(MySet<Long> set) {
+        if (set instanceof MySetOffHeap offHeap) {
+            offHeap.arena.checkOpen();
+            return new ArenaCursor(offHeap.arena, offHeap.first);
+        }
+        return new ListCursor(naturalHead(set));
+    }
+
+    /**
+     * Returns the list items of the given set in ascending natural order. If the given set is ordered by another
+     * comparator than this set, its elements are copied and sorted.
+     *
+     * @param set the set whose elements are returned
+     * @return the head of the elements of the given set in ascending natural order
+     */
+    private ListItem<Long> naturalHead(MySet<Long> set) {
+        if (set.cmp == cmp) {
+            return set.head();
+        }
+        long[] keys = new long[set.size()];
+        int length = 0;
+        for (ListItem<Long> current = set.head(); current != null; current = current.next) {
+            keys[length++] = current.key;
+        }
+        Arrays.sort(keys, 0, length);
+        ListItem<Long> sorted = null;
+        for (int i = length - 1; i >= 0; i--) {
+            ListItem<Long> item = new ListItem<>(keys[i]);
+            item.next = sorted;
+            sorted = item;
+        }
+        return sorted;
+    }
+
+    @Override
+    public MySet<Long> subset(Predicate<? super Long> pred) {
+        arena.checkOpen();
+        Builder builder = new Builder(arena);
+        for (int node = first; node != OffHeapArena.NIL; node = arena.next(node)) {
+            long key = arena.key(node);
+            if (pred.test(key)) {
+                builder.append(key);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public MySet<ListItem<Long>> cartesianProduct(MySet<Long> other) {
+        arena.checkOpen();
+        Long[] row = new Long[other.size()];
+        int length = 0;
+        for (Cursor second = cursor(other); second.isValid(); second.advance()) {
+            row[length++] = second.key();
+        }
+        PackedProduct.Builder<Long> builder = new PackedProduct.Builder<>(this, Math.multiplyExact(size, length));
+        for (int node = first; node != OffHeapArena.NIL; node = arena.next(node)) {
+            builder.appendRow(arena.key(node), row);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public MySet<Long> difference(MySet<Long> other) {
+        arena.checkOpen();
+        Builder builder = new Builder(arena);
+        Cursor otherCursor = cursor(other);
+        for (int node = first; node != OffHeapArena.NIL; node = arena.next(node)) {
+            long key = arena.key(node);
+            while (otherCursor.isValid() && otherCursor.key() < key) {
+                otherCursor.advance();
+            }
+            if (!otherCursor.isValid() || otherCursor.key() != key) {
+                builder.append(key);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public MySet<Long> intersection(ListItem<MySet<Long>> others) {
+        arena.checkOpen();
+        int count = 0;
+        for (ListItem<MySet<Long>> current = others; current != null; current = current.next) {
+            count++;
+        }
+        Cursor[] cursors = new Cursor[count + 1];
+        cursors[0] = new ArenaCursor(arena, first);
+        int i = 1;
+        for (ListItem<MySet<Long>> current = others; current != null; current = current.next) {
+            cursors[i++] = cursor(current.key);
+        }
+        return intersect(cursors);
+    }
+
+    @Override
+    protected MySet<Long> intersectionListItems(ListItem<ListItem<Long>> heads) {
+        arena.checkOpen();
+        int count = 0;
+        for (ListItem<ListItem<Long>> current = heads; current != null; current = current.next) {
+            count++;
+        }
+        Cursor[] cursors = new Cursor[count];
+        int i = 0;
+        for (ListItem<ListItem<Long>> current = heads; current != null; current = current.next) {
+            cursors[i++] = new ListCursor(current.key);
+        }
+        return intersect(cursors);
+    }
+
+    @Override
+    public MySet<Long> symmetricDifference(MySet<Long> other) {
+        arena.checkOpen();
+        Builder builder = new Builder(arena);
+        Cursor cursor = new ArenaCursor(arena, first);
+        Cursor otherCursor = cursor(other);
+        while (cursor.isValid() || otherCursor.isValid()) {
+            int order;
+            if (!cursor.isValid() || !otherCursor.isValid()) {
+                order = cursor.isValid() ? -1 : 1;
+            } else {
+                order = Long.compare(cursor.key(), otherCursor.key());
+            }
+            if (order < 0) {
+                builder.append(cursor.key());
+            } else if (order > 0) {
+                builder.append(otherCursor.key());
+            }
+            if (order <= 0) {
+                cursor.advance();
+            }
+            if (order >= 0) {
+                otherCursor.advance();
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * {@inheritDoc} The given sets are merged in ascending natural order regardless of their comparators.
+     */
+    @Override
+    public MySet<Long> union(ListItem<MySet<Long>> others) {
+        ListItem<ListItem<Long>> heads = new ListItem<>(head());
+        ListItem<ListItem<Long>> tail = heads;
+        for (ListItem<MySet<Long>> current = others; current != null; current = current.next) {
+            tail.next = new ListItem<>(naturalHead(current.key));
+            tail = tail.next;
+        }
+        return unionListItems(heads);
+    }
+
+    @Override
+    protected MySet<Long> unionListItems(ListItem<ListItem<Long>> heads) {
+        arena.checkOpen();
+        Builder builder = new Builder(arena);
+        UnionEngine<Long> engine = new UnionEngine<>(heads, cmp);
+        for (ListItem<Long> current = engine.next(); current != null; current = engine.next()) {
+            builder.append(current.key);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the intersection of the elements of the given cursors allocated in the arena of this set. The
+     * candidates are taken from the first cursor and the intersection ends as soon as any cursor is exhausted.
+     *
+     * @param cursors the cursors over the sets to intersect
+     * @return the intersection of the elements of the given cursors
+     */
+    private MySetOffHeap intersect(Cursor[] cursors) {
+        Builder builder = new Builder(arena);
+        Cursor candidates = cursors[0];
+        probe:
+        for (; candidates.isValid(); candidates.advance()) {
+            long key = candidates.key();
+            for (int i = 1; i < cursors.length; i++) {
+                Cursor other = cursors[i];
+                while (other.isValid() && other.key() < key) {
+                    other.advance();
+                }
+                if (!other.isValid()) {
+                    break probe;
+                }
+                if (other.key() != key) {
+                    continue probe;
+                }
+            }
+            builder.append(key);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MySetOffHeap other) || size() != other.size()) {
+            return false;
+        }
+        int otherNode = other.first;
+        for (int node = first; node != OffHeapArena.NIL; node = arena.next(node)) {
+            if (arena.key(node) != other.arena.key(otherNode)) {
+                return false;
+            }
+            otherNode = other.arena.next(otherNode);
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        arena.checkOpen();
+        int hash = 1;
+        for (int node = first; node != OffHeapArena.NIL; node = arena.next(node)) {
+            hash = 31 * hash + Long.hashCode(arena.key(node));
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        arena.checkOpen();
+        StringBuilder sb = new StringBuilder("{");
+        for (int node = first; node != OffHeapArena.NIL; node = arena.next(node)) {
+            sb.append(arena.key(node)).append(" -> ");
+        }
+        return sb.append("null}").toString();
+    }
+
+    /**
+     * Appends nodes to a new off-heap set.
+     */
+    private static final class Builder {
+
+        /**
+         * The arena to allocate the nodes in.
+         */
+        private final OffHeapArena arena;
+
+        /**
+         * The address of the first node.
+         */
+        private int first = OffHeapArena.NIL;
+
+        /**
+         * The address of the last node.
+         */
+        private int last = OffHeapArena.NIL;
+
+        /**
+         * The number of appended nodes.
+         */
+        private int size;
+
+        /**
+         * Whether the appended nodes occupy consecutive addresses.
+         */
+        private boolean contiguous = true;
+
+        /**
+         * Constructs and initializes a new builder allocating its nodes in the given arena.
+         *
+         * @param arena the arena to allocate the nodes in
+         */
+        Builder(OffHeapArena arena) {
+            this.arena = arena;
+        }
+
+        /**
+         * Appends a new node with the given key.
+         *
+         * @param key the key of the node
+         */
+        void append(long key) {
+            int node = arena.allocate(key);
+            if (first == OffHeapArena.NIL) {
+                first = node;
+            } else {
+                arena.setNext(last, node);
+                contiguous &= node == last + 1;
+            }
+            last = node;
+            size++;
+        }
+
+        /**
+         * Returns the set consisting of the appended nodes.
+         *
+         * @return the set consisting of the appended nodes
+         */
+        MySetOffHeap build() {
+            return new MySetOffHeap(this);
+        }
+    }
+
+    /**
+     * A spliterator over nodes with consecutive addresses, which splits the range of addresses in halves.
+     */
+    private static final class ArenaSpliterator implements Spliterator<Long> {
+
+        /**
+         * The arena storing the nodes.
+         */
+        private final OffHeapArena arena;
+
+        /**
+         * The address of the next node to traverse.
+         */
+        private int from;
+
+        /**
+         * The address after the last node to traverse.
+         */
+        private final int to;
+
+        /**
+         * Constructs and initializes a new spliterator over the nodes in the given range of addresses.
+         *
+         * @param arena the arena storing the nodes
+         * @param from  the address of the first node (inclusive)
+         * @param to    the address after the last node (exclusive)
+         */
+        ArenaSpliterator(OffHeapArena arena, int from, int to) {
+            this.arena = arena;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Long> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(arena.key(from++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<Long> trySplit() {
+            int middle = (from + to) >>> 1;
+            if (middle <= from) {
+                return null;
+            }
+            Spliterator<Long> prefix = new ArenaSpliterator(arena, from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | NONNULL;
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator() {
+            return null;
+        }
+    }
+
+    /**
+     * A forward cursor over the elements of a set.
+     */
+    private interface Cursor {
+
+        /**
+         * Returns {@code true} if the cursor points to an element.
+         *
+         * @return {@code true} if the cursor points to an element
+         */
+        boolean isValid();
+
+        /**
+         * Returns the element the cursor points to.
+         *
+         * @return the element the cursor points to
+         */
+        long key();
+
+        /**
+         * Moves the cursor to the next element.
+         */
+        void advance();
+    }
+
+    /**
+     * A cursor over the nodes of an arena.
+     */
+    private static final class ArenaCursor implements Cursor {
+
+        /**
+         * The arena storing the nodes.
+         */
+        private final OffHeapArena arena;
+
+        /**
+         * The address of the current node.
+         */
+        private int node;
+
+        /**
+         * Constructs and initializes a new cursor starting at the given node.
+         *
+         * @param arena the arena storing the nodes
+         * @param node  the address of the first node
+         */
+        ArenaCursor(OffHeapArena arena, int node) {
+            this.arena = arena;
+            this.node = node;
+        }
+
+        @Override
+        public boolean isValid() {
+            return node != OffHeapArena.NIL;
+        }
+
+        @Override
+        public long key() {
+            return arena.key(node);
+        }
+
+        @Override
+        public void advance() {
+            node = arena.next(node);
+        }
+    }
+
+    /**
+     * A cursor over list items.
+     */
+    private static final class ListCursor implements Cursor {
+
+        /**
+         * The current list item.
+         */
+        private ListItem<Long> current;
+
+        /**
+         * Constructs and initializes a new cursor starting at the given list item.
+         *
+         * @param head the first list item
+         */
+        ListCursor(ListItem<Long> head) {
+            this.current = head;
+        }
+
+        @Override
+        public boolean isValid() {
+            return current != null;
+        }
+
+        @Override
+        public long key() {
+            return current.key;
+        }
+
+        @Override
+        public void advance() {
+            current = current.next;
+        }
+    }
+}
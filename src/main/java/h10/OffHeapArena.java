@@ -0,0 +1,181 @@
+package h10;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * An arena storing the nodes of {@link MySetOffHeap}s outside of the garbage-collected heap. Each node consists of a
+ * {@code long} key and the {@code int} address of its successor, and nodes are allocated consecutively in direct
+ * memory chunks of {@value #CHUNK_NODES} nodes. The garbage collector neither traces nor copies the nodes, so even
+ * sets with tens of millions of elements only occupy a few chunk objects on the heap.
+ *
+ * <p>Nodes cannot be freed individually, the whole arena is released by {@link #close()}. Afterwards, every access
+ * to a node of the arena and every operation on a set allocated in the arena throws an
+ * {@link IllegalStateException}. Since the public API of direct buffers offers no way to free their memory
+ * explicitly, the memory of the chunks is only returned to the operating system once the garbage collector has
+ * collected the chunk objects.
+ */
+public final class OffHeapArena implements AutoCloseable {
+
+    /**
+     * The address representing the absence of a node, analogous to a {@code null} successor.
+     */
+    public static final int NIL = -1;
+
+    /**
+     * The number of nodes per chunk.
+     */
+    public static final int CHUNK_NODES = 1 << 16;
+
+    /**
+     * The number of bits of a node address selecting the node within its chunk.
+     */
+    private static final int CHUNK_SHIFT = Integer.numberOfTrailingZeros(CHUNK_NODES);
+
+    /**
+     * The number of bytes of a node.
+     */
+    private static final int NODE_BYTES = Long.BYTES + Integer.BYTES;
+
+    /**
+     * The offset of the successor address within a node.
+     */
+    private static final int NEXT_OFFSET = Long.BYTES;
+
+    /**
+     * The allocated chunks or {@code null} if the arena has been closed.
+     */
+    private ByteBuffer[] chunks = new ByteBuffer[4];
+
+    /**
+     * The number of allocated chunks.
+     */
+    private int chunkCount;
+
+    /**
+     * The number of allocated nodes.
+     */
+    private int nodeCount;
+
+    /**
+     * Returns the chunks of this arena.
+     *
+     * @return the chunks of this arena
+     * @throws IllegalStateException if the arena has been closed
+     */
+    private ByteBuffer[] chunks() {
+        checkOpen();
+        return chunks;
+    }
+
+    /**
+     * Checks that this arena has not been closed.
+     *
+     * @throws IllegalStateException if the arena has been closed
+     */
+    public void checkOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException("The arena has been closed");
+        }
+    }
+
+    /**
+     * Allocates a new node with the given key and without successor.
+     *
+     * @param key the key of the node
+     * @return the address of the new node
+     * @throws IllegalStateException if the arena has been closed or is full
+     */
+    public int allocate(long key) {
+        ByteBuffer[] chunks = chunks();
+        if (nodeCount == Integer.MAX_VALUE) {
+            throw new IllegalStateException("The arena is full");
+        }
+        int node = nodeCount;
+        if ((node & CHUNK_NODES - 1) == 0) {
+            if (chunkCount == chunks.length) {
+                chunks = this.chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            }
+            chunks[chunkCount++] = ByteBuffer.allocateDirect(CHUNK_NODES * NODE_BYTES).order(ByteOrder.nativeOrder());
+        }
+        nodeCount++;
+        ByteBuffer chunk = chunks[node >>> CHUNK_SHIFT];
+        int offset = (node & CHUNK_NODES - 1) * NODE_BYTES;
+        chunk.putLong(offset, key);
+        chunk.putInt(offset + NEXT_OFFSET, NIL);
+        return node;
+    }
+
+    /**
+     * Returns the key of the given node.
+     *
+     * @param node the address of the node
+     * @return the key of the node
+     * @throws IllegalStateException if the arena has been closed
+     */
+    public long key(int node) {
+        return chunks()[node >>> CHUNK_SHIFT].getLong((node & CHUNK_NODES - 1) * NODE_BYTES);
+    }
+
+    /**
+     * Returns the successor of the given node.
+     *
+     * @param node the address of the node
+     * @return the address of the successor or {@link #NIL} if the node has no successor
+     * @throws IllegalStateException if the arena has been closed
+     */
+    public int next(int node) {
+        return chunks()[node >>> CHUNK_SHIFT].getInt((node & CHUNK_NODES - 1) * NODE_BYTES + NEXT_OFFSET);
+    }
+
+    /**
+     * Sets the successor of the given node.
+     *
+     * @param node the address of the node
+     * @param next the address of the successor or {@link #NIL} if the node has no successor
+     * @throws IllegalStateException if the arena has been closed
+     */
+    public void setNext(int node, int next) {
+        chunks()[node >>> CHUNK_SHIFT].putInt((node & CHUNK_NODES - 1) * NODE_BYTES + NEXT_OFFSET, next);
+    }
+
+    /**
+     * Returns the number of nodes allocated in this arena.
+     *
+     * @return the number of nodes allocated in this arena
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory reserved by this arena.
+     *
+     * @return the number of bytes of direct memory reserved by this arena
+     */
+    public long reservedBytes() {
+        return (long) chunkCount * CHUNK_NODES * NODE_BYTES;
+    }
+
+    /**
+     * Returns {@code true} if this arena has been closed.
+     *
+     * @return {@code true} if this arena has been closed
+     */
+    public boolean isClosed() {
+        return chunks == null;
+    }
+
+    /**
+     * Releases all nodes of this arena, so that any further access to them throws an {@link IllegalStateException}.
+     * The arena drops its references to the chunks, whose direct memory is returned to the operating system as soon
+     * as the chunk objects have been collected. Closing an arena which has already been closed has no effect.
+     */
+    @Override
+    public void close() {
+        chunks = null;
+        chunkCount = 0;
+        nodeCount = 0;
+    }
+}
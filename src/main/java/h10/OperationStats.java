@@ -0,0 +1,264 @@
+package h10;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in cost accounting of the set operations. While enabled, every call of {@link MySet#subset}, {@link
+ * MySet#difference}, {@link MySet#intersection(ListItem)} and {@link MySet#cartesianProduct} on a {@link MySetAsCopy}
+ * or a {@link MySetInPlace} records the number of key comparisons, the number of list items allocated, the number of
+ * list items relinked into the result and its wall time. The parallel variants of these operations are recorded as
+ * the operation they compute.
+ *
+ * <p>The totals are kept in {@link LongAdder}s, so concurrent operations do not contend on a shared counter.
+ * Comparisons are counted per thread without synchronization and added to the totals once per operation, or once
+ * per task for operations running tasks on other threads. If accounting is disabled, an operation only pays for
+ * reading a single flag.
+ *
+ * <p>An operation calling another operation, e.g. the intersection of factorized products intersecting their
+ * factors, is recorded on its own and as part of the calling operation.
+ */
+public final class OperationStats {
+
+    /**
+     * The operations whose costs are recorded.
+     */
+    public enum Operation {
+
+        /**
+         * {@link MySet#subset}.
+         */
+        SUBSET,
+
+        /**
+         * {@link MySet#difference}.
+         */
+        DIFFERENCE,
+
+        /**
+         * {@link MySet#intersection(ListItem)}.
+         */
+        INTERSECTION,
+
+        /**
+         * {@link MySet#cartesianProduct}.
+         */
+        CARTESIAN_PRODUCT
+    }
+
+    /**
+     * The totals of a single operation.
+     */
+    private static final class Totals {
+
+        /**
+         * The number of recorded calls.
+         */
+        private final LongAdder calls = new LongAdder();
+
+        /**
+         * The number of key comparisons.
+         */
+        private final LongAdder comparisons = new LongAdder();
+
+        /**
+         * The number of list items allocated.
+         */
+        private final LongAdder allocations = new LongAdder();
+
+        /**
+         * The number of list items relinked into results.
+         */
+        private final LongAdder relinks = new LongAdder();
+
+        /**
+         * The wall time in nanoseconds.
+         */
+        private final LongAdder nanos = new LongAdder();
+    }
+
+    /**
+     * The state of a running operation, which is captured when the operation starts.
+     *
+     * @param comparisons the comparison counter of the thread running the operation
+     * @param before      the value of the comparison counter when the operation started
+     * @param start       the value of {@link System#nanoTime()} when the operation started
+     */
+    record Probe(long[] comparisons, long before, long start) {
+    }
+
+    /**
+     * Whether the costs of the operations are recorded.
+     */
+    static volatile boolean enabled;
+
+    /**
+     * The number of key comparisons performed by each thread, which is only accessed by the owning thread.
+     */
+    private static final ThreadLocal<long[]> COMPARISONS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * The totals of each operation.
+     */
+    private static final Map<Operation, Totals> TOTALS = new EnumMap<>(Operation.class);
+
+    static {
+        for (Operation operation : Operation.values()) {
+            TOTALS.put(operation, new Totals());
+        }
+    }
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private OperationStats() {
+    }
+
+    /**
+     * Starts recording the costs of the set operations.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops recording the costs of the set operations. The totals recorded so far are kept.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Returns {@code true} if the costs of the set operations are recorded.
+     *
+     * @return {@code true} if the costs of the set operations are recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Resets the totals of all operations to zero.
+     */
+    public static void reset() {
+        for (Totals totals : TOTALS.values()) {
+            totals.calls.reset();
+            totals.comparisons.reset();
+            totals.allocations.reset();
+            totals.relinks.reset();
+            totals.nanos.reset();
+        }
+    }
+
+    /**
+     * Returns the number of recorded calls of the given operation.
+     *
+     * @param operation the operation to query
+     * @return the number of recorded calls
+     */
+    public static long calls(Operation operation) {
+        return TOTALS.get(operation).calls.sum();
+    }
+
+    /**
+     * Returns the number of key comparisons performed by the recorded calls of the given operation.
+     *
+     * @param operation the operation to query
+     * @return the number of key comparisons
+     */
+    public static long comparisons(Operation operation) {
+        return TOTALS.get(operation).comparisons.sum();
+    }
+
+    /**
+     * Returns the number of list items allocated by the recorded calls of the given operation.
+     *
+     * @param operation the operation to query
+     * @return the number of list items allocated
+     */
+    public static long allocations(Operation operation) {
+        return TOTALS.get(operation).allocations.sum();
+    }
+
+    /**
+     * Returns the number of existing list items relinked into the results of the recorded calls of the given
+     * operation.
+     *
+     * @param operation the operation to query
+     * @return the number of list items relinked
+     */
+    public static long relinks(Operation operation) {
+        return TOTALS.get(operation).relinks.sum();
+    }
+
+    /**
+     * Returns the total wall time of the recorded calls of the given operation in nanoseconds.
+     *
+     * @param operation the operation to query
+     * @return the total wall time in nanoseconds
+     */
+    public static long nanos(Operation operation) {
+        return TOTALS.get(operation).nanos.sum();
+    }
+
+    /**
+     * Counts a key comparison of the current thread. Callers check {@link #enabled} first, so that disabled
+     * accounting does not look up the counter of the thread.
+     */
+    static void countComparison() {
+        COMPARISONS.get()[0]++;
+    }
+
+    /**
+     * Starts recording an operation on the current thread.
+     *
+     * @return the state of the operation or {@code null} if accounting is disabled
+     */
+    static Probe begin() {
+        if (!enabled) {
+            return null;
+        }
+        long[] comparisons = COMPARISONS.get();
+        return new Probe(comparisons, comparisons[0], System.nanoTime());
+    }
+
+    /**
+     * Finishes recording an operation and adds its costs to the totals.
+     *
+     * @param operation   the recorded operation
+     * @param probe       the state returned by {@link #begin()} or {@code null} if accounting was disabled
+     * @param allocations the number of list items allocated by the operation
+     * @param relinks     the number of list items relinked by the operation
+     */
+    static void end(Operation operation, Probe probe, long allocations, long relinks) {
+        if (probe == null) {
+            return;
+        }
+        Totals totals = TOTALS.get(operation);
+        totals.nanos.add(System.nanoTime() - probe.start());
+        totals.comparisons.add(probe.comparisons()[0] - probe.before());
+        totals.allocations.add(allocations);
+        totals.relinks.add(relinks);
+        totals.calls.increment();
+    }
+
+    /**
+     * Finishes recording a task computing a part of an operation on a worker thread. Only the comparisons of the task
+     * are added to the totals, the call itself is recorded by the thread which started the operation. The
+     * comparisons are removed from the counter of the worker thread, so that an operation the worker was running
+     * when it took over the task does not count them again.
+     *
+     * @param operation the operation the task belongs to
+     * @param probe     the state returned by {@link #begin()} when the task started or {@code null} if accounting was
+     *                  disabled
+     */
+    static void endTask(Operation operation, Probe probe) {
+        if (probe == null) {
+            return;
+        }
+        long[] comparisons = probe.comparisons();
+        TOTALS.get(operation).comparisons.add(comparisons[0] - probe.before());
+        comparisons[0] = probe.before();
+    }
+}
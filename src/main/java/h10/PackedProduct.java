@@ -0,0 +1,384 @@
+package h10;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A set of pairs which stores the keys of its pairs in two parallel arrays instead of list items. The pair at position
+ * {@code i} consists of {@code firsts[i]} and {@code seconds[i]}, and the pairs are stored in ascending lexicographic
+ * order.
+ *
+ * <p>A materialized pair costs three list items, one for each key and one linking the pair into the set, whereas a
+ * packed pair only costs two array slots referencing the keys, which are shared between all pairs containing them.
+ * The list items of a pair are created as a view whenever the pair is handed out, e.g. by {@link #iterator()} or
+ * {@link #select(int)}, and are discarded afterwards. Size, bounds, ranks and lookups are answered on the arrays, and
+ * subsets, differences and intersections yield packed products again. The list items of all pairs are only
+ * materialized if the head of this set is requested explicitly.
+ *
+ * @param <T> the type of the elements in the pairs
+ */
+public class PackedProduct<T> extends MySet<ListItem<T>> {
+
+    /**
+     * A set whose comparator defines the order of the elements in the pairs.
+     */
+    private final MySet<T> template;
+
+    /**
+     * The first keys of the pairs.
+     */
+    private final Object[] firsts;
+
+    /**
+     * The second keys of the pairs.
+     */
+    private final Object[] seconds;
+
+    /**
+     * Constructs and initializes a new set of the given pairs.
+     *
+     * @param template a set whose comparator defines the order of the elements in the pairs
+     * @param firsts   the first keys of the pairs in ascending lexicographic order of the pairs
+     * @param seconds  the second keys of the pairs, which has the same length as {@code firsts}
+     */
+    private PackedProduct(MySet<T> template, Object[] firsts, Object[] seconds) {
+        super(null, template.pairComparator(), Validation.TRUSTED);
+        this.template = template;
+        this.firsts = firsts;
+        this.seconds = seconds;
+    }
+
+    /**
+     * Returns the cartesian product of the given sets, whose pairs are packed into arrays. The elements of both sets
+     * are read once, every element is shared by all pairs containing it.
+     *
+     * @param first  the first factor of the product
+     * @param second the second factor of the product
+     * @param <T>    the type of the elements in the sets
+     * @return the packed cartesian product of the given sets
+     * @throws ArithmeticException if the product contains more than {@link Integer#MAX_VALUE} pairs
+     */
+    public static <T> PackedProduct<T> of(MySet<T> first, MySet<T> second) {
+        Object[] row = new Object[second.size()];
+        int length = 0;
+        for (ListItem<T> current = second.head(); current != null; current = current.next) {
+            row[length++] = current.key;
+        }
+        Builder<T> builder = new Builder<>(first, Math.multiplyExact(first.size(), length));
+        for (ListItem<T> current = first.head(); current != null; current = current.next) {
+            builder.appendRow(current.key, row);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the first key of the pair at the given position.
+     *
+     * @param i the position of the pair
+     * @return the first key of the pair
+     */
+    @SuppressWarnings("unchecked")
+    private T firstKey(int i) {
+        return (T) firsts[i];
+    }
+
+    /**
+     * Returns the second key of the pair at the given position.
+     *
+     * @param i the position of the pair
+     * @return the second key of the pair
+     */
+    @SuppressWarnings("unchecked")
+    private T secondKey(int i) {
+        return (T) seconds[i];
+    }
+
+    /**
+     * Returns a new view of the pair at the given position.
+     *
+     * @param i the position of the pair
+     * @return the list items of the pair
+     */
+    private ListItem<T> pair(int i) {
+        ListItem<T> pair = new ListItem<>(firstKey(i));
+        pair.next = new ListItem<>(secondKey(i));
+        return pair;
+    }
+
+    /**
+     * Compares the pair at the given position with the given pair without creating a view.
+     *
+     * @param i    the position of the pair
+     * @param pair the pair to compare with
+     * @return a negative integer, zero or a positive integer as the pair at the given position is less than, equal to
+     *     or greater than the given pair
+     */
+    private int compareAt(int i, ListItem<T> pair) {
+        int order = template.compare(firstKey(i), pair.key);
+        return order != 0 ? order : template.compare(secondKey(i), pair.next.key);
+    }
+
+    /**
+     * Returns an iterator creating views of the pairs of this set in ascending order one by one.
+     *
+     * @return an iterator over the pairs of this set
+     */
+    public Iterator<ListItem<T>> iterator() {
+        return new Iterator<>() {
+
+            /**
+             * The position of the next pair.
+             */
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < firsts.length;
+            }
+
+            @Override
+            public ListItem<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return pair(next++);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return firsts.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return firsts.length == 0;
+    }
+
+    @Override
+    public ListItem<T> min() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        return pair(0);
+    }
+
+    @Override
+    public ListItem<T> max() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        return pair(firsts.length - 1);
+    }
+
+    /**
+     * {@inheritDoc} The rank is found by a binary search on the packed pairs in {@code O(log n)} steps.
+     */
+    @Override
+    public int rank(ListItem<T> key) {
+        int low = 0;
+        int high = firsts.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareAt(middle, key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * {@inheritDoc} The pair is looked up in constant time and returned as a new view.
+     */
+    @Override
+    public ListItem<T> select(int index) {
+        Objects.checkIndex(index, firsts.length);
+        return pair(index);
+    }
+
+    @Override
+    public boolean contains(ListItem<T> key) {
+        int rank = rank(key);
+        return rank < firsts.length && compareAt(rank, key) == 0;
+    }
+
+    @Override
+    protected ListItem<ListItem<T>> head() {
+        if (head == null) {
+            for (int i = firsts.length - 1; i >= 0; i--) {
+                ListItem<ListItem<T>> item = new ListItem<>(pair(i));
+                item.next = head;
+                head = item;
+            }
+        }
+        return head;
+    }
+
+    @Override
+    public MySet<ListItem<T>> subset(Predicate<? super ListItem<T>> pred) {
+        Builder<T> builder = new Builder<>(template, 0);
+        for (int i = 0; i < firsts.length; i++) {
+            if (pred.test(pair(i))) {
+                builder.append(firstKey(i), secondKey(i));
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public MySet<ListItem<ListItem<T>>> cartesianProduct(MySet<ListItem<T>> other) {
+        return new FactorizedProduct<>(this, other);
+    }
+
+    /**
+     * Returns the pairs of this set which are contained or not contained in the given set. Packed sets are searched
+     * by their ranks, other sets are merged with this set.
+     *
+     * @param other     the set to look the pairs up in
+     * @param contained whether the pairs contained in the given set are kept
+     * @return the kept pairs of this set
+     */
+    private PackedProduct<T> retain(MySet<ListItem<T>> other, boolean contained) {
+        Builder<T> builder = new Builder<>(template, 0);
+        ListItem<ListItem<T>> otherCurrent = other instanceof PackedProduct<T> ? null : other.first();
+        for (int i = 0; i < firsts.length; i++) {
+            boolean found;
+            if (other instanceof PackedProduct<T> packed) {
+                found = packed.contains(pair(i));
+            } else {
+                otherCurrent = other.seek(otherCurrent, pair(i));
+                found = otherCurrent != null && compareAt(i, otherCurrent.key) == 0;
+            }
+            if (found == contained) {
+                builder.append(firstKey(i), secondKey(i));
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public MySet<ListItem<T>> difference(MySet<ListItem<T>> other) {
+        return retain(other, false);
+    }
+
+    @Override
+    public MySet<ListItem<T>> intersection(ListItem<MySet<ListItem<T>>> others) {
+        PackedProduct<T> result = this;
+        for (ListItem<MySet<ListItem<T>>> current = others; current != null; current = current.next) {
+            result = result.retain(current.key, true);
+        }
+        return result;
+    }
+
+    @Override
+    public MySet<ListItem<T>> symmetricDifference(MySet<ListItem<T>> other) {
+        return new MySetAsCopy<>(head(), cmp, Validation.TRUSTED).symmetricDifference(other);
+    }
+
+    @Override
+    protected MySet<ListItem<T>> unionListItems(ListItem<ListItem<ListItem<T>>> heads) {
+        return new MySetAsCopy<>(heads.key, cmp, Validation.TRUSTED).unionListItems(heads);
+    }
+
+    @Override
+    protected MySet<ListItem<T>> intersectionListItems(ListItem<ListItem<ListItem<T>>> heads) {
+        return new MySetAsCopy<>(heads.key, cmp, Validation.TRUSTED).intersectionListItems(heads);
+    }
+
+    /**
+     * Appends pairs in ascending lexicographic order to a new packed set.
+     *
+     * @param <T> the type of the elements in the pairs
+     */
+    static final class Builder<T> {
+
+        /**
+         * A set whose comparator defines the order of the elements in the pairs.
+         */
+        private final MySet<T> template;
+
+        /**
+         * The first keys of the appended pairs.
+         */
+        private Object[] firsts;
+
+        /**
+         * The second keys of the appended pairs.
+         */
+        private Object[] seconds;
+
+        /**
+         * The number of appended pairs.
+         */
+        private int size;
+
+        /**
+         * Constructs and initializes a new builder.
+         *
+         * @param template a set whose comparator defines the order of the elements in the pairs
+         * @param capacity the expected number of pairs
+         */
+        Builder(MySet<T> template, int capacity) {
+            this.template = template;
+            this.firsts = new Object[capacity];
+            this.seconds = new Object[capacity];
+        }
+
+        /**
+         * Ensures that the given number of additional pairs can be appended.
+         *
+         * @param count the number of additional pairs
+         */
+        private void reserve(int count) {
+            if (size + count > firsts.length) {
+                int capacity = Math.max(size + count, Math.max(16, 2 * firsts.length));
+                firsts = Arrays.copyOf(firsts, capacity);
+                seconds = Arrays.copyOf(seconds, capacity);
+            }
+        }
+
+        /**
+         * Appends the given pair, which must be greater than all pairs appended before.
+         *
+         * @param first  the first key of the pair
+         * @param second the second key of the pair
+         */
+        void append(T first, T second) {
+            reserve(1);
+            firsts[size] = first;
+            seconds[size++] = second;
+        }
+
+        /**
+         * Appends the pairs of the given first key with each of the given second keys, which must be ordered and
+         * greater than all pairs appended before.
+         *
+         * @param first   the first key of the pairs
+         * @param seconds the ordered second keys of the pairs
+         */
+        void appendRow(T first, Object[] seconds) {
+            reserve(seconds.length);
+            Arrays.fill(firsts, size, size + seconds.length, first);
+            System.arraycopy(seconds, 0, this.seconds, size, seconds.length);
+            size += seconds.length;
+        }
+
+        /**
+         * Returns the set consisting of the appended pairs.
+         *
+         * @return the set consisting of the appended pairs
+         */
+        PackedProduct<T> build() {
+            if (size == firsts.length) {
+                return new PackedProduct<>(template, firsts, seconds);
+            }
+            return new PackedProduct<>(template, Arrays.copyOf(firsts, size), Arrays.copyOf(seconds, size));
+        }
+    }
+}
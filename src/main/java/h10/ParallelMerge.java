@@ -0,0 +1,270 @@
+package h10;
+
+import h10.OperationStats.Operation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Computes the difference and the intersection of sets on a {@link ForkJoinPool} by partitioning the keys into
+ * disjoint ranges which are merged independently.
+ *
+ * <p>The splitter keys are taken from the samples of a {@link SkipIndex} over the first set, so that every range
+ * covers roughly the same number of its elements. The boundary of each range in the remaining sets is found by a
+ * binary search through their skip indices. Sets which are not indexed are sampled by a temporary index, which walks
+ * their list items once without comparing any keys. Each range is then merged by a separate task and the results
+ * are concatenated in the order of the ranges.
+ *
+ * <p>The tasks only collect the list items of the first set which belong to the result, the list items are copied or
+ * relinked after all tasks have finished. Thus, no task writes to list items that another task may still read. All
+ * indices are built before the tasks are started and the tasks skip through them directly, so that no task builds
+ * the lazily rebuilt skip index of a set concurrently with another task.
+ *
+ * <p>The comparisons of the tasks are recorded by {@link OperationStats}. Copies are taken from and relinked list
+ * items which are dropped from the first set are returned to the {@link ListItemRecycler} of the calling thread.
+ */
+public final class ParallelMerge {
+
+    /**
+     * The minimum number of elements of the first set per range.
+     */
+    public static final int MIN_CHUNK_SIZE = 1 << 10;
+
+    /**
+     * The number of ranges per worker thread of the pool, so that workers finishing early can take over further
+     * ranges if the elements are not distributed evenly.
+     */
+    public static final int CHUNKS_PER_WORKER = 4;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ParallelMerge() {
+    }
+
+    /**
+     * Returns the head of the difference of the given sets, more formally {@code set \ other}.
+     *
+     * @param set   the set to subtract from
+     * @param other the set to subtract
+     * @param copy  whether the list items of the result are copied instead of relinked
+     * @param pool  the pool merging the ranges
+     * @param <T>   the type of the elements in the sets
+     * @return the list items of the difference
+     */
+    public static <T> Segment<T> difference(MySet<T> set, MySet<T> other, boolean copy, ForkJoinPool pool) {
+        List<ListItem<T>> splitters = splitters(set, pool);
+        SkipIndex<T> otherIndex = indexOf(other);
+        List<ForkJoinTask<List<ListItem<T>>>> tasks = new ArrayList<>();
+        for (int i = 0; i < splitters.size(); i++) {
+            ListItem<T> from = splitters.get(i);
+            ListItem<T> to = i + 1 < splitters.size() ? splitters.get(i + 1) : null;
+            ListItem<T> otherFrom = boundary(otherIndex, from.key);
+            tasks.add(pool.submit(() -> {
+                OperationStats.Probe probe = OperationStats.begin();
+                List<ListItem<T>> result = new ArrayList<>();
+                ListItem<T> otherCurrent = otherFrom;
+                for (ListItem<T> current = from; current != to; current = current.next) {
+                    otherCurrent = seek(set, otherIndex, otherCurrent, current.key);
+                    if (otherCurrent == null || set.compare(otherCurrent.key, current.key) != 0) {
+                        result.add(current);
+                    }
+                }
+                OperationStats.endTask(Operation.DIFFERENCE, probe);
+                return result;
+            }));
+        }
+        return link(tasks, splitters, copy);
+    }
+
+    /**
+     * Returns the head of the intersection of the given sets, more formally {@code set ∩ other1 ∩ ... ∩ otherN}.
+     * The result consists of the elements of the first set.
+     *
+     * @param set    the first set
+     * @param others the sets to intersect with the first set
+     * @param copy   whether the list items of the result are copied instead of relinked
+     * @param pool   the pool merging the ranges
+     * @param <T>    the type of the elements in the sets
+     * @return the list items of the intersection
+     */
+    public static <T> Segment<T> intersection(
+        MySet<T> set,
+        ListItem<MySet<T>> others,
+        boolean copy,
+        ForkJoinPool pool
+    ) {
+        List<ListItem<T>> splitters = splitters(set, pool);
+        List<MySet<T>> sets = new ArrayList<>();
+        List<SkipIndex<T>> indices = new ArrayList<>();
+        ListItem<SkipIndex<T>> indexes = new ListItem<>(set.index());
+        ListItem<SkipIndex<T>> indexesTail = indexes;
+        for (ListItem<MySet<T>> current = others; current != null; current = current.next) {
+            sets.add(current.key);
+            indices.add(indexOf(current.key));
+            indexesTail.next = new ListItem<>(indices.get(indices.size() - 1));
+            indexesTail = indexesTail.next;
+        }
+        List<ForkJoinTask<List<ListItem<T>>>> tasks = new ArrayList<>();
+        for (int i = 0; i < splitters.size(); i++) {
+            ListItem<ListItem<T>> heads = new ListItem<>(splitters.get(i));
+            ListItem<ListItem<T>> tail = heads;
+            for (int j = 0; j < sets.size(); j++) {
+                tail.next = new ListItem<>(boundary(indices.get(j), heads.key.key));
+                tail = tail.next;
+            }
+            T bound = i + 1 < splitters.size() ? splitters.get(i + 1).key : null;
+            tasks.add(pool.submit(() -> {
+                OperationStats.Probe probe = OperationStats.begin();
+                List<ListItem<T>> result = new ArrayList<>();
+                IntersectionEngine<T> engine = new IntersectionEngine<>(heads, indexes, set.cmp, bound);
+                for (ListItem<T> current = engine.next(); current != null; current = engine.next()) {
+                    result.add(current);
+                }
+                OperationStats.endTask(Operation.INTERSECTION, probe);
+                return result;
+            }));
+        }
+        return link(tasks, splitters, copy);
+    }
+
+    /**
+     * Returns the skip index of the given set or a temporary index if the set is not indexed.
+     *
+     * @param set the set to sample
+     * @param <T> the type of the elements in the set
+     * @return an index over the list items of the given set
+     */
+    private static <T> SkipIndex<T> indexOf(MySet<T> set) {
+        SkipIndex<T> index = set.index();
+        return index != null ? index : new SkipIndex<>(set.head(), set.cmp);
+    }
+
+    /**
+     * Returns the first list item of each range of the given set. The ranges are aligned to the samples of its index.
+     *
+     * @param set  the set to partition
+     * @param pool the pool merging the ranges
+     * @param <T>  the type of the elements in the set
+     * @return the first list items of the ranges in ascending order
+     */
+    private static <T> List<ListItem<T>> splitters(MySet<T> set, ForkJoinPool pool) {
+        SkipIndex<T> index = indexOf(set);
+        int samples = index.samples();
+        int chunks = Math.min(pool.getParallelism() * CHUNKS_PER_WORKER, Math.max(1, index.size() / MIN_CHUNK_SIZE));
+        List<ListItem<T>> splitters = new ArrayList<>();
+        for (int i = 0; i < chunks && samples > 0; i++) {
+            splitters.add(index.sample((int) ((long) i * samples / chunks)));
+        }
+        return splitters;
+    }
+
+    /**
+     * Returns the first list item of an indexed list whose key is greater than or equal to the given key.
+     *
+     * @param index the index over the list items
+     * @param key   the key to search for
+     * @param <T>   the type of the elements in the list
+     * @return the first list item not less than the given key or {@code null} if there is no such list item
+     */
+    private static <T> ListItem<T> boundary(SkipIndex<T> index, T key) {
+        ListItem<T> predecessor = index.predecessor(key, false);
+        if (predecessor != null) {
+            return predecessor.next;
+        }
+        return index.samples() == 0 ? null : index.sample(0);
+    }
+
+    /**
+     * Returns the first list item starting from the given list item whose key is greater than or equal to the given
+     * key like {@link MySet#seek(ListItem, Object)}, but skips long runs of smaller keys through the given index
+     * instead of the skip index of the set.
+     *
+     * @param set   the set defining the order of the keys
+     * @param index the index over the list items
+     * @param from  the list item to start from
+     * @param key   the key to search for
+     * @param <T>   the type of the elements in the list
+     * @return the first list item not less than the given key or {@code null} if there is no such list item
+     */
+    private static <T> ListItem<T> seek(MySet<T> set, SkipIndex<T> index, ListItem<T> from, T key) {
+        ListItem<T> current = from;
+        for (int step = 0; current != null && set.compare(current.key, key) < 0; step++) {
+            if (step == SkipIndex.FANOUT) {
+                return boundary(index, key);
+            }
+            current = current.next;
+        }
+        return current;
+    }
+
+    /**
+     * Concatenates the list items collected by the given tasks in their order. If the list items are relinked, the
+     * list items of the first set which are dropped are released to the recycler.
+     *
+     * @param tasks     the tasks collecting the list items of the result
+     * @param splitters the first list items of the ranges of the first set in ascending order
+     * @param copy      whether the list items are copied instead of relinked
+     * @param <T>       the type of the elements in the list
+     * @return the list items of the concatenation
+     */
+    private static <T> Segment<T> link(
+        List<ForkJoinTask<List<ListItem<T>>>> tasks,
+        List<ListItem<T>> splitters,
+        boolean copy
+    ) {
+        ListItemRecycler.Pool recycler = ListItemRecycler.pool();
+        // The list items of the first set which have not been visited yet
+        ListItem<T> unvisited = splitters.isEmpty() ? null : splitters.get(0);
+        ListItem<T> head = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        for (ForkJoinTask<List<ListItem<T>>> task : tasks) {
+            for (ListItem<T> current : task.join()) {
+                ListItem<T> item;
+                if (copy) {
+                    item = ListItemRecycler.obtain(recycler, current.key);
+                } else {
+                    unvisited = release(recycler, unvisited, current);
+                    item = current;
+                }
+                if (head == null) {
+                    head = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+                size++;
+            }
+        }
+        if (!copy) {
+            release(recycler, unvisited, null);
+        }
+        if (tail != null) {
+            tail.next = null;
+        }
+        ListItemRecycler.flush(recycler);
+        return new Segment<>(head, tail, size);
+    }
+
+    /**
+     * Releases the dropped list items from the given list item up to the given kept list item to the given pool.
+     *
+     * @param recycler the pool of the current thread or {@code null} if list items are not recycled
+     * @param from     the first list item to release
+     * @param until    the next list item which is kept in the result or {@code null} to release all remaining list
+     *                 items
+     * @param <T>      the type of the elements in the list
+     * @return the successor of the kept list item, which is read before the kept list item is relinked
+     */
+    private static <T> ListItem<T> release(ListItemRecycler.Pool recycler, ListItem<T> from, ListItem<T> until) {
+        if (recycler != null) {
+            for (ListItem<T> current = from; current != until; current = current.next) {
+                recycler.release(current);
+            }
+        }
+        return until == null ? null : until.next;
+    }
+}
@@ -0,0 +1,148 @@
+package h10;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Computes the subset of an ordered list on a {@link ForkJoinPool}. The list items are split into chunks of
+ * consecutive list items, the predicate is evaluated on each chunk by a separate task and the kept list items of
+ * the chunks are stitched back together in their original order while joining the tasks.
+ *
+ * <p>The kept list items are either copied or relinked. Since every task only relinks the list items of its own
+ * chunk, the chunks can be relinked concurrently. The predicate is evaluated exactly once per element, but the order
+ * of the evaluations is unspecified, so the predicate must be safe to call from multiple threads. Each task takes its
+ * copies from and releases the dropped list items to the {@link ListItemRecycler} of the thread running it.
+ *
+ * @param <T> the type of the elements in the list
+ */
+public class ParallelSubset<T> extends RecursiveTask<Segment<T>> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The minimum number of list items per chunk.
+     */
+    public static final int MIN_CHUNK_SIZE = 64;
+
+    /**
+     * The number of chunks per worker thread of the pool, so that workers finishing early can steal further chunks
+     * if the cost of the predicate varies between the elements.
+     */
+    public static final int CHUNKS_PER_WORKER = 4;
+
+    /**
+     * The list items of the whole list in their original order.
+     */
+    private final List<ListItem<T>> items;
+
+    /**
+     * The predicate deciding which elements are kept.
+     */
+    private final Predicate<? super T> pred;
+
+    /**
+     * Whether the kept list items are copied instead of relinked.
+     */
+    private final boolean copy;
+
+    /**
+     * The maximum number of list items which are filtered by a single task.
+     */
+    private final int chunkSize;
+
+    /**
+     * The index of the first list item of this task (inclusive).
+     */
+    private final int from;
+
+    /**
+     * The index of the last list item of this task (exclusive).
+     */
+    private final int to;
+
+    /**
+     * Constructs and initializes a new task filtering the given range of list items.
+     *
+     * @param items     the list items of the whole list
+     * @param pred      the predicate deciding which elements are kept
+     * @param copy      whether the kept list items are copied instead of relinked
+     * @param chunkSize the maximum number of list items which are filtered by a single task
+     * @param from      the index of the first list item of this task (inclusive)
+     * @param to        the index of the last list item of this task (exclusive)
+     */
+    private ParallelSubset(
+        List<ListItem<T>> items,
+        Predicate<? super T> pred,
+        boolean copy,
+        int chunkSize,
+        int from,
+        int to
+    ) {
+        this.items = items;
+        this.pred = pred;
+        this.copy = copy;
+        this.chunkSize = chunkSize;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns the subset of the given set whose elements satisfy the given predicate.
+     *
+     * @param set  the set to filter
+     * @param pred the predicate deciding which elements are kept
+     * @param copy whether the kept list items are copied instead of relinked
+     * @param pool the pool evaluating the predicate
+     * @param <T>  the type of the elements in the set
+     * @return the list items of the subset
+     */
+    public static <T> Segment<T> subset(MySet<T> set, Predicate<? super T> pred, boolean copy, ForkJoinPool pool) {
+        List<ListItem<T>> items = new ArrayList<>(set.size());
+        for (ListItem<T> current = set.head(); current != null; current = current.next) {
+            items.add(current);
+        }
+        int chunks = Math.max(1, pool.getParallelism() * CHUNKS_PER_WORKER);
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (items.size() + chunks - 1) / chunks);
+        return pool.invoke(new ParallelSubset<>(items, pred, copy, chunkSize, 0, items.size()));
+    }
+
+    @Override
+    protected Segment<T> compute() {
+        if (to - from > chunkSize) {
+            int mid = (from + to) >>> 1;
+            ParallelSubset<T> right = new ParallelSubset<>(items, pred, copy, chunkSize, mid, to);
+            right.fork();
+            Segment<T> left = new ParallelSubset<>(items, pred, copy, chunkSize, from, mid).compute();
+            return left.concat(right.join());
+        }
+        ListItemRecycler.Pool recycler = ListItemRecycler.pool();
+        ListItem<T> head = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            ListItem<T> current = items.get(i);
+            if (pred.test(current.key)) {
+                ListItem<T> item = copy ? ListItemRecycler.obtain(recycler, current.key) : current;
+                if (head == null) {
+                    head = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+                size++;
+            } else if (!copy) {
+                ListItemRecycler.release(recycler, current);
+            }
+        }
+        if (tail != null) {
+            tail.next = null;
+        }
+        ListItemRecycler.flush(recycler);
+        return new Segment<>(head, tail, size);
+    }
+}
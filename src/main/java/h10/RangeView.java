@@ -0,0 +1,433 @@
+package h10;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A view of the elements of a set lying in a key range. The view does not copy the list items of its backing set:
+ * lookups seek to the lower bound of the range using the skip index of the backing set if it is indexed, and walks
+ * stop at the upper bound. Therefore, creating a view takes constant time and the view reflects later changes of its
+ * backing set.
+ *
+ * <p>The set operations accept views as operands like any other set. The intersection of sets which include views is
+ * computed on the list items of the backing sets within the common range of all operands. Operations returning a new
+ * set on a view return a {@link MySetAsCopy}, so the backing set is never modified through a view. The list items of
+ * the backing set are never exposed: {@link #head()} and {@link #tail()} both return copies, so that operations
+ * relinking the list items of their operands cannot corrupt the backing set. Operations which only read the elements
+ * of a view, i.e. the set operations, {@link #equals(Object)}, {@link #hashCode()} and {@link #toString()}, walk the
+ * list items of the backing set from {@link #first()} to {@link #end()} instead of copying them.
+ *
+ * @param <T> the type of the elements in the set
+ * @see MySet#subSet(Object, Object)
+ */
+public class RangeView<T> extends MySet<T> {
+
+    /**
+     * The set whose elements are viewed, which is never a view itself.
+     */
+    private final MySet<T> backing;
+
+    /**
+     * The inclusive lower bound of the range or {@code null} if the range has no lower bound.
+     */
+    private final T lower;
+
+    /**
+     * The exclusive upper bound of the range or {@code null} if the range has no upper bound.
+     */
+    private final T upper;
+
+    /**
+     * Constructs and initializes a new view of the elements of the given set in the given range.
+     *
+     * @param backing the set whose elements are viewed
+     * @param lower   the inclusive lower bound of the range or {@code null} if the range has no lower bound
+     * @param upper   the exclusive upper bound of the range or {@code null} if the range has no upper bound
+     */
+    public RangeView(MySet<T> backing, T lower, T upper) {
+        super(null, backing.cmp, Validation.TRUSTED);
+        // The order cannot be detected from the empty list passed above
+        this.keyOrder = backing.keyOrder;
+        this.backing = backing;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Returns {@code true} if the given key is not less than the lower bound of this view.
+     *
+     * @param key the key to check
+     * @return {@code true} if the given key is not less than the lower bound of this view
+     */
+    private boolean isAboveLower(T key) {
+        return lower == null || compare(key, lower) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if the given key is less than the upper bound of this view.
+     *
+     * @param key the key to check
+     * @return {@code true} if the given key is less than the upper bound of this view
+     */
+    private boolean isBelowUpper(T key) {
+        return upper == null || compare(key, upper) < 0;
+    }
+
+    /**
+     * Returns the given list item of the backing set if it lies below the upper bound of this view.
+     *
+     * @param item the list item to check
+     * @return the given list item or {@code null} if it is {@code null} or not below the upper bound
+     */
+    private ListItem<T> clamp(ListItem<T> item) {
+        return item != null && isBelowUpper(item.key) ? item : null;
+    }
+
+    @Override
+    protected T lowerBound() {
+        return lower;
+    }
+
+    @Override
+    protected T upperBound() {
+        return upper;
+    }
+
+    @Override
+    protected ListItem<T> first() {
+        ListItem<T> predecessor = lower == null ? null : backing.predecessor(lower, false);
+        return clamp(predecessor == null ? backing.first() : predecessor.next);
+    }
+
+    /**
+     * {@inheritDoc} The list item is the first list item of the backing set lying above the range of this view.
+     */
+    @Override
+    protected ListItem<T> end() {
+        if (upper == null) {
+            return null;
+        }
+        ListItem<T> predecessor = backing.predecessor(upper, false);
+        return predecessor == null ? backing.first() : predecessor.next;
+    }
+
+    /**
+     * {@inheritDoc} The elements in range are copied on every call, so read-only walks should use {@link #first()}
+     * instead.
+     */
+    @Override
+    protected ListItem<T> head() {
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        for (ListItem<T> current = first(); current != null; current = clamp(current.next)) {
+            ListItem<T> item = new ListItem<>(current.key);
+            if (newHead == null) {
+                newHead = item;
+            } else {
+                tail.next = item;
+            }
+            tail = item;
+        }
+        return newHead;
+    }
+
+    /**
+     * Returns the last list item of the backing set lying in range.
+     *
+     * @return the last list item of the backing set in range or {@code null} if this view is empty
+     */
+    private ListItem<T> last() {
+        ListItem<T> last = upper == null ? backing.tail() : backing.predecessor(upper, false);
+        return last != null && isAboveLower(last.key) ? last : null;
+    }
+
+    /**
+     * {@inheritDoc} Like {@link #head()}, the returned list item is a copy: a new list item holding the greatest
+     * element in range, which is not linked to any other list item.
+     */
+    @Override
+    protected ListItem<T> tail() {
+        ListItem<T> last = last();
+        return last == null ? null : new ListItem<>(last.key);
+    }
+
+    /**
+     * {@inheritDoc} The size is the difference of the ranks of the bounds in the backing set, so it is found through
+     * the skip index of the backing set without walking the elements in range.
+     */
+    @Override
+    public int size() {
+        int size = upper == null ? backing.size() : backing.rank(upper);
+        return Math.max(0, size - (lower == null ? 0 : backing.rank(lower)));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return first() == null;
+    }
+
+    @Override
+    public T min() {
+        ListItem<T> first = first();
+        if (first == null) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        return first.key;
+    }
+
+    @Override
+    public T max() {
+        ListItem<T> last = last();
+        if (last == null) {
+            throw new NoSuchElementException("The set is empty");
+        }
+        return last.key;
+    }
+
+    /**
+     * Builds the skip index of the backing set, which is used by this view and all other views of the backing set.
+     */
+    @Override
+    public void buildIndex() {
+        backing.buildIndex();
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return backing.isIndexed();
+    }
+
+    @Override
+    protected ListItem<T> predecessor(T key, boolean inclusive) {
+        if (!isAboveLower(key)) {
+            return null;
+        }
+        ListItem<T> predecessor = isBelowUpper(key)
+            ? backing.predecessor(key, inclusive)
+            : backing.predecessor(upper, false);
+        return predecessor != null && isAboveLower(predecessor.key) ? predecessor : null;
+    }
+
+    @Override
+    protected ListItem<T> seek(ListItem<T> from, T key) {
+        return clamp(backing.seek(from, key));
+    }
+
+    @Override
+    public boolean contains(T key) {
+        return isAboveLower(key) && isBelowUpper(key) && backing.contains(key);
+    }
+
+    @Override
+    public T ceiling(T key) {
+        ListItem<T> before = predecessor(key, false);
+        ListItem<T> ceiling = before == null ? first() : clamp(before.next);
+        return ceiling == null ? null : ceiling.key;
+    }
+
+    @Override
+    public T higher(T key) {
+        ListItem<T> floor = predecessor(key, true);
+        ListItem<T> higher = floor == null ? first() : clamp(floor.next);
+        return higher == null ? null : higher.key;
+    }
+
+    /**
+     * {@inheritDoc} The rank is the difference of the ranks of the given key and the lower bound in the backing set.
+     */
+    @Override
+    public int rank(T key) {
+        if (!isAboveLower(key)) {
+            return 0;
+        }
+        int offset = lower == null ? 0 : backing.rank(lower);
+        return Math.max(0, backing.rank(isBelowUpper(key) ? key : upper) - offset);
+    }
+
+    /**
+     * {@inheritDoc} The element is selected in the backing set after skipping the elements below the lower bound.
+     */
+    @Override
+    public T select(int index) {
+        int offset = lower == null ? 0 : backing.rank(lower);
+        if (index >= 0 && offset + index < backing.size()) {
+            T key = backing.select(offset + index);
+            if (isBelowUpper(key)) {
+                return key;
+            }
+        }
+        throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+    }
+
+    /**
+     * {@inheritDoc} The returned view is a view of the backing set whose range is the intersection of the given range
+     * and the range of this view.
+     */
+    @Override
+    protected MySet<T> view(T fromKey, T toKey) {
+        return new RangeView<>(backing, maxBound(lower, fromKey), minBound(upper, toKey));
+    }
+
+    /**
+     * {@inheritDoc} The finger is read-only, since the list items belong to the backing set.
+     */
+    @Override
+    public Finger<T> finger() {
+        return new Finger<>(this, true);
+    }
+
+    @Override
+    public MySet<T> subset(Predicate<? super T> pred) {
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        for (ListItem<T> current = first(); current != null; current = clamp(current.next)) {
+            if (pred.test(current.key)) {
+                ListItem<T> item = new ListItem<>(current.key);
+                if (newHead == null) {
+                    newHead = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+                size++;
+            }
+        }
+        return new MySetAsCopy<>(newHead, tail, size, cmp);
+    }
+
+    @Override
+    public MySet<ListItem<T>> cartesianProduct(MySet<T> other) {
+        return new FactorizedProduct<>(this, other);
+    }
+
+    @Override
+    public MySet<T> difference(MySet<T> other) {
+        boolean disjoint = isDisjointRange(other);
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        ListItem<T> otherCurrent = other.first();
+        for (ListItem<T> current = first(); current != null; current = clamp(current.next)) {
+            if (!disjoint) {
+                otherCurrent = other.seek(otherCurrent, current.key);
+            }
+            if (disjoint || otherCurrent == null || compare(otherCurrent.key, current.key) != 0) {
+                ListItem<T> item = new ListItem<>(current.key);
+                if (newHead == null) {
+                    newHead = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+                size++;
+            }
+        }
+        return new MySetAsCopy<>(newHead, tail, size, cmp);
+    }
+
+    @Override
+    protected MySet<T> intersectionListItems(ListItem<ListItem<T>> heads) {
+        return new MySetAsCopy<T>(null, cmp, Validation.TRUSTED).intersectionListItems(heads);
+    }
+
+    @Override
+    protected MySet<T> intersectionListItems(ListItem<ListItem<T>> heads, ListItem<SkipIndex<T>> indexes, T bound) {
+        return new MySetAsCopy<T>(null, cmp, Validation.TRUSTED).intersectionListItems(heads, indexes, bound);
+    }
+
+    /**
+     * {@inheritDoc} Neither this view nor the given set is copied, both are walked from their first list item to their
+     * end.
+     */
+    @Override
+    public MySet<T> symmetricDifference(MySet<T> other) {
+        ListItemRecycler.Pool pool = ListItemRecycler.pool();
+        ListItem<T> newHead = null;
+        ListItem<T> tail = null;
+        int size = 0;
+        ListItem<T> current = first();
+        ListItem<T> otherCurrent = other.first();
+        ListItem<T> otherEnd = other.end();
+        while (current != null || otherCurrent != null) {
+            int order = current == null ? 1 : otherCurrent == null ? -1 : compare(current.key, otherCurrent.key);
+            ListItem<T> item = null;
+            if (order <= 0) {
+                item = order < 0 ? ListItemRecycler.obtain(pool, current.key) : null;
+                current = clamp(current.next);
+            }
+            if (order >= 0) {
+                item = order > 0 ? ListItemRecycler.obtain(pool, otherCurrent.key) : item;
+                otherCurrent = otherCurrent.next == otherEnd ? null : otherCurrent.next;
+            }
+            if (item != null) {
+                if (newHead == null) {
+                    newHead = item;
+                } else {
+                    tail.next = item;
+                }
+                tail = item;
+                size++;
+            }
+        }
+        ListItemRecycler.flush(pool);
+        return new MySetAsCopy<>(newHead, tail, size, cmp);
+    }
+
+    @Override
+    protected MySet<T> unionListItems(ListItem<ListItem<T>> heads) {
+        return new MySetAsCopy<T>(null, cmp, Validation.TRUSTED).unionListItems(heads);
+    }
+
+    @Override
+    protected MySet<T> unionListItems(ListItem<ListItem<T>> heads, ListItem<ListItem<T>> ends) {
+        return new MySetAsCopy<T>(null, cmp, Validation.TRUSTED).unionListItems(heads, ends);
+    }
+
+    /**
+     * {@inheritDoc} Two views are equal if they contain the same elements in the same order, which are compared
+     * without copying them.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RangeView)) {
+            return false;
+        }
+        RangeView<T> other = (RangeView<T>) o;
+        ListItem<T> otherCurrent = other.first();
+        for (ListItem<T> current = first(); current != null; current = clamp(current.next)) {
+            if (otherCurrent == null || !Objects.equals(current.key, otherCurrent.key)) {
+                return false;
+            }
+            otherCurrent = other.clamp(otherCurrent.next);
+        }
+        return otherCurrent == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (ListItem<T> current = first(); current != null; current = clamp(current.next)) {
+            hash = 31 * hash + Objects.hashCode(current.key);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        ListItem<T> current = first();
+        if (current == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        for (; current != null; current = clamp(current.next)) {
+            sb.append(current.key).append(" -> ");
+        }
+        return sb.append("null}").toString();
+    }
+}
@@ -0,0 +1,31 @@
+package h10;
+
+/**
+ * A linked sequence of list items together with its last list item and its length, so that sequences can be
+ * concatenated in constant time.
+ *
+ * @param head the first list item of the sequence or {@code null} if the sequence is empty
+ * @param tail the last list item of the sequence or {@code null} if the sequence is empty
+ * @param size the number of list items in the sequence
+ * @param <T>  the type of the elements in the sequence
+ */
+record Segment<T>(ListItem<T> head, ListItem<T> tail, int size) {
+
+    /**
+     * Appends the given sequence to this sequence by linking the last list item of this sequence to the first list
+     * item of the given sequence.
+     *
+     * @param other the sequence to append
+     * @return the concatenation of both sequences
+     */
+    Segment<T> concat(Segment<T> other) {
+        if (head == null) {
+            return other;
+        }
+        if (other.head == null) {
+            return this;
+        }
+        tail.next = other.head;
+        return new Segment<>(head, other.tail, size + other.size);
+    }
+}
@@ -0,0 +1,237 @@
+package h10;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * A multi-level skip index built over the list items of a {@link MySet}. The index does not copy any element, it only
+ * stores references to every {@value #FANOUT}-th list item on the lowest level, every {@value #FANOUT}-th reference of
+ * the lowest level on the level above and so on, so that a search descends from the top level to the list in
+ * {@code O(log n)} steps.
+ *
+ * <p>Since the index stores references to the list items, it becomes invalid as soon as the underlying list is
+ * relinked and must be rebuilt afterwards.
+ *
+ * @param <T> the type of the elements in the set
+ * @see MySet#buildIndex()
+ */
+public final class SkipIndex<T> {
+
+    /**
+     * The number of references on a level which are covered by a single reference on the level above.
+     */
+    public static final int FANOUT = 8;
+
+    /**
+     * The comparator defining the order of the indexed list.
+     */
+    private final Comparator<? super T> cmp;
+
+    /**
+     * The order of the keys detected for the comparator.
+     */
+    private final KeyOrder keyOrder;
+
+    /**
+     * The levels of the index, where {@code levels[k][j]} references the list item at position
+     * {@code j * FANOUT^(k + 1)}.
+     */
+    private final ListItem<?>[][] levels;
+
+    /**
+     * The number of elements in the indexed list.
+     */
+    private final int size;
+
+    /**
+     * Constructs and initializes a new index over the given list.
+     *
+     * @param head the head of the list to index
+     * @param cmp  the comparator defining the order of the list
+     */
+    public SkipIndex(ListItem<T> head, Comparator<? super T> cmp) {
+        this.cmp = cmp;
+        this.keyOrder = KeyOrder.of(cmp, head == null ? null : head.key);
+        ListItem<?>[] lowest = new ListItem<?>[FANOUT];
+        int count = 0;
+        int size = 0;
+        for (ListItem<T> current = head; current != null; current = current.next, size++) {
+            if (size % FANOUT == 0) {
+                if (count == lowest.length) {
+                    lowest = copyOf(lowest, count, count * 2);
+                }
+                lowest[count++] = current;
+            }
+        }
+        this.size = size;
+
+        int height = 1;
+        for (int length = count; length > FANOUT; length = (length + FANOUT - 1) / FANOUT) {
+            height++;
+        }
+        levels = new ListItem<?>[height][];
+        levels[0] = copyOf(lowest, count, count);
+        for (int k = 1; k < height; k++) {
+            ListItem<?>[] below = levels[k - 1];
+            ListItem<?>[] level = new ListItem<?>[(below.length + FANOUT - 1) / FANOUT];
+            for (int j = 0; j < level.length; j++) {
+                level[j] = below[j * FANOUT];
+            }
+            levels[k] = level;
+        }
+    }
+
+    /**
+     * Returns a copy of the first {@code length} references of the given array with the given capacity.
+     *
+     * @param items    the array to copy
+     * @param length   the number of references to copy
+     * @param capacity the capacity of the copy
+     * @return the copy of the given array
+     */
+    private static ListItem<?>[] copyOf(ListItem<?>[] items, int length, int capacity) {
+        ListItem<?>[] copy = new ListItem<?>[capacity];
+        System.arraycopy(items, 0, copy, 0, length);
+        return copy;
+    }
+
+    /**
+     * Returns the number of elements in the indexed list.
+     *
+     * @return the number of elements in the indexed list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of list items referenced by the lowest level, i.e. the number of samples of the list.
+     *
+     * @return the number of samples of the indexed list
+     */
+    public int samples() {
+        return levels[0].length;
+    }
+
+    /**
+     * Returns the sample at the given position of the lowest level, which is the list item at position
+     * {@code index * FANOUT} of the indexed list.
+     *
+     * @param index the position of the sample
+     * @return the sampled list item
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ListItem<T> sample(int index) {
+        return at(0, index);
+    }
+
+    /**
+     * Returns the reference at the given position of the given level.
+     *
+     * @param level the level of the reference
+     * @param index the position of the reference on the level
+     * @return the referenced list item
+     */
+    @SuppressWarnings("unchecked")
+    private ListItem<T> at(int level, int index) {
+        return (ListItem<T>) levels[level][index];
+    }
+
+    /**
+     * Returns {@code true} if the given list item lies before the given key, i.e. its key is less than the key or, if
+     * {@code inclusive} is set, equal to the key.
+     *
+     * @param item      the list item to check
+     * @param key       the key to compare with
+     * @param inclusive whether list items with a key equal to the given key lie before it
+     * @return {@code true} if the given list item lies before the given key
+     */
+    private boolean before(ListItem<T> item, T key, boolean inclusive) {
+        int order = keyOrder.compare(cmp, item.key, key);
+        return order < 0 || inclusive && order == 0;
+    }
+
+    /**
+     * Returns the position of the last sample lying before the given key by descending from the top level.
+     *
+     * @param key       the key to search for
+     * @param inclusive whether a sample with a key equal to the given key lies before it
+     * @return the position of the last sample lying before the given key or {@code -1} if there is no such sample
+     */
+    private int descend(T key, boolean inclusive) {
+        int top = levels.length - 1;
+        if (size == 0 || !before(at(top, 0), key, inclusive)) {
+            return -1;
+        }
+        int index = 0;
+        for (int level = top; level >= 0; level--) {
+            int length = levels[level].length;
+            int end = level == top ? length : Math.min(length, index + FANOUT);
+            while (index + 1 < end && before(at(level, index + 1), key, inclusive)) {
+                index++;
+            }
+            if (level > 0) {
+                index *= FANOUT;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the last list item whose key is less than the given key or, if {@code inclusive} is set, less than or
+     * equal to the given key.
+     *
+     * @param key       the key to search for
+     * @param inclusive whether a list item with a key equal to the given key may be returned
+     * @return the last list item lying before the given key or {@code null} if there is no such list item
+     */
+    public ListItem<T> predecessor(T key, boolean inclusive) {
+        int index = descend(key, inclusive);
+        if (index < 0) {
+            return null;
+        }
+        ListItem<T> current = at(0, index);
+        for (int step = 1; step < FANOUT && current.next != null && before(current.next, key, inclusive); step++) {
+            current = current.next;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the number of elements in the indexed list which are strictly less than the given key. Since the
+     * samples lie at fixed positions, the rank is the position of the sample found by the descent plus the number of
+     * steps walked from it.
+     *
+     * @param key the key to search for
+     * @return the number of elements less than the given key
+     */
+    public int rank(T key) {
+        int index = descend(key, false);
+        if (index < 0) {
+            return 0;
+        }
+        ListItem<T> current = at(0, index);
+        int rank = index * FANOUT + 1;
+        for (; rank % FANOUT != 0 && current.next != null && before(current.next, key, false); rank++) {
+            current = current.next;
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the list item at the given position of the indexed list, which is reached from the preceding sample in
+     * less than {@value #FANOUT} steps.
+     *
+     * @param index the position of the list item
+     * @return the list item at the given position
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public ListItem<T> select(int index) {
+        Objects.checkIndex(index, size);
+        ListItem<T> current = sample(index / FANOUT);
+        for (int step = index % FANOUT; step > 0; step--) {
+            current = current.next;
+        }
+        return current;
+    }
+}
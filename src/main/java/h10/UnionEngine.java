@@ -0,0 +1,232 @@
+package h10;
+
+import java.util.Comparator;
+
+/**
+ * Computes the union of ordered lists by merging them. The list items of the union are returned one by one in
+ * ascending order, so that the caller decides whether to copy or to relink them. If several lists contain the same
+ * key, only the list item of the list given first is returned.
+ *
+ * <p>Two lists are merged linearly with a single comparison per returned list item. More lists are merged by a loser
+ * tree: the inner nodes of the tree store the index of the list which lost the match at that node, and the root
+ * stores the overall winner, i.e. the list with the smallest current key. After the winner has been advanced, only
+ * the matches on the path from its leaf to the root are replayed, so merging {@code k} lists with {@code n} list
+ * items in total costs {@code O(n log k)} comparisons.
+ *
+ * <p>A list may continue beyond the set it belongs to, e.g. the list items of a {@link RangeView} are the list items
+ * of its backing set. Such a list is given together with the list item at which it ends, so that it is merged without
+ * copying its list items and without comparing its keys against the bound of the view.
+ *
+ * @param <T> the type of the elements in the lists
+ */
+public class UnionEngine<T> {
+
+    /**
+     * The comparator defining the order of the lists.
+     */
+    private final Comparator<? super T> cmp;
+
+    /**
+     * The order of the keys detected for the comparator.
+     */
+    private final KeyOrder keyOrder;
+
+    /**
+     * The current list item of each list or {@code null} if the list is exhausted.
+     */
+    private final ListItem<T>[] items;
+
+    /**
+     * The list item at which each list ends or {@code null} if the list ends at its last list item.
+     */
+    private final ListItem<T>[] ends;
+
+    /**
+     * The loser tree over the lists, where {@code tree[0]} is the index of the winner and {@code tree[i]} is the index
+     * of the loser of the match at the inner node {@code i}. The leaves {@code k, ..., 2k - 1} are implicit and
+     * represent the lists {@code 0, ..., k - 1}.
+     */
+    private final int[] tree;
+
+    /**
+     * The index of the list containing the last returned list item.
+     */
+    private int source = -1;
+
+    /**
+     * Constructs and initializes a new engine merging the given lists.
+     *
+     * @param heads the heads of the lists to merge, which must contain at least one list
+     * @param cmp   the comparator defining the order of the lists
+     */
+    public UnionEngine(ListItem<ListItem<T>> heads, Comparator<? super T> cmp) {
+        this(heads, null, cmp);
+    }
+
+    /**
+     * Constructs and initializes a new engine merging the given lists, where each list ends at the given list item.
+     *
+     * @param heads the heads of the lists to merge, which must contain at least one list
+     * @param ends  the list items at which the lists end in the same order as the heads, where {@code null} denotes
+     *              a list ending at its last list item, or {@code null} if all lists end at their last list item
+     * @param cmp   the comparator defining the order of the lists
+     */
+    @SuppressWarnings("unchecked")
+    public UnionEngine(ListItem<ListItem<T>> heads, ListItem<ListItem<T>> ends, Comparator<? super T> cmp) {
+        this.cmp = cmp;
+        int count = 0;
+        for (ListItem<ListItem<T>> current = heads; current != null; current = current.next) {
+            count++;
+        }
+        items = (ListItem<T>[]) new ListItem<?>[count];
+        this.ends = (ListItem<T>[]) new ListItem<?>[count];
+        int i = 0;
+        T sample = null;
+        ListItem<ListItem<T>> end = ends;
+        for (ListItem<ListItem<T>> current = heads; current != null; current = current.next, i++) {
+            if (end != null) {
+                this.ends[i] = end.key;
+                end = end.next;
+            }
+            items[i] = current.key == this.ends[i] ? null : current.key;
+            if (sample == null && items[i] != null) {
+                sample = items[i].key;
+            }
+        }
+        keyOrder = KeyOrder.of(cmp, sample);
+        tree = new int[count];
+        if (count > 2) {
+            tree[0] = play(1);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the current list item of the first given list precedes the current list item of the
+     * second given list. Exhausted lists come last and ties are broken by the index of the lists.
+     *
+     * @param first  the index of the first list
+     * @param second the index of the second list
+     * @return {@code true} if the first list precedes the second list
+     */
+    private boolean precedes(int first, int second) {
+        if (items[first] == null || items[second] == null) {
+            return items[second] == null && (items[first] != null || first < second);
+        }
+        int order = keyOrder.compare(cmp, items[first].key, items[second].key);
+        return order < 0 || order == 0 && first < second;
+    }
+
+    /**
+     * Returns the successor of the current list item of the given list.
+     *
+     * @param list the index of the list
+     * @return the successor of the current list item or {@code null} if the list ends after it
+     */
+    private ListItem<T> successor(int list) {
+        ListItem<T> next = items[list].next;
+        return next == ends[list] ? null : next;
+    }
+
+    /**
+     * Plays all matches of the subtree rooted at the given node, stores the losers in the inner nodes and returns the
+     * winner of the subtree.
+     *
+     * @param node the root of the subtree
+     * @return the index of the list winning the subtree
+     */
+    private int play(int node) {
+        if (node >= items.length) {
+            return node - items.length;
+        }
+        int left = play(2 * node);
+        int right = play(2 * node + 1);
+        if (precedes(left, right)) {
+            tree[node] = right;
+            return left;
+        }
+        tree[node] = left;
+        return right;
+    }
+
+    /**
+     * Advances the given list to its next list item and replays the matches on the path from its leaf to the root.
+     *
+     * @param list the index of the list to advance
+     */
+    private void advance(int list) {
+        items[list] = successor(list);
+        int winner = list;
+        for (int node = (list + items.length) / 2; node > 0; node /= 2) {
+            if (precedes(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /**
+     * Returns the next list item of the union. The successor of the returned list item has already been read, so the
+     * caller may relink the returned list item.
+     *
+     * @return the next list item of the union or {@code null} if there are no more list items
+     */
+    public ListItem<T> next() {
+        if (items.length == 1) {
+            ListItem<T> item = items[0];
+            if (item != null) {
+                items[0] = successor(0);
+                source = 0;
+            }
+            return item;
+        }
+        if (items.length == 2) {
+            return nextOfTwo();
+        }
+        int winner = tree[0];
+        ListItem<T> item = items[winner];
+        if (item == null) {
+            return null;
+        }
+        source = winner;
+        advance(winner);
+        while (items[tree[0]] != null && keyOrder.compare(cmp, items[tree[0]].key, item.key) == 0) {
+            advance(tree[0]);
+        }
+        return item;
+    }
+
+    /**
+     * Returns the next list item of the union of exactly two lists.
+     *
+     * @return the next list item of the union or {@code null} if there are no more list items
+     */
+    private ListItem<T> nextOfTwo() {
+        ListItem<T> first = items[0];
+        ListItem<T> second = items[1];
+        int order = first == null ? 1 : second == null ? -1 : keyOrder.compare(cmp, first.key, second.key);
+        if (order > 0) {
+            if (second != null) {
+                items[1] = successor(1);
+                source = 1;
+            }
+            return second;
+        }
+        items[0] = successor(0);
+        if (order == 0) {
+            items[1] = successor(1);
+        }
+        source = 0;
+        return first;
+    }
+
+    /**
+     * Returns {@code true} if the last returned list item belongs to the first list.
+     *
+     * @return {@code true} if the last returned list item belongs to the first list
+     */
+    public boolean isFromFirst() {
+        return source == 0;
+    }
+}
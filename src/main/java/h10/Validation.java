@@ -0,0 +1,36 @@
+package h10;
+
+/**
+ * Defines how thoroughly the elements passed to a {@link MySet} constructor are checked for being ordered and pairwise
+ * different.
+ *
+ * @see MySet#MySet(ListItem, java.util.Comparator, Validation)
+ */
+public enum Validation {
+
+    /**
+     * Runs {@link MySet#isOrdered} followed by {@link MySet#isPairwiseDifferent}, which compares every pair of
+     * elements. This is the validation of {@link MySet#MySet(ListItem, java.util.Comparator)}.
+     */
+    FULL,
+
+    /**
+     * Checks every adjacent pair of elements in a single pass. Since the elements must be ordered, they are pairwise
+     * different if and only if every element is strictly less than its successor, so both properties are verified
+     * with {@code n - 1} comparisons.
+     */
+    STRICT,
+
+    /**
+     * Only checks every {@value MySet#SAMPLE_STRIDE}-th adjacent pair as well as the first and the last pair. This
+     * detects most accidentally unordered inputs while visiting the comparator only a fraction of the time, but
+     * does not guarantee that the set is valid.
+     */
+    SAMPLED,
+
+    /**
+     * Skips the validation entirely. Only use this mode if the elements are ordered and pairwise different by
+     * construction, e.g. for the results of the operations of {@link MySetAsCopy} and {@link MySetInPlace}.
+     */
+    TRUSTED
+}
@@ -0,0 +1,257 @@
+package h10;
+
+import h10.OperationStats.Operation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Opt-in recorder logging the set operations to a compact binary trace, which can be replayed offline by
+ * {@link WorkloadReplay}. While recording, every call of {@link MySet#subset}, {@link MySet#difference},
+ * {@link MySet#intersection(ListItem)} and {@link MySet#cartesianProduct} on a {@link MySetAsCopy} or a
+ * {@link MySetInPlace} appends an {@link Event} describing the operation. The elements themselves are not recorded,
+ * only the sizes and fingerprints of the operands, the identity of the predicate and the size of the result.
+ *
+ * <p>A trace starts with {@link #MAGIC} and {@link #VERSION}, followed by the events in the order the operations
+ * finished. Each event is stored as the operation, the predicate identity, the number of operands, the size and
+ * fingerprint of each operand, the size of the result and the latency.
+ */
+public final class WorkloadRecorder {
+
+    /**
+     * The first four bytes of a trace.
+     */
+    public static final int MAGIC = 0x48313057;
+
+    /**
+     * The version of the trace format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * A recorded operation.
+     *
+     * @param operation    the operation
+     * @param predicate    the identity hash code of the predicate of a subset or {@code 0} for other operations
+     * @param sizes        the sizes of the operands, the first one is the set the operation was called on
+     * @param fingerprints the fingerprints of the operands, which are equal for operands with equal size and bounds
+     * @param resultSize   the size of the result
+     * @param nanos        the latency of the operation in nanoseconds
+     */
+    public record Event(
+        Operation operation,
+        int predicate,
+        int[] sizes,
+        int[] fingerprints,
+        int resultSize,
+        long nanos
+    ) {
+    }
+
+    /**
+     * The state of a running operation, which is captured before the operands are modified.
+     *
+     * @param operation    the operation
+     * @param predicate    the identity of the predicate
+     * @param sizes        the sizes of the operands
+     * @param fingerprints the fingerprints of the operands
+     * @param start        the value of {@link System#nanoTime()} when the operation started
+     */
+    record Entry(Operation operation, int predicate, int[] sizes, int[] fingerprints, long start) {
+    }
+
+    /**
+     * The stream the events are written to or {@code null} if no trace is recorded.
+     */
+    private static volatile DataOutputStream out;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private WorkloadRecorder() {
+    }
+
+    /**
+     * Starts recording the set operations to the given file, which is overwritten.
+     *
+     * @param trace the file to write the trace to
+     * @throws IOException           if the file cannot be written
+     * @throws IllegalStateException if a trace is already recorded
+     */
+    public static synchronized void start(Path trace) throws IOException {
+        if (out != null) {
+            throw new IllegalStateException("A trace is already recorded");
+        }
+        DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(trace)));
+        stream.writeInt(MAGIC);
+        stream.writeInt(VERSION);
+        out = stream;
+    }
+
+    /**
+     * Stops recording and closes the trace. Does nothing if no trace is recorded.
+     *
+     * @throws IOException if the trace cannot be written
+     */
+    public static synchronized void stop() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the set operations are recorded.
+     *
+     * @return {@code true} if the set operations are recorded
+     */
+    public static boolean isRecording() {
+        return out != null;
+    }
+
+    /**
+     * Returns the fingerprint of the given set, which combines its size and its smallest and greatest element.
+     *
+     * @param set the set to fingerprint
+     * @return the fingerprint of the given set
+     */
+    static int fingerprint(MySet<?> set) {
+        if (set.isEmpty()) {
+            return 0;
+        }
+        return Objects.hash(set.size(), set.min(), set.max());
+    }
+
+    /**
+     * Starts recording a unary or binary operation.
+     *
+     * @param operation the operation
+     * @param predicate the predicate of a subset or {@code null}
+     * @param set       the set the operation is called on
+     * @param other     the second operand or {@code null} for a unary operation
+     * @return the state of the operation or {@code null} if no trace is recorded
+     */
+    static Entry begin(Operation operation, Object predicate, MySet<?> set, MySet<?> other) {
+        if (out == null) {
+            return null;
+        }
+        int count = other == null ? 1 : 2;
+        int[] sizes = new int[count];
+        int[] fingerprints = new int[count];
+        sizes[0] = set.size();
+        fingerprints[0] = fingerprint(set);
+        if (other != null) {
+            sizes[1] = other.size();
+            fingerprints[1] = fingerprint(other);
+        }
+        int identity = predicate == null ? 0 : System.identityHashCode(predicate);
+        return new Entry(operation, identity, sizes, fingerprints, System.nanoTime());
+    }
+
+    /**
+     * Starts recording an operation on the given set and the given other sets.
+     *
+     * @param operation the operation
+     * @param set       the set the operation is called on
+     * @param others    the other operands
+     * @return the state of the operation or {@code null} if no trace is recorded
+     */
+    static Entry begin(Operation operation, MySet<?> set, ListItem<? extends MySet<?>> others) {
+        if (out == null) {
+            return null;
+        }
+        int count = 1;
+        for (ListItem<? extends MySet<?>> current = others; current != null; current = current.next) {
+            count++;
+        }
+        int[] sizes = new int[count];
+        int[] fingerprints = new int[count];
+        sizes[0] = set.size();
+        fingerprints[0] = fingerprint(set);
+        int i = 1;
+        for (ListItem<? extends MySet<?>> current = others; current != null; current = current.next, i++) {
+            sizes[i] = current.key.size();
+            fingerprints[i] = fingerprint(current.key);
+        }
+        return new Entry(operation, 0, sizes, fingerprints, System.nanoTime());
+    }
+
+    /**
+     * Finishes recording an operation and appends its event to the trace.
+     *
+     * @param entry      the state returned by {@code begin} or {@code null} if no trace was recorded
+     * @param resultSize the size of the result
+     * @throws UncheckedIOException if the trace cannot be written
+     */
+    static void end(Entry entry, int resultSize) {
+        if (entry == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - entry.start();
+        synchronized (WorkloadRecorder.class) {
+            if (out == null) {
+                // The recording was stopped while the operation was running
+                return;
+            }
+            try {
+                out.writeByte(entry.operation().ordinal());
+                out.writeInt(entry.predicate());
+                out.writeInt(entry.sizes().length);
+                for (int i = 0; i < entry.sizes().length; i++) {
+                    out.writeInt(entry.sizes()[i]);
+                    out.writeInt(entry.fingerprints()[i]);
+                }
+                out.writeInt(resultSize);
+                out.writeLong(nanos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Reads all events of the given trace.
+     *
+     * @param trace the file containing the trace
+     * @return the events of the trace in the order they were recorded
+     * @throws IOException if the file cannot be read or is not a trace
+     */
+    public static List<Event> read(Path trace) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(trace)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a trace of version " + VERSION + ": " + trace);
+            }
+            List<Event> events = new ArrayList<>();
+            Operation[] operations = Operation.values();
+            while (true) {
+                int operation;
+                try {
+                    operation = in.readByte();
+                } catch (EOFException e) {
+                    return events;
+                }
+                int predicate = in.readInt();
+                int count = in.readInt();
+                int[] sizes = new int[count];
+                int[] fingerprints = new int[count];
+                for (int i = 0; i < count; i++) {
+                    sizes[i] = in.readInt();
+                    fingerprints[i] = in.readInt();
+                }
+                int resultSize = in.readInt();
+                long nanos = in.readLong();
+                events.add(new Event(operations[operation], predicate, sizes, fingerprints, resultSize, nanos));
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package h10;
+
+import h10.OperationStats.Operation;
+import h10.WorkloadRecorder.Event;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Replays a trace recorded by {@link WorkloadRecorder} against an arbitrary {@link MySet} implementation and reports
+ * the latency percentiles of each operation.
+ *
+ * <p>Since a trace does not contain the elements, the operands of each event are synthesized from integers: the first
+ * operand contains the even numbers {@code 0, 2, 4, ...} and every other operand shares an evenly spread selection of
+ * these numbers with it, padded with odd numbers. The number of shared elements is chosen so that an intersection or a
+ * difference yields a result of the recorded size, and the predicate of a subset keeps as many elements as recorded.
+ * Only the execution of the operation is measured, the operands are created beforehand.
+ */
+public final class WorkloadReplay {
+
+    /**
+     * The percentiles reported by {@link Report#toString()}.
+     */
+    public static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /**
+     * The latencies of the replayed operations.
+     */
+    public static final class Report {
+
+        /**
+         * The latencies of each operation in nanoseconds in ascending order.
+         */
+        private final Map<Operation, long[]> latencies;
+
+        /**
+         * Constructs and initializes a new report of the given latencies.
+         *
+         * @param latencies the latencies of each operation in nanoseconds in ascending order
+         */
+        private Report(Map<Operation, long[]> latencies) {
+            this.latencies = latencies;
+        }
+
+        /**
+         * Returns the number of replayed calls of the given operation.
+         *
+         * @param operation the operation to query
+         * @return the number of replayed calls
+         */
+        public int count(Operation operation) {
+            return latencies.get(operation).length;
+        }
+
+        /**
+         * Returns the latency below which the given fraction of the replayed calls of the given operation finished,
+         * using the nearest-rank method.
+         *
+         * @param operation the operation to query
+         * @param quantile  the fraction of calls between {@code 0} and {@code 1}
+         * @return the latency in nanoseconds or {@code 0} if the operation was not replayed
+         */
+        public long percentile(Operation operation, double quantile) {
+            long[] sorted = latencies.get(operation);
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (Operation operation : Operation.values()) {
+                builder.append(operation).append(": count=").append(count(operation));
+                for (double quantile : PERCENTILES) {
+                    String label = BigDecimal.valueOf(quantile).movePointRight(2).stripTrailingZeros().toPlainString();
+                    builder.append(", p").append(label).append('=')
+                        .append(percentile(operation, quantile)).append("ns");
+                }
+                builder.append(", max=").append(percentile(operation, 1)).append("ns").append(System.lineSeparator());
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private WorkloadReplay() {
+    }
+
+    /**
+     * Replays the given events against the sets created by the given factory.
+     *
+     * @param events  the events to replay
+     * @param factory the factory creating a set of the replayed implementation from ordered, distinct elements
+     * @return the latencies of the replayed operations
+     */
+    public static Report replay(List<Event> events, Function<ListItem<Integer>, MySet<Integer>> factory) {
+        Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new long[0]);
+            counts.put(operation, 0);
+        }
+        for (Event event : events) {
+            long nanos = execute(event, factory);
+            Operation operation = event.operation();
+            int count = counts.get(operation);
+            long[] values = latencies.get(operation);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, Math.max(16, 2 * count));
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+        }
+        for (Operation operation : Operation.values()) {
+            long[] values = Arrays.copyOf(latencies.get(operation), counts.get(operation));
+            Arrays.sort(values);
+            latencies.put(operation, values);
+        }
+        return new Report(latencies);
+    }
+
+    /**
+     * Synthesizes the operands of the given event and measures the execution of its operation.
+     *
+     * @param event   the event to replay
+     * @param factory the factory creating the operands
+     * @return the latency of the operation in nanoseconds
+     */
+    private static long execute(Event event, Function<ListItem<Integer>, MySet<Integer>> factory) {
+        int[] sizes = event.sizes();
+        int size = sizes[0];
+        int shared = switch (event.operation()) {
+            case INTERSECTION -> event.resultSize();
+            case DIFFERENCE -> size - event.resultSize();
+            default -> 0;
+        };
+        MySet<Integer> set = factory.apply(first(size));
+        ListItem<MySet<Integer>> others = null;
+        for (int i = sizes.length - 1; i > 0; i--) {
+            ListItem<MySet<Integer>> item = new ListItem<>(factory.apply(other(size, sizes[i], shared)));
+            item.next = others;
+            others = item;
+        }
+        IntPredicate kept = spread(size, event.resultSize());
+        Predicate<Integer> pred = key -> kept.test(key / 2);
+
+        long start = System.nanoTime();
+        switch (event.operation()) {
+            case SUBSET -> set.subset(pred);
+            case DIFFERENCE -> set.difference(others.key);
+            case INTERSECTION -> set.intersection(others);
+            case CARTESIAN_PRODUCT -> set.cartesianProduct(others.key);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Returns a predicate on the positions {@code 0, ..., size - 1} which accepts the given number of evenly spread
+     * positions.
+     *
+     * @param size  the number of positions
+     * @param count the number of accepted positions
+     * @return the predicate accepting evenly spread positions
+     */
+    private static IntPredicate spread(int size, int count) {
+        long accepted = Math.max(0, Math.min(size, count));
+        return position -> (position + 1) * accepted / size > position * accepted / size;
+    }
+
+    /**
+     * Returns the elements of the first operand, which are the first given number of even numbers.
+     *
+     * @param size the number of elements
+     * @return the head of the elements
+     */
+    private static ListItem<Integer> first(int size) {
+        int[] keys = new int[size];
+        Arrays.setAll(keys, i -> 2 * i);
+        return list(keys);
+    }
+
+    /**
+     * Returns the elements of another operand, which shares an evenly spread selection of the given number of elements
+     * with the first operand and is padded with odd numbers.
+     *
+     * @param firstSize the size of the first operand
+     * @param size      the size of the operand
+     * @param shared    the number of elements shared with the first operand
+     * @return the head of the elements
+     */
+    private static ListItem<Integer> other(int firstSize, int size, int shared) {
+        int common = Math.max(0, Math.min(shared, Math.min(firstSize, size)));
+        IntPredicate selected = spread(firstSize, common);
+        int[] keys = new int[size];
+        int count = 0;
+        for (int i = 0; i < firstSize && count < common; i++) {
+            if (selected.test(i)) {
+                keys[count++] = 2 * i;
+            }
+        }
+        for (int i = 0; count < size; i++) {
+            keys[count++] = 2 * i + 1;
+        }
+        Arrays.sort(keys);
+        return list(keys);
+    }
+
+    /**
+     * Returns a new list containing the given keys in the given order.
+     *
+     * @param keys the keys of the list
+     * @return the head of the list
+     */
+    private static ListItem<Integer> list(int[] keys) {
+        ListItem<Integer> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    /**
+     * Replays a trace and prints the latency percentiles.
+     *
+     * <p>Usage: {@code WorkloadReplay <trace> [copy|in-place]}, where the second argument selects the replayed
+     * implementation and defaults to {@code copy}.
+     *
+     * @param args the path of the trace and the optional implementation
+     * @throws IOException if the trace cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: WorkloadReplay <trace> [copy|in-place]");
+            return;
+        }
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        boolean inPlace = args.length > 1 && args[1].equals("in-place");
+        Function<ListItem<Integer>, MySet<Integer>> factory = inPlace
+            ? head -> new MySetInPlace<>(head, cmp, Validation.TRUSTED)
+            : head -> new MySetAsCopy<>(head, cmp, Validation.TRUSTED);
+        System.out.print(replay(WorkloadRecorder.read(Path.of(args[0])), factory));
+    }
+}
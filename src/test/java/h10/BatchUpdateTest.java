@@ -0,0 +1,45 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MySetInPlace#addAll(ListItem)} and {@link MySetInPlace#removeAll(ListItem)}.
+ */
+public class BatchUpdateTest {
+
+    private static ListItem<Integer> list(int... keys) {
+        ListItem<Integer> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @Test
+    public void testAddAll() {
+        MySetInPlace<Integer> set = new MySetInPlace<>(list(2, 4, 6), Comparator.naturalOrder());
+        assertTrue(set.addAll(list(1, 4, 5, 5, 8, 9)));
+        assertEquals("{1 -> 2 -> 4 -> 5 -> 6 -> 8 -> 9 -> null}", set.toString());
+        assertEquals(7, set.size());
+        assertEquals(9, set.max());
+        assertFalse(set.addAll(list(2, 9)));
+    }
+
+    @Test
+    public void testRemoveAll() {
+        MySetInPlace<Integer> set = new MySetInPlace<>(list(1, 2, 4, 6), Comparator.naturalOrder());
+        set.buildIndex();
+        assertTrue(set.removeAll(list(1, 3, 6, 7)));
+        assertEquals("{2 -> 4 -> null}", set.toString());
+        assertEquals(2, set.size());
+        assertEquals(4, set.max());
+        assertFalse(set.contains(6));
+        assertFalse(set.removeAll(list(0, 5)));
+    }
+}
@@ -0,0 +1,95 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FactorizedProduct}.
+ */
+public class FactorizedProductTest {
+
+    private static MySet<Integer> set(int... keys) {
+        ListItem<Integer> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return new MySetAsCopy<>(head, Comparator.naturalOrder());
+    }
+
+    private static String pairs(Iterator<ListItem<Integer>> iterator) {
+        StringBuilder builder = new StringBuilder();
+        while (iterator.hasNext()) {
+            ListItem<Integer> pair = iterator.next();
+            builder.append('(').append(pair.key).append(',').append(pair.next.key).append(')');
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testLargeProductIsNotMaterialized() {
+        int[] keys = new int[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+        }
+        MySet<Integer> set = set(keys);
+        FactorizedProduct<Integer> product = (FactorizedProduct<Integer>) set.cartesianProduct(set);
+        assertEquals(100_000_000L, product.pairCount());
+        MySet<ListItem<Integer>> subset = product.subset(pair -> pair.key == 9_999 && pair.next.key < 2);
+        assertEquals("{{9999 -> 0 -> null} -> {9999 -> 1 -> null} -> null}", subset.toString());
+    }
+
+    @Test
+    public void testDifference() {
+        FactorizedProduct<Integer> product = new FactorizedProduct<>(set(1, 2, 3), set(1, 2));
+        MySet<ListItem<Integer>> difference = product.difference(new FactorizedProduct<>(set(2, 3, 4), set(2, 5)));
+        FactorizedProduct<Integer> result = (FactorizedProduct<Integer>) difference;
+        assertEquals(4, result.pairCount());
+        assertEquals("(1,1)(1,2)(2,1)(3,1)", pairs(result.iterator()));
+    }
+
+    @Test
+    public void testIntersection() {
+        FactorizedProduct<Integer> product = new FactorizedProduct<>(set(1, 2, 3), set(1, 2));
+        MySet<ListItem<Integer>> intersection = product.intersection(new ListItem<>(
+            new FactorizedProduct<>(set(2, 3, 4), set(2, 5))));
+        FactorizedProduct<Integer> result = (FactorizedProduct<Integer>) intersection;
+        assertEquals("(2,2)(3,2)", pairs(result.iterator()));
+    }
+
+    @Test
+    public void testFactorsAreSnapshotted() {
+        ListItemRecycler.enable();
+        try {
+            MySet<Integer> first = new MySetInPlace<>(set(1, 2).head(), Comparator.naturalOrder());
+            MySetInPlace<Integer> second = new MySetInPlace<>(set(3, 4, 5).head(), Comparator.naturalOrder());
+            FactorizedProduct<Integer> product = (FactorizedProduct<Integer>) first.cartesianProduct(second);
+            second.addAll(set(6, 7, 8, 9).head());
+            first.subset(x -> false);
+            assertEquals(6, product.size());
+            assertEquals("(1,3)(1,4)(1,5)(2,3)(2,4)(2,5)", pairs(product.iterator()));
+        } finally {
+            ListItemRecycler.disable();
+        }
+    }
+
+    @Test
+    public void testBounds() {
+        MySet<ListItem<Integer>> difference = new FactorizedProduct<>(set(1, 2, 3), set(1, 2))
+            .difference(new FactorizedProduct<>(set(1), set(1, 2)));
+        FactorizedProduct<Integer> product = (FactorizedProduct<Integer>) difference;
+        assertEquals("(2,1)(2,2)(3,1)(3,2)", pairs(product.iterator()));
+        assertEquals(2, product.min().key);
+        assertEquals(1, product.min().next.key);
+        assertEquals(3, product.max().key);
+        assertEquals(2, product.max().next.key);
+        assertTrue(product.intersection(new FactorizedProduct<>(set(4), set(1))).isEmpty());
+        assertThrows(NoSuchElementException.class, () -> new FactorizedProduct<>(set(), set(1)).min());
+    }
+}
@@ -0,0 +1,128 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Finger}.
+ */
+public class FingerTest {
+
+    private static ListItem<Integer> list(int size, int step) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(i * step);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @Test
+    public void testMonotoneLookups() {
+        AtomicInteger comparisons = new AtomicInteger();
+        Comparator<Integer> cmp = (a, b) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(a, b);
+        };
+        MySet<Integer> set = new MySetAsCopy<>(list(100_000, 2), cmp, Validation.STRICT);
+        comparisons.set(0);
+        Finger<Integer> finger = set.finger();
+        int hits = 0;
+        for (int key = 0; key < 200_000; key += 101) {
+            if (finger.contains(key)) {
+                hits++;
+            }
+        }
+        assertEquals(991, hits);
+        assertTrue(comparisons.get() < 100_000, "comparisons: " + comparisons.get());
+    }
+
+    @Test
+    public void testBackwardLookups() {
+        MySet<Integer> set = new MySetAsCopy<>(list(100, 3), Comparator.naturalOrder());
+        Finger<Integer> finger = set.finger();
+        assertTrue(finger.contains(150));
+        assertTrue(finger.contains(3));
+        assertFalse(finger.contains(4));
+        assertEquals(6, finger.ceiling(4).key);
+        assertEquals(3, finger.predecessor().key);
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        MySet<Integer> set = new MySetInPlace<>(list(3, 2), Comparator.naturalOrder());
+        Finger<Integer> finger = set.finger();
+        finger.moveTo(1);
+        finger.insert(new ListItem<>(1));
+        finger.moveTo(5);
+        finger.insert(new ListItem<>(5));
+        assertEquals("{0 -> 1 -> 2 -> 4 -> 5 -> null}", set.toString());
+        assertEquals(5, set.size());
+        finger.moveTo(0);
+        finger.remove();
+        assertEquals("{1 -> 2 -> 4 -> 5 -> null}", set.toString());
+        assertEquals(1, set.min());
+        assertEquals(5, set.max());
+    }
+
+    @Test
+    public void testIndexedLookups() {
+        MySet<Integer> set = new MySetInPlace<>(list(10_000, 2), Comparator.naturalOrder(), Validation.STRICT);
+        set.buildIndex();
+        Finger<Integer> finger = set.finger();
+        assertTrue(finger.contains(1000));
+        assertFalse(finger.contains(15_001));
+        assertEquals(15_002, finger.item().key);
+        assertEquals(15_000, finger.predecessor().key);
+        finger.insert(new ListItem<>(15_001));
+        assertTrue(finger.contains(19_998));
+        assertEquals(10_001, set.size());
+        assertEquals(7502, set.rank(15_002));
+    }
+
+    @Test
+    public void testViewFingerStaysInRange() {
+        MySet<Integer> backing = new MySetInPlace<>(list(100, 3), Comparator.naturalOrder());
+        Finger<Integer> finger = backing.subSet(30, 60).finger();
+        assertTrue(finger.isReadOnly());
+        assertEquals(30, finger.item().key);
+        assertFalse(finger.contains(27));
+        assertTrue(finger.contains(57));
+        assertFalse(finger.contains(60));
+        assertNull(finger.ceiling(58));
+        assertTrue(finger.isExhausted());
+        assertTrue(finger.contains(33));
+        assertEquals(36, finger.ceiling(34).key);
+        assertThrows(UnsupportedOperationException.class, () -> finger.insert(new ListItem<>(35)));
+        assertThrows(UnsupportedOperationException.class, finger::remove);
+        assertEquals(100, backing.size());
+        assertEquals(36, finger.item().key);
+    }
+
+    @Test
+    public void testReadOnlyFingers() {
+        List<MySet<Integer>> sets = List.of(
+            new MySetFrozen<>(list(100, 3), Comparator.naturalOrder()),
+            new MySetAsBitmap(list(100, 3)),
+            new MySetAsCopy<>(list(200, 3), Comparator.naturalOrder()).subSet(0, 300)
+        );
+        for (MySet<Integer> set : sets) {
+            Finger<Integer> finger = set.finger();
+            assertTrue(finger.isReadOnly());
+            assertTrue(finger.contains(150));
+            assertTrue(finger.contains(3));
+            assertFalse(finger.contains(4));
+            assertEquals(6, finger.ceiling(4).key);
+            assertFalse(finger.contains(300));
+            assertThrows(UnsupportedOperationException.class, finger::remove);
+            assertEquals(100, set.size());
+        }
+        assertFalse(new MySetInPlace<>(list(10, 1), Comparator.naturalOrder()).finger().isReadOnly());
+    }
+}
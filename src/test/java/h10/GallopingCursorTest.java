@@ -0,0 +1,112 @@
+package h10;
+
+import h10.OperationStats.Operation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link GallopingCursor} and the adaptive intersection built on it.
+ */
+public class GallopingCursorTest {
+
+    private static ListItem<Integer> list(int size, int step, int offset) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(offset + i * step);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    private static long intersectionComparisons(MySet<Integer> set, MySet<Integer> other, int expectedSize) {
+        OperationStats.reset();
+        MySet<Integer> result = set.intersection(new ListItem<>(other));
+        assertEquals(expectedSize, result.size());
+        return OperationStats.comparisons(Operation.INTERSECTION);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        OperationStats.reset();
+        OperationStats.enable();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        OperationStats.disable();
+        OperationStats.reset();
+    }
+
+    @Test
+    public void testLongDistancesSwitchToGalloping() {
+        AtomicInteger comparisons = new AtomicInteger();
+        Comparator<Integer> cmp = (a, b) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(a, b);
+        };
+        GallopingCursor<Integer> cursor = new GallopingCursor<>(list(1_000_000, 1, 0), cmp);
+        for (int key = 0; key < 1_000_000; key += 20_000) {
+            assertEquals(0, cursor.seek(key));
+        }
+        assertEquals(1, cursor.minGallop);
+        assertTrue(comparisons.get() < 50 * 50, "comparisons: " + comparisons.get());
+    }
+
+    @Test
+    public void testShortDistancesStayLinear() {
+        AtomicInteger comparisons = new AtomicInteger();
+        Comparator<Integer> cmp = (a, b) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(a, b);
+        };
+        GallopingCursor<Integer> cursor = new GallopingCursor<>(list(10_000, 2, 0), cmp);
+        for (int key = 1; key < 20_000; key += 3) {
+            cursor.seek(key);
+        }
+        assertTrue(cursor.minGallop >= GallopingCursor.MIN_GALLOP, "minGallop: " + cursor.minGallop);
+        assertTrue(comparisons.get() <= 2 * 10_000, "comparisons: " + comparisons.get());
+    }
+
+    @Test
+    public void testSkewedIntersectionGallops() {
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        for (BiFunction<ListItem<Integer>, Validation, MySet<Integer>> factory : factories(cmp)) {
+            MySet<Integer> small = factory.apply(list(50, 20_000, 0), Validation.STRICT);
+            MySet<Integer> large = factory.apply(list(1_000_000, 1, 0), Validation.STRICT);
+            assertTrue(intersectionComparisons(small, large, 50) < 5_000);
+
+            small = factory.apply(list(50, 20_000, 0), Validation.STRICT);
+            large = factory.apply(list(1_000_000, 1, 0), Validation.STRICT);
+            assertTrue(intersectionComparisons(large, small, 50) < 5_000);
+        }
+    }
+
+    @Test
+    public void testBalancedIntersectionMergesInLockstep() {
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        for (BiFunction<ListItem<Integer>, Validation, MySet<Integer>> factory : factories(cmp)) {
+            MySet<Integer> set = factory.apply(list(10_000, 2, 0), Validation.STRICT);
+            MySet<Integer> other = factory.apply(list(10_000, 3, 0), Validation.STRICT);
+            long comparisons = intersectionComparisons(set, other, 3334);
+            // Each list item is compared at most twice, as in a merge stepping both lists in lockstep
+            assertTrue(comparisons <= 2 * 20_000, "comparisons: " + comparisons);
+            assertTrue(comparisons >= 10_000, "comparisons: " + comparisons);
+        }
+    }
+
+    private static List<BiFunction<ListItem<Integer>, Validation, MySet<Integer>>> factories(Comparator<Integer> cmp) {
+        return List.of(
+            (head, validation) -> new MySetAsCopy<>(head, cmp, validation),
+            (head, validation) -> new MySetInPlace<>(head, cmp, validation)
+        );
+    }
+}
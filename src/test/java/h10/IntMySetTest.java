@@ -0,0 +1,52 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IntMySet} and its implementations.
+ */
+public class IntMySetTest {
+
+    @Test
+    public void testDifferenceAsCopy() {
+        IntMySet set = new IntMySetAsCopy(1, 2, 3, 4, 5);
+        IntMySet result = set.difference(new IntMySetAsCopy(0, 2, 4, 9));
+        assertArrayEquals(new int[]{1, 3, 5}, result.toArray());
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, set.toArray());
+    }
+
+    @Test
+    public void testIntersectionInPlace() {
+        int[] keys = {1, 2, 3, 4, 5, 6};
+        IntMySet set = new IntMySetInPlace(keys);
+        IntMySet result = set.intersection(new IntMySetAsCopy(2, 4, 6, 8), new IntMySetAsCopy(4, 6));
+        assertArrayEquals(new int[]{4, 6}, result.toArray());
+        assertArrayEquals(new int[]{4, 6}, set.toArray());
+        assertEquals(4, keys[0]);
+    }
+
+    @Test
+    public void testSubset() {
+        IntMySet set = new IntMySetInPlace(-3, -2, -1, 0, 1, 2, 3);
+        assertArrayEquals(new int[]{-2, 0, 2}, set.subset(x -> x % 2 == 0).toArray());
+    }
+
+    @Test
+    public void testCartesianProductKeepsLexicographicOrder() {
+        LongMySet product = new IntMySetAsCopy(-1, 1).cartesianProduct(new IntMySetAsCopy(-2, 2));
+        long[] pairs = product.toArray();
+        assertEquals(4, pairs.length);
+        assertEquals(-1, IntMySet.first(pairs[0]));
+        assertEquals(-2, IntMySet.second(pairs[0]));
+        assertEquals(1, IntMySet.first(pairs[3]));
+        assertEquals(2, IntMySet.second(pairs[3]));
+    }
+
+    @Test
+    public void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new LongMySetAsCopy(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> new LongMySetInPlace(2, 2));
+    }
+}
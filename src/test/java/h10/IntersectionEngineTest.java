@@ -0,0 +1,115 @@
+package h10;
+
+import h10.OperationStats.Operation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IntersectionEngine}.
+ */
+public class IntersectionEngineTest {
+
+    private static final int SIZE = 500_000;
+
+    private static ListItem<Integer> list(int size, int step, int offset) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(offset + i * step);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    private static ListItem<Integer> append(ListItem<Integer> head, int key) {
+        ListItem<Integer> current = head;
+        while (current.next != null) {
+            current = current.next;
+        }
+        current.next = new ListItem<>(key);
+        return head;
+    }
+
+    private static <T> ListItem<MySet<T>> others(MySet<T> first, MySet<T> second) {
+        ListItem<MySet<T>> others = new ListItem<>(first);
+        others.next = new ListItem<>(second);
+        return others;
+    }
+
+    private static void assertKeys(ListItem<Integer> expected, ListItem<Integer> actual) {
+        for (; expected != null && actual != null; expected = expected.next, actual = actual.next) {
+            assertEquals(expected.key, actual.key);
+        }
+        assertNull(expected);
+        assertNull(actual);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        OperationStats.reset();
+        OperationStats.enable();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        OperationStats.disable();
+        OperationStats.reset();
+    }
+
+    /**
+     * The even and the odd keys only share their last key, so intersecting them in the given order compares every
+     * key. Ranking the lists by their cardinality takes the candidates from the one-element set instead.
+     */
+    @Test
+    public void testSmallSetLastIsProbedFirst() {
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        int last = 2 * SIZE;
+        MySet<Integer> evens = new MySetAsCopy<>(list(SIZE + 1, 2, 0), cmp, Validation.STRICT);
+        MySet<Integer> odds = new MySetAsCopy<>(append(list(SIZE, 2, 1), last), cmp, Validation.STRICT);
+        MySet<Integer> single = new MySetAsCopy<>(new ListItem<>(last), cmp, Validation.STRICT);
+
+        MySet<Integer> result = evens.intersection(others(odds, single));
+        assertTrue(OperationStats.comparisons(Operation.INTERSECTION) < 200);
+
+        OperationStats.disable();
+        MySet<Integer> expected = evens.intersection(new ListItem<>(odds)).intersection(new ListItem<>(single));
+        assertKeys(expected.head(), result.head());
+        assertKeys(new ListItem<>(last), result.head());
+    }
+
+    @Test
+    public void testEmptySetLastEndsImmediately() {
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        MySet<Integer> evens = new MySetAsCopy<>(list(SIZE, 2, 0), cmp, Validation.STRICT);
+        MySet<Integer> odds = new MySetAsCopy<>(list(SIZE, 2, 1), cmp, Validation.STRICT);
+        MySet<Integer> empty = new MySetAsCopy<>(null, cmp, Validation.STRICT);
+
+        MySet<Integer> result = evens.intersection(others(odds, empty));
+        assertEquals(0, OperationStats.comparisons(Operation.INTERSECTION));
+        assertNull(result.head());
+    }
+
+    @Test
+    public void testInPlaceResultKeepsListItemsOfCallerSet() {
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        int last = 2 * SIZE;
+        ListItem<Integer> evenItems = list(SIZE + 1, 2, 0);
+        ListItem<Integer> lastItem = evenItems;
+        while (lastItem.next != null) {
+            lastItem = lastItem.next;
+        }
+        MySet<Integer> evens = new MySetInPlace<>(evenItems, cmp, Validation.STRICT);
+        MySet<Integer> odds = new MySetInPlace<>(append(list(SIZE, 2, 1), last), cmp, Validation.STRICT);
+        MySet<Integer> single = new MySetInPlace<>(new ListItem<>(last), cmp, Validation.STRICT);
+
+        MySet<Integer> result = evens.intersection(others(odds, single));
+        assertTrue(OperationStats.comparisons(Operation.INTERSECTION) < 200);
+        assertSame(lastItem, result.head());
+        assertNull(result.head().next);
+    }
+}
@@ -0,0 +1,76 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link KeyOrder}.
+ */
+public class KeyOrderTest {
+
+    private static ListItem<Integer> list(int size, int step) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(i * step);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @Test
+    public void testDetection() {
+        assertEquals(KeyOrder.INTEGER, KeyOrder.of(Comparator.naturalOrder(), 1));
+        assertEquals(KeyOrder.LONG, KeyOrder.of(Comparator.naturalOrder(), 1L));
+        assertEquals(KeyOrder.NATURAL, KeyOrder.of(Comparator.naturalOrder(), "a"));
+        assertEquals(KeyOrder.NATURAL, KeyOrder.of(Comparator.naturalOrder(), null));
+        assertEquals(KeyOrder.GENERIC, KeyOrder.of(Comparator.<Integer>reverseOrder(), 1));
+        assertEquals(KeyOrder.INTEGER, new MySetAsCopy<>(list(3, 1), Comparator.naturalOrder()).keyOrder);
+    }
+
+    @Test
+    public void testSpecializedOperationsMatchGeneric() {
+        Comparator<Integer> generic = Integer::compare;
+        MySet<Integer> natural = new MySetAsCopy<>(list(1000, 2), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(1000, 3), Comparator.naturalOrder());
+        MySet<Integer> naturalGeneric = new MySetAsCopy<>(list(1000, 2), generic);
+        MySet<Integer> otherGeneric = new MySetAsCopy<>(list(1000, 3), generic);
+        assertEquals(naturalGeneric.difference(otherGeneric).toString(), natural.difference(other).toString());
+        assertEquals(naturalGeneric.intersection(otherGeneric).toString(), natural.intersection(other).toString());
+        assertEquals(naturalGeneric.union(otherGeneric).toString(), natural.union(other).toString());
+    }
+
+    @Test
+    public void testNaturalOrderOfStrings() {
+        ListItem<String> head = new ListItem<>("a");
+        head.next = new ListItem<>("c");
+        MySet<String> set = new MySetInPlace<>(head, Comparator.naturalOrder());
+        MySet<String> other = new MySetAsCopy<>(new ListItem<>("c"), Comparator.naturalOrder());
+        assertEquals(KeyOrder.NATURAL, set.keyOrder);
+        assertEquals("{a -> null}", set.difference(other).toString());
+    }
+
+    @Test
+    public void testDetectionOnFirstElement() {
+        MySetInPlace<Integer> set = new MySetInPlace<>(null, Comparator.naturalOrder());
+        assertEquals(KeyOrder.NATURAL, set.keyOrder);
+        set.addAll(list(3, 1));
+        assertEquals(KeyOrder.INTEGER, set.keyOrder);
+        assertEquals("{0 -> 1 -> 2 -> null}", set.toString());
+
+        MySetInPlace<Long> longs = new MySetInPlace<>(null, Comparator.naturalOrder());
+        longs.finger().insert(new ListItem<>(5L));
+        assertEquals(KeyOrder.LONG, longs.keyOrder);
+    }
+
+    @Test
+    public void testViewsUseOrderOfBackingSet() {
+        MySet<Integer> set = new MySetAsCopy<>(list(10, 1), Comparator.naturalOrder());
+        assertEquals(KeyOrder.INTEGER, set.subSet(2, 5).keyOrder);
+        assertEquals(KeyOrder.INTEGER, set.subSet(20, 30).keyOrder);
+        assertEquals(KeyOrder.INTEGER, new MySetAsBitmap(null, Validation.TRUSTED).keyOrder);
+    }
+}
@@ -0,0 +1,175 @@
+package h10;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ListItemRecycler}.
+ */
+public class ListItemRecyclerTest {
+
+    private static ListItem<Integer> list(int size, int step) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(i * step);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    private static void assertKeys(MySet<Integer> set, int size, int step) {
+        assertKeys(set, size, step, 0);
+    }
+
+    private static void assertKeys(MySet<Integer> set, int size, int step, int first) {
+        assertEquals(size, set.size());
+        ListItem<Integer> current = set.head();
+        for (int i = 0; i < size; i++, current = current.next) {
+            assertEquals(first + i * step, current.key);
+        }
+        assertNull(current);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ListItemRecycler.reset();
+        ListItemRecycler.enable();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ListItemRecycler.disable();
+        ListItemRecycler.reset();
+    }
+
+    @Test
+    public void testReleaseAndReuse() {
+        int pooled = ListItemRecycler.pooled();
+        ListItem<Integer> head = list(100, 1);
+        ListItem<Integer> dropped = head.next;
+        MySet<Integer> set = new MySetInPlace<>(head, Comparator.naturalOrder());
+
+        assertKeys(set.subset(x -> x % 2 == 0), 50, 2);
+        assertEquals(50, ListItemRecycler.recycled() + ListItemRecycler.discarded());
+        assertEquals(Math.min(ListItemRecycler.CAPACITY, pooled + 50), ListItemRecycler.pooled());
+        assertNull(dropped.key);
+        assertNull(dropped.next);
+
+        pooled = ListItemRecycler.pooled();
+        MySet<Integer> copy = new MySetAsCopy<>(list(30, 3), Comparator.naturalOrder());
+        assertKeys(copy.subset(x -> true), 30, 3);
+        assertEquals(30, ListItemRecycler.reused());
+        assertEquals(0, ListItemRecycler.allocated());
+        assertEquals(pooled - 30, ListItemRecycler.pooled());
+    }
+
+    @Test
+    public void testIntersectionReleasesUnmatched() {
+        MySet<Integer> set = new MySetInPlace<>(list(100, 1), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(50, 2), Comparator.naturalOrder());
+
+        MySet<Integer> result = set.intersection(new ListItem<>(other.subSet(10, 20)));
+        assertEquals(5, result.size());
+        assertEquals(10, result.min());
+        assertEquals(18, result.max());
+        assertEquals(95, ListItemRecycler.recycled() + ListItemRecycler.discarded());
+        assertKeys(other, 50, 2);
+    }
+
+    @Test
+    public void testCapacity() {
+        int size = ListItemRecycler.CAPACITY + 10;
+        MySet<Integer> set = new MySetInPlace<>(list(size, 1), Comparator.naturalOrder());
+        assertTrue(set.difference(set).isEmpty());
+        assertEquals(size, ListItemRecycler.recycled() + ListItemRecycler.discarded());
+        assertTrue(ListItemRecycler.discarded() >= 10);
+        assertEquals(ListItemRecycler.CAPACITY, ListItemRecycler.pooled());
+
+        MySet<Integer> copy = new MySetAsCopy<>(list(ListItemRecycler.CAPACITY, 1), Comparator.naturalOrder());
+        assertEquals(ListItemRecycler.CAPACITY, copy.subset(x -> true).size());
+        assertEquals(0, ListItemRecycler.pooled());
+    }
+
+    @Test
+    public void testDisabled() {
+        ListItemRecycler.disable();
+        ListItem<Integer> head = list(10, 1);
+        ListItem<Integer> dropped = head.next;
+        MySet<Integer> set = new MySetInPlace<>(head, Comparator.naturalOrder());
+        set.subset(x -> x % 2 == 0);
+        new MySetAsCopy<>(list(10, 1), Comparator.naturalOrder()).subset(x -> true);
+
+        assertEquals(1, dropped.key);
+        assertEquals(0, ListItemRecycler.recycled());
+        assertEquals(0, ListItemRecycler.reused());
+        assertEquals(0, ListItemRecycler.allocated());
+    }
+
+    @Test
+    public void testSharedListItemsAreNotRecycled() {
+        MySet<Integer> backing = new MySetInPlace<>(list(100, 1), Comparator.naturalOrder());
+        MySet<Integer> view = backing.subSet(10, 20);
+        MySet<Integer> set = new MySetInPlace<>(list(50, 2), Comparator.naturalOrder());
+        assertKeys(set.intersection(new ListItem<>(view)), 5, 2, 10);
+        assertKeys(backing, 100, 1, 0);
+
+        MySet<Integer> frozen = new MySetFrozen<>(list(10, 3), Comparator.naturalOrder());
+        MySet<Integer> shared = frozen.subset(x -> x > 20);
+        set = new MySetInPlace<>(list(10, 1), Comparator.naturalOrder());
+        MySet<Integer> merged = set.symmetricDifference(shared);
+        assertTrue(merged.subset(x -> x < 0).isEmpty());
+        assertKeys(frozen, 10, 3, 0);
+        assertKeys(shared, 3, 3, 21);
+
+        MySet<Integer> factor = new MySetInPlace<>(list(10, 1), Comparator.naturalOrder());
+        MySet<ListItem<Integer>> product = factor.cartesianProduct(factor);
+        assertTrue(factor.difference(factor).isEmpty());
+        assertEquals(100, product.size());
+        assertEquals(9, product.max().next.key);
+    }
+
+    @Test
+    public void testParallelSubset() {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            MySet<Integer> set = new MySetInPlace<>(list(10_000, 1), Comparator.naturalOrder(), Validation.STRICT);
+            assertKeys(set.parallelSubset(x -> x % 2 == 0, forkJoinPool), 5_000, 2);
+            assertEquals(5_000, ListItemRecycler.recycled() + ListItemRecycler.discarded());
+
+            MySet<Integer> copy = new MySetAsCopy<>(list(10_000, 1), Comparator.naturalOrder(), Validation.STRICT);
+            assertKeys(copy.parallelSubset(x -> x % 2 == 0, forkJoinPool), 5_000, 2);
+            assertEquals(5_000, ListItemRecycler.reused() + ListItemRecycler.allocated());
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelMerge() {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            MySet<Integer> set = new MySetInPlace<>(list(10_000, 1), Comparator.naturalOrder(), Validation.STRICT);
+            MySet<Integer> other = new MySetAsCopy<>(list(5_000, 2), Comparator.naturalOrder(), Validation.STRICT);
+            assertKeys(set.parallelDifference(other, forkJoinPool), 5_000, 2, 1);
+            assertEquals(5_000, ListItemRecycler.recycled() + ListItemRecycler.discarded());
+
+            ListItemRecycler.reset();
+            set = new MySetInPlace<>(list(10_000, 1), Comparator.naturalOrder(), Validation.STRICT);
+            assertKeys(set.parallelIntersection(new ListItem<>(other), forkJoinPool), 5_000, 2);
+            assertEquals(5_000, ListItemRecycler.recycled() + ListItemRecycler.discarded());
+
+            MySet<Integer> copy = new MySetAsCopy<>(list(10_000, 1), Comparator.naturalOrder(), Validation.STRICT);
+            assertKeys(copy.parallelIntersection(new ListItem<>(other), forkJoinPool), 5_000, 2);
+            assertEquals(Math.min(ListItemRecycler.CAPACITY, 5_000), ListItemRecycler.reused());
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ListItemSpliterator}.
+ */
+public class ListItemSpliteratorTest {
+
+    private static ListItem<Integer> list(int size) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(i);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @Test
+    public void testCharacteristics() {
+        MySet<Integer> set = new MySetAsCopy<>(list(100), Comparator.naturalOrder());
+        Spliterator<Integer> spliterator = set.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SORTED | Spliterator.DISTINCT));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertFalse(spliterator.hasCharacteristics(Spliterator.NONNULL));
+        assertNull(spliterator.getComparator());
+        assertEquals(100, spliterator.getExactSizeIfKnown());
+        Comparator<Integer> reversed = Comparator.reverseOrder();
+        assertSame(reversed, new MySetAsCopy<>(new ListItem<>(1), reversed).spliterator().getComparator());
+        assertFalse(new ListItemSpliterator<>(list(100)).hasCharacteristics(Spliterator.SORTED));
+    }
+
+    @Test
+    public void testSplit() {
+        MySet<Integer> set = new MySetAsCopy<>(list(1001), Comparator.naturalOrder());
+        Spliterator<Integer> suffix = set.spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(500, prefix.estimateSize());
+        assertEquals(501, suffix.estimateSize());
+        assertTrue(suffix.tryAdvance(key -> assertEquals(500, key)));
+        assertEquals(500_500L, StreamSupport.stream(set.spliterator(), true).mapToLong(Integer::longValue).sum());
+    }
+
+    @Test
+    public void testNullElement() {
+        ListItem<Integer> head = new ListItem<>(null);
+        head.next = list(3);
+        MySet<Integer> set = new MySetAsCopy<>(head, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()));
+        assertEquals(4, StreamSupport.stream(set.spliterator(), false).distinct().count());
+        assertEquals(1, StreamSupport.stream(set.spliterator(), false).filter(key -> key == null).count());
+    }
+}
@@ -0,0 +1,134 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LongMySet} and its implementations.
+ */
+public class LongMySetTest {
+
+    private static final long BIG = 1L << 40;
+
+    private static final long[] KEYS = {
+        Long.MIN_VALUE, -BIG, Integer.MIN_VALUE - 1L, -1, 0, 1, Integer.MAX_VALUE + 1L, BIG, Long.MAX_VALUE,
+    };
+
+    private static final List<Function<long[], LongMySet>> FACTORIES =
+        List.of(LongMySetAsCopy::new, LongMySetInPlace::new);
+
+    @Test
+    public void testSubset() {
+        for (Function<long[], LongMySet> factory : FACTORIES) {
+            LongMySet set = factory.apply(KEYS.clone());
+            LongMySet result = set.subset(x -> x < Integer.MIN_VALUE || x > Integer.MAX_VALUE);
+            assertArrayEquals(
+                new long[]{Long.MIN_VALUE, -BIG, Integer.MIN_VALUE - 1L, Integer.MAX_VALUE + 1L, BIG, Long.MAX_VALUE},
+                result.toArray()
+            );
+        }
+    }
+
+    @Test
+    public void testDifferenceAsCopy() {
+        long[] keys = KEYS.clone();
+        LongMySet set = new LongMySetAsCopy(keys);
+        LongMySet result = set.difference(new LongMySetAsCopy(Long.MIN_VALUE, -BIG + 1, 0, BIG, Long.MAX_VALUE));
+        assertArrayEquals(
+            new long[]{-BIG, Integer.MIN_VALUE - 1L, -1, 1, Integer.MAX_VALUE + 1L},
+            result.toArray()
+        );
+        assertArrayEquals(KEYS, set.toArray());
+        assertArrayEquals(KEYS, keys);
+    }
+
+    @Test
+    public void testDifferenceInPlace() {
+        long[] keys = KEYS.clone();
+        LongMySet set = new LongMySetInPlace(keys);
+        LongMySet result = set.difference(new LongMySetInPlace(Long.MIN_VALUE, -BIG + 1, 0, BIG, Long.MAX_VALUE));
+        long[] expected = {-BIG, Integer.MIN_VALUE - 1L, -1, 1, Integer.MAX_VALUE + 1L};
+        assertArrayEquals(expected, result.toArray());
+        assertArrayEquals(expected, set.toArray());
+        assertEquals(-BIG, keys[0]);
+    }
+
+    @Test
+    public void testIntersection() {
+        for (Function<long[], LongMySet> factory : FACTORIES) {
+            long[] keys = KEYS.clone();
+            LongMySet set = factory.apply(keys);
+            LongMySet result = set.intersection(
+                factory.apply(new long[]{Long.MIN_VALUE, -BIG, 0, Integer.MAX_VALUE + 1L, Long.MAX_VALUE}),
+                factory.apply(new long[]{Long.MIN_VALUE, 0, 2, Integer.MAX_VALUE + 1L}),
+                factory.apply(new long[]{Long.MIN_VALUE, Integer.MIN_VALUE, 0, 1, Integer.MAX_VALUE + 1L, BIG})
+            );
+            long[] expected = {Long.MIN_VALUE, 0, Integer.MAX_VALUE + 1L};
+            assertArrayEquals(expected, result.toArray());
+            if (set instanceof LongMySetInPlace) {
+                assertArrayEquals(expected, set.toArray());
+                assertEquals(0, keys[1]);
+            } else {
+                assertArrayEquals(KEYS, set.toArray());
+                assertArrayEquals(KEYS, keys);
+            }
+        }
+    }
+
+    @Test
+    public void testIntersectionSkewed() {
+        long[] large = new long[100_000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = Integer.MAX_VALUE + (long) i * 3;
+        }
+        for (Function<long[], LongMySet> factory : FACTORIES) {
+            LongMySet set = factory.apply(large.clone());
+            LongMySet result = set.intersection(factory.apply(new long[]{Integer.MAX_VALUE, large[50_000], BIG}));
+            assertArrayEquals(new long[]{Integer.MAX_VALUE, large[50_000]}, result.toArray());
+        }
+    }
+
+    @Test
+    public void testOperationsOnCartesianProduct() {
+        IntMySet set = new IntMySetAsCopy(Integer.MIN_VALUE, 0, Integer.MAX_VALUE);
+        LongMySet product = set.cartesianProduct(set);
+        assertEquals(9, product.size());
+        for (int i = 0; i + 1 < product.size(); i++) {
+            assertTrue(product.get(i) < product.get(i + 1));
+        }
+        long[] pairs = product.toArray();
+
+        LongMySet corners = product.subset(pair ->
+            IntMySet.first(pair) != 0 && IntMySet.second(pair) != 0);
+        assertEquals(4, corners.size());
+        assertEquals(IntMySet.pair(Integer.MIN_VALUE, Integer.MIN_VALUE), corners.get(0));
+        assertEquals(IntMySet.pair(Integer.MAX_VALUE, Integer.MAX_VALUE), corners.get(3));
+
+        LongMySet inner = new LongMySetInPlace(pairs.clone()).difference(corners);
+        assertEquals(5, inner.size());
+        assertFalse(inner.contains(IntMySet.pair(Integer.MIN_VALUE, Integer.MAX_VALUE)));
+        assertTrue(inner.contains(IntMySet.pair(0, Integer.MIN_VALUE)));
+
+        LongMySet diagonal = new LongMySetAsCopy(
+            IntMySet.pair(Integer.MIN_VALUE, Integer.MIN_VALUE),
+            IntMySet.pair(0, 0),
+            IntMySet.pair(Integer.MAX_VALUE, Integer.MAX_VALUE)
+        );
+        assertArrayEquals(
+            new long[]{IntMySet.pair(0, 0)},
+            new LongMySetInPlace(pairs.clone()).intersection(inner, diagonal).toArray()
+        );
+        assertArrayEquals(pairs, product.toArray());
+    }
+
+    @Test
+    public void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new LongMySetAsCopy(Long.MAX_VALUE, Long.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new LongMySetInPlace(BIG, BIG));
+        assertEquals(2, new LongMySetAsCopy(new long[]{-BIG, BIG, 0}, 2, Validation.STRICT).size());
+    }
+}
@@ -0,0 +1,93 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MySetAsBitmap}.
+ */
+public class MySetAsBitmapTest {
+
+    private static ListItem<Integer> list(int[] keys) {
+        ListItem<Integer> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    private static int[] range(int from, int to, int step) {
+        return IntStream.iterate(from, i -> i < to, i -> i + step).toArray();
+    }
+
+    @Test
+    public void testConversion() {
+        int[] keys = range(-100_000, 100_000, 3);
+        MySetAsBitmap set = new MySetAsBitmap(list(keys));
+        assertArrayEquals(keys, new MySetAsBitmap(set.toListItems()).toArray());
+        assertArrayEquals(keys, set.toArray());
+        assertTrue(set.contains(-99_997));
+        assertFalse(set.contains(-99_998));
+    }
+
+    @Test
+    public void testDifference() {
+        MySetAsBitmap set = new MySetAsBitmap(list(range(0, 100_000, 1)));
+        MySet<Integer> result = set.difference(new MySetAsBitmap(list(range(0, 100_000, 2))));
+        assertArrayEquals(range(1, 100_000, 2), MySetAsBitmap.of(result).toArray());
+    }
+
+    @Test
+    public void testIntersectionWithListBasedSet() {
+        MySetAsBitmap set = new MySetAsBitmap(list(range(0, 10_000, 2)));
+        MySet<Integer> other = new MySetAsCopy<>(list(range(0, 10_000, 3)), Comparator.naturalOrder());
+        MySet<Integer> result = set.intersection(other);
+        assertArrayEquals(range(0, 10_000, 6), MySetAsBitmap.of(result).toArray());
+    }
+
+    @Test
+    public void testSubset() {
+        MySetAsBitmap set = new MySetAsBitmap(list(range(0, 70_000, 1)));
+        assertArrayEquals(range(0, 70_000, 5), MySetAsBitmap.of(set.subset(x -> x % 5 == 0)).toArray());
+    }
+
+    @Test
+    public void testBoundsFromContainers() {
+        int[][] keySets = {
+            range(-100_000, 100_000, 3),
+            range(-70_000, 70_000, 1),
+            range(-1_000_000, 1_000_000, 997),
+            {Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE},
+        };
+        for (int[] keys : keySets) {
+            MySetAsBitmap set = new MySetAsBitmap(list(keys));
+            assertEquals(keys[0], set.min());
+            assertEquals(keys[keys.length - 1], set.max());
+            assertEquals(keys[keys.length - 1], set.tail().key);
+            assertFalse(set.isEmpty());
+        }
+        MySetAsBitmap empty = new MySetAsBitmap(null);
+        assertTrue(empty.isEmpty());
+        assertNull(empty.tail());
+        assertThrows(NoSuchElementException.class, empty::min);
+        assertThrows(NoSuchElementException.class, empty::max);
+    }
+
+    @Test
+    public void testListItemsAreNotRetained() {
+        int[] keys = range(0, 1_000, 2);
+        MySetAsBitmap set = new MySetAsBitmap(list(keys));
+        ListItem<Integer> head = set.head();
+        assertNotSame(head, set.head());
+        assertEquals(head, set.head());
+        assertEquals(keys.length, set.size());
+        assertArrayEquals(keys, set.toArray());
+    }
+}
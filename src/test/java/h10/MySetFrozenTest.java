@@ -0,0 +1,107 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MySetFrozen}.
+ */
+public class MySetFrozenTest {
+
+    private static ListItem<Integer> list(int size, int step) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(i * step);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    private static ListItem<Integer> item(MySet<Integer> set, int key) {
+        ListItem<Integer> current = set.head();
+        while (current != null && current.key != key) {
+            current = current.next;
+        }
+        return current;
+    }
+
+    @Test
+    public void testSubsetSharesSuffix() {
+        MySet<Integer> set = new MySetFrozen<>(list(10, 1), Comparator.naturalOrder());
+        MySet<Integer> result = set.subset(x -> x % 2 == 0 || x >= 6);
+
+        assertTrue(result instanceof MySetFrozen);
+        assertEquals("{0 -> 2 -> 4 -> 6 -> 7 -> 8 -> 9 -> null}", result.toString());
+        assertEquals(7, result.size());
+        assertEquals(9, result.max());
+        assertNotSame(item(set, 0), item(result, 0));
+        assertNotSame(item(set, 4), item(result, 4));
+        assertSame(item(set, 6), item(result, 6));
+        assertEquals("{0 -> 1 -> 2 -> 3 -> 4 -> 5 -> 6 -> 7 -> 8 -> 9 -> null}", set.toString());
+    }
+
+    @Test
+    public void testSubsetWithoutLastElementCopies() {
+        MySet<Integer> set = new MySetFrozen<>(list(10, 1), Comparator.naturalOrder());
+        MySet<Integer> result = set.subset(x -> x < 9);
+
+        assertEquals(9, result.size());
+        assertEquals(8, result.max());
+        assertNotSame(item(set, 8), item(result, 8));
+        assertEquals(10, set.size());
+    }
+
+    @Test
+    public void testDifference() {
+        MySet<Integer> set = new MySetFrozen<>(list(10, 1), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(3, 2), Comparator.naturalOrder());
+        MySet<Integer> result = set.difference(other);
+
+        assertEquals("{1 -> 3 -> 5 -> 6 -> 7 -> 8 -> 9 -> null}", result.toString());
+        assertSame(item(set, 5), item(result, 5));
+        assertNotSame(item(set, 3), item(result, 3));
+
+        MySet<Integer> disjoint = new MySetAsCopy<>(new ListItem<>(20), Comparator.naturalOrder());
+        assertSame(set.head(), set.difference(disjoint).head());
+    }
+
+    @Test
+    public void testIntersection() {
+        MySet<Integer> set = new MySetFrozen<>(list(10, 1), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(10, 1), Comparator.naturalOrder());
+
+        MySet<Integer> all = set.intersection(other);
+        assertSame(set.head(), all.head());
+        assertEquals(10, all.size());
+
+        MySet<Integer> bounded = set.intersection(other.subSet(2, 5));
+        assertEquals("{2 -> 3 -> 4 -> null}", bounded.toString());
+        assertNotSame(item(set, 4), item(bounded, 4));
+        assertEquals(10, set.size());
+    }
+
+    @Test
+    public void testChainedOperationsShareSuffix() {
+        MySet<Integer> set = new MySetFrozen<>(list(100, 1), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(10, 3), Comparator.naturalOrder());
+        MySet<Integer> result = set.subset(x -> x >= 20).difference(other).subset(x -> x != 25);
+
+        assertEquals(76, result.size());
+        assertSame(item(set, 30), item(result, 30));
+        assertEquals(100, set.size());
+    }
+
+    @Test
+    public void testFingerIsReadOnly() {
+        MySet<Integer> set = new MySetFrozen<>(list(10, 1), Comparator.naturalOrder());
+        Finger<Integer> finger = set.finger();
+        assertTrue(finger.contains(5));
+        assertThrows(UnsupportedOperationException.class, () -> finger.insert(new ListItem<>(5)));
+        assertThrows(UnsupportedOperationException.class, finger::remove);
+        assertEquals(10, set.size());
+    }
+}
@@ -0,0 +1,60 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the size, minimum and maximum maintained by {@link MySet}.
+ */
+public class MySetMetadataTest {
+
+    private static ListItem<Integer> list(int... keys) {
+        ListItem<Integer> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @Test
+    public void testMetadata() {
+        MySet<Integer> set = new MySetAsCopy<>(list(1, 3, 5, 7), Comparator.naturalOrder());
+        assertEquals(4, set.size());
+        assertEquals(1, set.min());
+        assertEquals(7, set.max());
+        MySet<Integer> subset = set.subset(key -> key > 1);
+        assertEquals(3, subset.size());
+        assertEquals(3, subset.min());
+        assertEquals(7, subset.max());
+        MySet<Integer> empty = new MySetInPlace<>(null, Comparator.naturalOrder());
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.size());
+        assertThrows(NoSuchElementException.class, empty::max);
+    }
+
+    @Test
+    public void testInPlaceMetadata() {
+        MySet<Integer> set = new MySetInPlace<>(list(1, 3, 5, 7), Comparator.naturalOrder());
+        MySet<Integer> difference = set.difference(new MySetAsCopy<>(list(5, 7), Comparator.naturalOrder()));
+        assertEquals(2, difference.size());
+        assertEquals(3, difference.max());
+        assertNull(difference.tail().next);
+    }
+
+    @Test
+    public void testDisjointRanges() {
+        ListItem<Integer> head = list(1, 2, 3);
+        MySet<Integer> set = new MySetInPlace<>(head, Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(4, 5), Comparator.naturalOrder());
+        MySet<Integer> difference = set.difference(other);
+        assertSame(head, difference.head());
+        assertEquals(3, difference.size());
+        assertTrue(new MySetAsCopy<>(list(1, 2, 3), Comparator.naturalOrder()).intersection(other).isEmpty());
+    }
+}
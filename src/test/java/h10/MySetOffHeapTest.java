@@ -0,0 +1,125 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MySetOffHeap}.
+ */
+public class MySetOffHeapTest {
+
+    private static ListItem<Long> list(long... keys) {
+        ListItem<Long> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Long> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @Test
+    public void testOperationsWithOnHeapSets() {
+        try (OffHeapArena arena = new OffHeapArena()) {
+            MySet<Long> set = new MySetOffHeap(arena, list(1, 3, 5, 7, 9));
+            MySet<Long> other = new MySetAsCopy<>(list(3, 4, 5, 10), Comparator.naturalOrder());
+
+            assertEquals("{1 -> 7 -> 9 -> null}", set.difference(other).toString());
+            assertEquals("{3 -> 5 -> null}", set.intersection(new ListItem<>(other)).toString());
+            assertEquals("{1 -> 4 -> 7 -> 9 -> 10 -> null}", set.symmetricDifference(other).toString());
+            assertEquals("{1 -> 3 -> 4 -> 5 -> 7 -> 9 -> 10 -> null}", set.union(other).toString());
+            assertEquals(20, set.cartesianProduct(other).size());
+            assertEquals(5, set.size());
+            assertTrue(set.contains(7L));
+            assertFalse(set.contains(8L));
+
+            MySet<Long> inPlace = new MySetInPlace<>(list(1, 2, 3), Comparator.naturalOrder());
+            assertEquals("{2 -> null}", inPlace.difference(set).toString());
+        }
+    }
+
+    @Test
+    public void testCustomComparator() {
+        try (OffHeapArena arena = new OffHeapArena()) {
+            MySet<Long> set = new MySetOffHeap(arena, list(1, 3, 5, 7, 9));
+            MySet<Long> other = new MySetAsCopy<>(list(10, 5, 4, 3), Comparator.reverseOrder());
+
+            assertEquals("{1 -> 7 -> 9 -> null}", set.difference(other).toString());
+            assertEquals("{3 -> 5 -> null}", set.intersection(new ListItem<>(other)).toString());
+            assertEquals("{1 -> 4 -> 7 -> 9 -> 10 -> null}", set.symmetricDifference(other).toString());
+            assertEquals("{1 -> 3 -> 4 -> 5 -> 7 -> 9 -> 10 -> null}", set.union(other).toString());
+            MySet<ListItem<Long>> product = set.cartesianProduct(other);
+            assertEquals(3, product.min().next.key);
+            assertEquals(10, product.max().next.key);
+        }
+    }
+
+    @Test
+    public void testUseAfterClose() {
+        OffHeapArena arena = new OffHeapArena();
+        MySet<Long> set = new MySetOffHeap(arena, list(1, 2, 3));
+        MySet<Long> empty = new MySetOffHeap(arena, null);
+        MySet<Long> other = new MySetAsCopy<>(list(2), Comparator.naturalOrder());
+        arena.close();
+        arena.close();
+
+        assertTrue(arena.isClosed());
+        assertThrows(IllegalStateException.class, set::size);
+        assertThrows(IllegalStateException.class, empty::isEmpty);
+        assertThrows(IllegalStateException.class, () -> set.contains(1L));
+        assertThrows(IllegalStateException.class, () -> set.difference(other));
+        assertThrows(IllegalStateException.class, () -> empty.intersection(new ListItem<>(other)));
+        assertThrows(IllegalStateException.class, () -> other.difference(set));
+        assertThrows(IllegalStateException.class, () -> arena.allocate(4));
+    }
+
+    @Test
+    public void testLookupsReadTheArena() {
+        try (OffHeapArena arena = new OffHeapArena()) {
+            new MySetOffHeap(arena, list(-5, 5));
+            long[] keys = LongStream.range(0, 100_000).map(i -> 3 * i - 150_000).toArray();
+            MySet<Long> set = new MySetOffHeap(arena, list(keys), Validation.STRICT);
+
+            assertEquals(-150_000L, set.min());
+            assertEquals(149_997L, set.max());
+            assertEquals(149_997L, set.tail().key);
+            assertTrue(set.contains(0L));
+            assertFalse(set.contains(1L));
+            assertFalse(set.contains(Long.MAX_VALUE));
+            assertEquals(0L, set.floor(2L));
+            assertEquals(0L, set.floor(0L));
+            assertEquals(-3L, set.lower(0L));
+            assertEquals(3L, set.ceiling(1L));
+            assertEquals(3L, set.higher(0L));
+            assertNull(set.lower(-150_000L));
+            assertNull(set.higher(149_997L));
+            assertEquals(50_000, set.rank(0L));
+            assertEquals(0L, set.select(50_000));
+            assertThrows(IndexOutOfBoundsException.class, () -> set.select(100_000));
+            assertEquals(LongStream.of(keys).sum(), StreamSupport.stream(set.spliterator(), true)
+                .mapToLong(Long::longValue).sum());
+            assertNotSame(set.head(), set.head());
+        }
+    }
+
+    @Test
+    public void testBoundsAfterClose() {
+        OffHeapArena arena = new OffHeapArena();
+        MySet<Long> set = new MySetOffHeap(arena, list(1, 2, 3));
+        MySet<Long> empty = new MySetOffHeap(arena, null);
+        assertThrows(NoSuchElementException.class, empty::min);
+        arena.close();
+
+        assertThrows(IllegalStateException.class, set::min);
+        assertThrows(IllegalStateException.class, set::max);
+        assertThrows(IllegalStateException.class, set::spliterator);
+        assertThrows(IllegalStateException.class, () -> set.rank(2L));
+        assertThrows(IllegalStateException.class, () -> set.select(0));
+    }
+}
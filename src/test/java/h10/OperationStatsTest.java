@@ -0,0 +1,84 @@
+package h10;
+
+import h10.OperationStats.Operation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link OperationStats}.
+ */
+public class OperationStatsTest {
+
+    private static ListItem<Integer> list(int size, int step) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(i * step);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        OperationStats.reset();
+        OperationStats.enable();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        OperationStats.disable();
+        OperationStats.reset();
+    }
+
+    @Test
+    public void testCopyOperations() {
+        AtomicInteger comparisons = new AtomicInteger();
+        Comparator<Integer> cmp = (a, b) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(a, b);
+        };
+        MySet<Integer> set = new MySetAsCopy<>(list(100, 1), cmp);
+        MySet<Integer> other = new MySetAsCopy<>(list(50, 2), cmp);
+        comparisons.set(0);
+
+        set.subset(x -> x % 2 == 0);
+        assertEquals(1, OperationStats.calls(Operation.SUBSET));
+        assertEquals(50, OperationStats.allocations(Operation.SUBSET));
+        assertEquals(0, OperationStats.comparisons(Operation.SUBSET));
+
+        set.difference(other);
+        assertEquals(50, OperationStats.allocations(Operation.DIFFERENCE));
+        assertEquals(0, OperationStats.relinks(Operation.DIFFERENCE));
+        assertEquals(comparisons.get(), OperationStats.comparisons(Operation.DIFFERENCE));
+
+        set.intersection(other);
+        assertEquals(1, OperationStats.calls(Operation.INTERSECTION));
+        assertEquals(50, OperationStats.allocations(Operation.INTERSECTION));
+        assertTrue(OperationStats.comparisons(Operation.INTERSECTION) > 0);
+    }
+
+    @Test
+    public void testInPlaceOperations() {
+        MySet<Integer> set = new MySetInPlace<>(list(100, 1), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(50, 2), Comparator.naturalOrder());
+        set.difference(other).cartesianProduct(other);
+        assertEquals(0, OperationStats.allocations(Operation.DIFFERENCE));
+        assertEquals(50, OperationStats.relinks(Operation.DIFFERENCE));
+        assertTrue(OperationStats.comparisons(Operation.DIFFERENCE) > 0);
+        assertEquals(1, OperationStats.calls(Operation.CARTESIAN_PRODUCT));
+    }
+
+    @Test
+    public void testDisabled() {
+        OperationStats.disable();
+        new MySetAsCopy<>(list(100, 1), Comparator.naturalOrder()).subset(x -> true);
+        assertEquals(0, OperationStats.calls(Operation.SUBSET));
+    }
+}
@@ -0,0 +1,93 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link PackedProduct}.
+ */
+public class PackedProductTest {
+
+    private static MySet<Integer> set(int... keys) {
+        ListItem<Integer> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return new MySetAsCopy<>(head, Comparator.naturalOrder());
+    }
+
+    private static ListItem<Integer> pair(int first, int second) {
+        ListItem<Integer> pair = new ListItem<>(first);
+        pair.next = new ListItem<>(second);
+        return pair;
+    }
+
+    private static String pairs(Iterator<ListItem<Integer>> iterator) {
+        StringBuilder builder = new StringBuilder();
+        while (iterator.hasNext()) {
+            ListItem<Integer> pair = iterator.next();
+            builder.append('(').append(pair.key).append(',').append(pair.next.key).append(')');
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testOf() {
+        PackedProduct<Integer> product = PackedProduct.of(set(1, 2), set(3, 4, 5));
+        assertEquals(6, product.size());
+        assertEquals("(1,3)(1,4)(1,5)(2,3)(2,4)(2,5)", pairs(product.iterator()));
+        assertEquals("{{1 -> 3 -> null} -> {1 -> 4 -> null} -> {1 -> 5 -> null} -> {2 -> 3 -> null} -> "
+            + "{2 -> 4 -> null} -> {2 -> 5 -> null} -> null}", product.toString());
+        assertTrue(PackedProduct.of(set(1, 2), set()).isEmpty());
+    }
+
+    @Test
+    public void testLookups() {
+        PackedProduct<Integer> product = PackedProduct.of(set(1, 2, 3), set(2, 4));
+        assertEquals(1, product.min().key);
+        assertEquals(2, product.min().next.key);
+        assertEquals(3, product.max().key);
+        assertEquals(4, product.max().next.key);
+        assertEquals(2, product.select(3).key);
+        assertThrows(IndexOutOfBoundsException.class, () -> product.select(6));
+        assertEquals(3, product.rank(pair(2, 3)));
+        assertEquals(3, product.rank(pair(2, 4)));
+        assertTrue(product.contains(pair(2, 4)));
+        assertFalse(product.contains(pair(2, 3)));
+    }
+
+    @Test
+    public void testSubset() {
+        PackedProduct<Integer> product = PackedProduct.of(set(1, 2, 3), set(1, 2, 3));
+        MySet<ListItem<Integer>> subset = product.subset(pair -> pair.key < pair.next.key);
+        assertTrue(subset instanceof PackedProduct);
+        assertEquals(3, subset.size());
+        assertEquals("(1,2)(1,3)(2,3)", pairs(((PackedProduct<Integer>) subset).iterator()));
+    }
+
+    @Test
+    public void testDifferenceAndIntersection() {
+        PackedProduct<Integer> product = PackedProduct.of(set(1, 2, 3), set(1, 2));
+        MySet<ListItem<Integer>> packed = PackedProduct.of(set(2, 3, 4), set(2, 5));
+        MySet<ListItem<Integer>> factorized = new FactorizedProduct<>(set(2, 3, 4), set(2, 5));
+
+        assertEquals("(1,1)(1,2)(2,1)(3,1)", pairs(((PackedProduct<Integer>) product.difference(packed)).iterator()));
+        assertEquals(product.difference(packed).toString(), product.difference(factorized).toString());
+        assertEquals("{{2 -> 2 -> null} -> {3 -> 2 -> null} -> null}", product.intersection(packed).toString());
+        assertEquals(product.intersection(packed).toString(), product.intersection(factorized).toString());
+    }
+
+    @Test
+    public void testFactorizedProductPacksPairs() {
+        FactorizedProduct<Integer> product = new FactorizedProduct<>(set(1, 2), set(1, 2));
+        assertEquals("(1,1)(1,2)(2,1)(2,2)", pairs(product.pack().iterator()));
+        assertTrue(product.subset(pair -> pair.key == 1) instanceof PackedProduct);
+        assertTrue(product.difference(PackedProduct.of(set(1), set(1))) instanceof PackedProduct);
+    }
+}
@@ -0,0 +1,139 @@
+package h10;
+
+import h10.OperationStats.Operation;
+import h10.WorkloadRecorder.Event;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ParallelMerge}.
+ */
+public class ParallelMergeTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static ListItem<Integer> list(int[] keys) {
+        ListItem<Integer> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    private static int[] range(int from, int to, int step) {
+        return IntStream.iterate(from, i -> i < to, i -> i + step).toArray();
+    }
+
+    private static int[] toArray(MySet<Integer> set) {
+        IntStream.Builder builder = IntStream.builder();
+        for (ListItem<Integer> current = set.head(); current != null; current = current.next) {
+            builder.add(current.key);
+        }
+        return builder.build().toArray();
+    }
+
+    @Test
+    public void testDifference() {
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        MySet<Integer> set = new MySetAsCopy<>(list(range(0, 100_000, 2)), cmp, Validation.STRICT);
+        MySet<Integer> other = new MySetAsCopy<>(list(range(0, 100_000, 3)), cmp, Validation.STRICT);
+        other.buildIndex();
+        assertArrayEquals(toArray(set.difference(other)), toArray(set.parallelDifference(other, POOL)));
+        MySet<Integer> inPlace = new MySetInPlace<>(list(range(0, 100_000, 2)), cmp, Validation.STRICT);
+        assertArrayEquals(toArray(set.difference(other)), toArray(inPlace.parallelDifference(other, POOL)));
+    }
+
+    @Test
+    public void testIntersection() {
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        MySet<Integer> set = new MySetAsCopy<>(list(range(0, 100_000, 2)), cmp, Validation.STRICT);
+        ListItem<MySet<Integer>> others = new ListItem<>(
+            new MySetAsCopy<>(list(range(0, 100_000, 3)), cmp, Validation.STRICT));
+        others.next = new ListItem<>(new MySetAsCopy<>(list(range(50_000, 60_000, 5)), cmp, Validation.STRICT));
+        int[] expected = range(50_010, 60_000, 30);
+        assertArrayEquals(expected, toArray(set.intersection(others)));
+        assertArrayEquals(expected, toArray(set.parallelIntersection(others, POOL)));
+        ListItem<Integer> head = list(range(0, 100_000, 2));
+        MySet<Integer> inPlace = new MySetInPlace<>(head, cmp, Validation.STRICT);
+        assertArrayEquals(expected, toArray(inPlace.parallelIntersection(others, POOL)));
+    }
+
+    @Test
+    public void testOperationStats() {
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        MySet<Integer> set = new MySetAsCopy<>(list(range(0, 100_000, 2)), cmp, Validation.STRICT);
+        MySet<Integer> other = new MySetAsCopy<>(list(range(0, 100_000, 3)), cmp, Validation.STRICT);
+        OperationStats.reset();
+        OperationStats.enable();
+        try {
+            MySet<Integer> difference = set.parallelDifference(other, POOL);
+            assertEquals(1, OperationStats.calls(Operation.DIFFERENCE));
+            assertEquals(difference.size(), OperationStats.allocations(Operation.DIFFERENCE));
+            assertTrue(OperationStats.comparisons(Operation.DIFFERENCE) >= difference.size());
+
+            MySet<Integer> inPlace = new MySetInPlace<>(list(range(0, 100_000, 2)), cmp, Validation.STRICT);
+            MySet<Integer> intersection = inPlace.parallelIntersection(new ListItem<>(other), POOL);
+            assertEquals(1, OperationStats.calls(Operation.INTERSECTION));
+            assertEquals(0, OperationStats.allocations(Operation.INTERSECTION));
+            assertEquals(intersection.size(), OperationStats.relinks(Operation.INTERSECTION));
+            assertTrue(OperationStats.comparisons(Operation.INTERSECTION) >= intersection.size());
+        } finally {
+            OperationStats.disable();
+            OperationStats.reset();
+        }
+    }
+
+    @Test
+    public void testWorkloadRecorder() throws IOException {
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        MySet<Integer> set = new MySetInPlace<>(list(range(0, 100_000, 2)), cmp, Validation.STRICT);
+        MySet<Integer> other = new MySetAsCopy<>(list(range(0, 100_000, 3)), cmp, Validation.STRICT);
+        Path trace = Files.createTempFile("workload", ".trace");
+        try {
+            WorkloadRecorder.start(trace);
+            try {
+                set = set.parallelSubset(x -> x < 60_000, POOL);
+                set = set.parallelDifference(other, POOL);
+                set.parallelIntersection(new ListItem<>(other), POOL);
+            } finally {
+                WorkloadRecorder.stop();
+            }
+            List<Event> events = WorkloadRecorder.read(trace);
+            assertEquals(3, events.size());
+            assertEquals(Operation.SUBSET, events.get(0).operation());
+            assertEquals(30_000, events.get(0).resultSize());
+            assertEquals(Operation.DIFFERENCE, events.get(1).operation());
+            assertArrayEquals(new int[] {30_000, 33_334}, events.get(1).sizes());
+            assertEquals(20_000, events.get(1).resultSize());
+            assertEquals(Operation.INTERSECTION, events.get(2).operation());
+            assertEquals(0, events.get(2).resultSize());
+        } finally {
+            Files.delete(trace);
+        }
+    }
+
+    @Test
+    public void testViewOfInvalidatedIndex() {
+        Comparator<Integer> cmp = Comparator.naturalOrder();
+        MySet<Integer> set = new MySetAsCopy<>(list(range(0, 100_000, 2)), cmp, Validation.STRICT);
+        MySet<Integer> backing = new MySetInPlace<>(list(range(0, 100_000, 3)), cmp, Validation.STRICT);
+        backing.buildIndex();
+        MySet<Integer> view = backing.subSet(10_000, 90_000);
+        int[] expected = toArray(set.difference(view));
+        for (int i = 0; i < 20; i++) {
+            backing.invalidateCaches();
+            assertArrayEquals(expected, toArray(set.parallelDifference(view, POOL)));
+        }
+    }
+}
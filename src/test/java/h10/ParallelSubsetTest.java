@@ -0,0 +1,61 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ParallelSubset}.
+ */
+public class ParallelSubsetTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static ListItem<Integer> list(int size) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(i);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    private static int[] toArray(MySet<Integer> set) {
+        int size = 0;
+        for (ListItem<Integer> current = set.head(); current != null; current = current.next) {
+            size++;
+        }
+        int[] keys = new int[size];
+        int i = 0;
+        for (ListItem<Integer> current = set.head(); current != null; current = current.next) {
+            keys[i++] = current.key;
+        }
+        return keys;
+    }
+
+    @Test
+    public void testCopy() {
+        MySet<Integer> set = new MySetAsCopy<>(list(10_000), Comparator.naturalOrder());
+        AtomicInteger calls = new AtomicInteger();
+        MySet<Integer> subset = set.parallelSubset(key -> calls.incrementAndGet() > 0 && key % 3 == 0, POOL);
+        assertArrayEquals(toArray(set.subset(key -> key % 3 == 0)), toArray(subset));
+        assertEquals(10_000, calls.get());
+        assertEquals(10_000, toArray(set).length);
+        assertNotSame(set.head(), subset.head());
+    }
+
+    @Test
+    public void testRelink() {
+        ListItem<Integer> head = list(10_000);
+        MySet<Integer> set = new MySetInPlace<>(head, Comparator.naturalOrder());
+        MySet<Integer> subset = set.parallelSubset(key -> key % 2 == 0, POOL);
+        assertSame(head, subset.head());
+        MySet<Integer> expected = new MySetAsCopy<>(list(10_000), Comparator.naturalOrder()).subset(key -> key % 2 == 0);
+        assertArrayEquals(toArray(expected), toArray(subset));
+    }
+}
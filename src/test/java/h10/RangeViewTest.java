@@ -0,0 +1,189 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RangeView}.
+ */
+public class RangeViewTest {
+
+    private static ListItem<Integer> list(int size, int step) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(i * step);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @Test
+    public void testBounds() {
+        MySet<Integer> set = new MySetAsCopy<>(list(10, 2), Comparator.naturalOrder());
+        assertEquals("{4 -> 6 -> 8 -> null}", String.valueOf(set.subSet(3, 10)));
+        assertEquals("{0 -> 2 -> null}", String.valueOf(set.headSet(4)));
+        assertEquals("{16 -> 18 -> null}", String.valueOf(set.tailSet(16)));
+        assertEquals("{6 -> 8 -> null}", String.valueOf(set.subSet(3, 10).subSet(5, 20)));
+        assertTrue(set.subSet(5, 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> set.subSet(5, 4));
+        assertThrows(NoSuchElementException.class, () -> set.subSet(5, 6).min());
+    }
+
+    @Test
+    public void testHeadAndTailAreCopies() {
+        MySet<Integer> set = new MySetAsCopy<>(list(10, 1), Comparator.naturalOrder());
+        ListItem<Integer> fifth = set.head.next.next.next.next;
+        for (MySet<Integer> view : List.of(set.tailSet(4), set.subSet(4, 7))) {
+            ListItem<Integer> head = view.head();
+            assertNotSame(fifth, head);
+            assertEquals(4, head.key);
+            assertNotSame(set.tail(), view.tail());
+            assertEquals(view.max(), view.tail().key);
+            assertNull(view.tail().next);
+        }
+        assertNull(set.subSet(20, 30).tail());
+    }
+
+    @Test
+    public void testLookups() {
+        MySet<Integer> set = new MySetAsCopy<>(list(10, 2), Comparator.naturalOrder());
+        MySet<Integer> view = set.subSet(5, 13);
+        assertEquals(4, view.size());
+        assertEquals(6, view.min());
+        assertEquals(12, view.max());
+        assertTrue(view.contains(8));
+        assertFalse(view.contains(4));
+        assertFalse(view.contains(14));
+        assertEquals(6, view.ceiling(0));
+        assertNull(view.higher(12));
+        assertNull(view.floor(4));
+        assertEquals(12, view.lower(100));
+    }
+
+    @Test
+    public void testIndexedSeek() {
+        AtomicInteger comparisons = new AtomicInteger();
+        Comparator<Integer> cmp = (a, b) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(a, b);
+        };
+        MySet<Integer> set = new MySetAsCopy<>(list(100_000, 1), cmp, Validation.STRICT);
+        set.buildIndex();
+        comparisons.set(0);
+        assertEquals(10, set.subSet(50_000, 50_010).size());
+        assertTrue(comparisons.get() < 1_000, "comparisons: " + comparisons.get());
+    }
+
+    @Test
+    public void testOperations() {
+        MySet<Integer> set = new MySetAsCopy<>(list(20, 1), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(10, 3), Comparator.naturalOrder());
+        MySet<Integer> view = set.subSet(5, 15);
+        assertEquals("{5 -> 7 -> 8 -> 10 -> 11 -> 13 -> 14 -> null}", String.valueOf(view.difference(other)));
+        assertEquals("{6 -> 9 -> 12 -> null}", String.valueOf(view.intersection(other)));
+        assertEquals("{6 -> 9 -> 12 -> null}", String.valueOf(other.intersection(view)));
+        assertEquals("{0 -> 1 -> 2 -> null}", String.valueOf(set.difference(set.tailSet(3))));
+        MySet<Integer> union = other.headSet(4).union(set.subSet(5, 10));
+        assertEquals("{0 -> 3 -> 5 -> 6 -> 7 -> 8 -> 9 -> null}", String.valueOf(union));
+        assertEquals(20, set.size());
+    }
+
+    @Test
+    public void testInPlaceIntersectionWithView() {
+        MySet<Integer> set = new MySetInPlace<>(list(20, 1), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(10, 2), Comparator.naturalOrder());
+        assertEquals("{4 -> 6 -> null}", String.valueOf(set.intersection(other.subSet(3, 8))));
+        assertEquals("{0 -> 2 -> 4 -> 6 -> 8 -> 10 -> 12 -> 14 -> 16 -> 18 -> null}", String.valueOf(other));
+    }
+
+    @Test
+    public void testInPlaceOperationsWithView() {
+        MySet<Integer> backing = new MySetInPlace<>(list(10, 2), Comparator.naturalOrder());
+        MySet<Integer> view = backing.subSet(4, 12);
+        MySet<Integer> set = new MySetInPlace<>(list(8, 1), Comparator.naturalOrder());
+        assertEquals("{0 -> 1 -> 2 -> 3 -> 5 -> 7 -> null}", String.valueOf(set.difference(view)));
+        set = new MySetInPlace<>(list(8, 1), Comparator.naturalOrder());
+        assertEquals("{4 -> 6 -> null}", String.valueOf(set.intersection(view)));
+        set = new MySetInPlace<>(list(8, 1), Comparator.naturalOrder());
+        assertEquals("{0 -> 1 -> 2 -> 3 -> 5 -> 7 -> 8 -> 10 -> null}", String.valueOf(set.symmetricDifference(view)));
+        set = new MySetInPlace<>(list(2, 1), Comparator.naturalOrder());
+        MySet<Integer> concatenated = set.symmetricDifference(view);
+        assertEquals("{0 -> 1 -> 4 -> 6 -> 8 -> 10 -> null}", String.valueOf(concatenated));
+        assertEquals(6, concatenated.size());
+        set = new MySetInPlace<>(list(1, 20), Comparator.naturalOrder());
+        assertEquals("{0 -> 4 -> 6 -> 8 -> 10 -> null}", String.valueOf(view.symmetricDifference(set)));
+
+        assertEquals("{0 -> 2 -> 4 -> 6 -> 8 -> 10 -> 12 -> 14 -> 16 -> 18 -> null}", String.valueOf(backing));
+        assertEquals(10, backing.size());
+        assertEquals(18, backing.max());
+        assertEquals("{4 -> 6 -> 8 -> 10 -> null}", String.valueOf(view));
+    }
+
+    @Test
+    public void testSizeThroughIndex() {
+        AtomicInteger comparisons = new AtomicInteger();
+        Comparator<Integer> cmp = (a, b) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(a, b);
+        };
+        MySet<Integer> set = new MySetAsCopy<>(list(100_000, 1), cmp, Validation.STRICT);
+        set.buildIndex();
+        MySet<Integer> view = set.subSet(10_000, 90_000);
+        comparisons.set(0);
+        assertEquals(80_000, view.size());
+        assertEquals(90_000, set.tailSet(10_000).size());
+        assertEquals(0, set.subSet(200_000, 300_000).size());
+        assertTrue(comparisons.get() < 1_000, "comparisons: " + comparisons.get());
+    }
+
+    @Test
+    public void testReadOnlyWalks() {
+        MySet<Integer> set = new MySetAsCopy<>(list(10, 1), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetInPlace<>(list(10, 2), Comparator.naturalOrder());
+        MySet<Integer> view = set.subSet(2, 7);
+        assertEquals("{2 -> 3 -> 4 -> 5 -> 6 -> null}", view.toString());
+        assertEquals("null", set.subSet(20, 30).toString());
+        assertEquals(set.subSet(4, 7), set.subSet(4, 7));
+        assertEquals(set.subSet(4, 7).hashCode(), set.subSet(3, 7).subSet(4, 10).hashCode());
+        assertEquals(set.subSet(4, 5), other.subSet(3, 5));
+        assertNotEquals(set.subSet(4, 7), other.subSet(4, 7));
+        assertNotEquals(set.subSet(4, 7), set.subSet(4, 8));
+        assertNotEquals(set.subSet(4, 7), set.subSet(3, 7));
+        assertNotEquals(view, new MySetAsCopy<>(view.head(), Comparator.naturalOrder()));
+        assertEquals(set.subSet(20, 30), other.subSet(30, 40));
+    }
+
+    @Test
+    public void testUnionAndSymmetricDifferenceOfViews() {
+        MySet<Integer> set = new MySetAsCopy<>(list(20, 1), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(10, 3), Comparator.naturalOrder());
+        assertEquals("{4 -> 5 -> 6 -> 9 -> 12 -> null}", String.valueOf(set.subSet(4, 7).union(other.subSet(5, 14))));
+        assertEquals("{0 -> 3 -> 4 -> 5 -> 6 -> 9 -> 12 -> 15 -> 18 -> 21 -> 24 -> 27 -> null}",
+            String.valueOf(other.union(set.subSet(4, 7))));
+        ListItem<MySet<Integer>> others = new ListItem<>(set.subSet(20, 30));
+        others.next = new ListItem<>(other.subSet(9, 10));
+        assertEquals("{2 -> 3 -> 4 -> 9 -> null}", String.valueOf(set.subSet(2, 5).union(others)));
+        assertEquals("{4 -> 5 -> 6 -> null}", String.valueOf(set.subSet(4, 7).union(set.subSet(20, 30))));
+        assertEquals("{4 -> 5 -> 7 -> 8 -> 12 -> null}",
+            String.valueOf(set.subSet(4, 10).symmetricDifference(other.subSet(6, 15))));
+        assertEquals("{0 -> 3 -> 4 -> 5 -> 7 -> 8 -> 10 -> 11 -> 15 -> 18 -> 21 -> 24 -> 27 -> null}",
+            String.valueOf(other.symmetricDifference(set.subSet(4, 13))));
+        assertEquals("{4 -> 5 -> null}", String.valueOf(set.subSet(4, 6).symmetricDifference(set.subSet(20, 30))));
+
+        MySet<Integer> inPlace = new MySetInPlace<>(list(10, 2), Comparator.naturalOrder());
+        others = new ListItem<>(inPlace.subSet(4, 9));
+        others.next = new ListItem<>(set.subSet(3, 6));
+        MySet<Integer> union = inPlace.union(others);
+        assertEquals("{0 -> 2 -> 3 -> 4 -> 5 -> 6 -> 8 -> 10 -> 12 -> 14 -> 16 -> 18 -> null}", String.valueOf(union));
+        assertEquals(12, union.size());
+        assertEquals(20, set.size());
+        assertEquals(10, other.size());
+    }
+}
@@ -0,0 +1,93 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the navigation methods of {@link MySet} backed by a {@link SkipIndex}.
+ */
+public class SkipIndexTest {
+
+    private static MySet<Integer> evenNumbers(int size) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(2 * i);
+            item.next = head;
+            head = item;
+        }
+        return new MySetInPlace<>(head, Comparator.naturalOrder(), Validation.STRICT);
+    }
+
+    @Test
+    public void testNavigation() {
+        MySet<Integer> set = evenNumbers(1000);
+        set.buildIndex();
+        assertTrue(set.contains(500));
+        assertFalse(set.contains(501));
+        assertEquals(500, set.floor(501));
+        assertEquals(498, set.lower(500));
+        assertEquals(502, set.ceiling(501));
+        assertEquals(502, set.higher(500));
+        assertNull(set.lower(0));
+        assertNull(set.higher(1998));
+    }
+
+    @Test
+    public void testIndexSurvivesRelinking() {
+        MySet<Integer> set = evenNumbers(1000);
+        set.buildIndex();
+        set.subset(x -> x % 4 == 0);
+        assertFalse(set.contains(502));
+        assertEquals(500, set.floor(503));
+        assertEquals(504, set.ceiling(501));
+    }
+
+    @Test
+    public void testRankAndSelect() {
+        MySet<Integer> set = evenNumbers(1000);
+        set.buildIndex();
+        assertEquals(0, set.rank(0));
+        assertEquals(251, set.rank(501));
+        assertEquals(250, set.rank(500));
+        assertEquals(1000, set.rank(5000));
+        assertEquals(0, set.select(0));
+        assertEquals(500, set.select(250));
+        assertEquals(1998, set.select(999));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.select(1000));
+        assertEquals(100, set.subSet(100, 300).select(0));
+        assertEquals(100, set.subSet(100, 300).rank(1000));
+    }
+
+    @Test
+    public void testRankAfterRelinking() {
+        MySet<Integer> set = evenNumbers(1000);
+        set.buildIndex();
+        set.subset(x -> x % 4 == 0);
+        assertEquals(125, set.rank(500));
+        assertEquals(504, set.select(126));
+    }
+
+    @Test
+    public void testIndexedIntersection() {
+        MySet<Integer> set = evenNumbers(100_000);
+        set.buildIndex();
+        ListItem<Integer> head = null;
+        for (int key = 198_000; key >= 0; key -= 3000) {
+            ListItem<Integer> item = new ListItem<>(key);
+            item.next = head;
+            head = item;
+        }
+        MySet<Integer> other = new MySetAsCopy<>(head, Comparator.naturalOrder());
+        MySet<Integer> copy = other.intersection(new ListItem<>(set));
+        assertEquals(67, copy.size());
+        assertEquals(198_000, copy.max());
+
+        MySet<Integer> result = set.intersection(new ListItem<>(other));
+        assertEquals(copy.toString(), result.toString());
+        assertEquals(67, set.size());
+        assertEquals(34, set.rank(100_000));
+    }
+}
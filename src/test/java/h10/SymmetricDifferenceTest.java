@@ -0,0 +1,96 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MySet#symmetricDifference(MySet)}.
+ */
+public class SymmetricDifferenceTest {
+
+    private static ListItem<Integer> list(int... keys) {
+        ListItem<Integer> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @Test
+    public void testCopy() {
+        MySet<Integer> set = new MySetAsCopy<>(list(1, 2, 4, 6), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(2, 3, 6, 7), Comparator.naturalOrder());
+        MySet<Integer> difference = set.symmetricDifference(other);
+        assertEquals("{1 -> 3 -> 4 -> 7 -> null}", difference.toString());
+        assertEquals(4, difference.size());
+        assertEquals("{1 -> 2 -> 4 -> 6 -> null}", set.toString());
+        assertEquals("{2 -> 3 -> 6 -> 7 -> null}", other.toString());
+    }
+
+    @Test
+    public void testInPlace() {
+        ListItem<Integer> head = list(1, 2, 4);
+        ListItem<Integer> otherHead = list(2, 3);
+        MySet<Integer> set = new MySetInPlace<>(head, Comparator.naturalOrder());
+        MySet<Integer> difference = set.symmetricDifference(new MySetInPlace<>(otherHead, Comparator.naturalOrder()));
+        assertEquals("{1 -> 3 -> 4 -> null}", difference.toString());
+        assertSame(head, difference.head());
+        assertSame(otherHead.next, difference.head().next);
+        assertEquals(4, difference.max());
+    }
+
+    @Test
+    public void testInPlaceDisjointRanges() {
+        ListItem<Integer> head = list(5, 6);
+        ListItem<Integer> otherHead = list(1, 2);
+        MySet<Integer> set = new MySetInPlace<>(head, Comparator.naturalOrder());
+        MySet<Integer> difference = set.symmetricDifference(new MySetInPlace<>(otherHead, Comparator.naturalOrder()));
+        assertEquals("{1 -> 2 -> 5 -> 6 -> null}", difference.toString());
+        assertSame(otherHead, difference.head());
+        assertEquals(4, difference.size());
+    }
+
+    @Test
+    public void testInPlaceWithSharedOperands() {
+        MySet<Integer> backing = new MySetInPlace<>(list(1, 2, 3, 4, 5, 6, 7, 8), Comparator.naturalOrder());
+        MySet<Integer> view = backing.subSet(3, 6);
+        MySet<Integer> copy = new MySetAsCopy<>(list(4, 9), Comparator.naturalOrder());
+        MySet<Integer> frozen = new MySetFrozen<>(list(10, 11), Comparator.naturalOrder());
+
+        MySet<Integer> set = new MySetInPlace<>(list(2, 4), Comparator.naturalOrder());
+        assertEquals("{2 -> 3 -> 5 -> null}", set.symmetricDifference(view).toString());
+        set = new MySetInPlace<>(list(1), Comparator.naturalOrder());
+        MySet<Integer> concatenated = set.symmetricDifference(view);
+        assertEquals("{1 -> 3 -> 4 -> 5 -> null}", concatenated.toString());
+        assertEquals(4, concatenated.size());
+        assertEquals(5, concatenated.max());
+        set = new MySetInPlace<>(list(9), Comparator.naturalOrder());
+        assertEquals("{3 -> 4 -> 5 -> 9 -> null}", set.symmetricDifference(view).toString());
+        MySet<Integer> empty = new MySetInPlace<>(null, Comparator.naturalOrder());
+        MySet<Integer> result = empty.symmetricDifference(view);
+        assertEquals(3, result.size());
+        assertEquals(5, result.max());
+
+        set = new MySetInPlace<>(list(4, 5), Comparator.naturalOrder());
+        assertEquals("{5 -> 9 -> null}", set.symmetricDifference(copy).toString());
+        set = new MySetInPlace<>(list(1, 2), Comparator.naturalOrder());
+        assertEquals("{1 -> 2 -> 10 -> 11 -> null}", set.symmetricDifference(frozen).toString());
+        set = new MySetInPlace<>(list(12), Comparator.naturalOrder());
+        assertEquals("{10 -> 11 -> 12 -> null}", set.symmetricDifference(frozen).toString());
+        set = new MySetInPlace<>(list(10), Comparator.naturalOrder());
+        assertEquals("{4 -> 9 -> 10 -> null}", set.symmetricDifference(copy).toString());
+
+        assertEquals("{1 -> 2 -> 3 -> 4 -> 5 -> 6 -> 7 -> 8 -> null}", backing.toString());
+        assertEquals(8, backing.size());
+        assertEquals(8, backing.max());
+        assertEquals("{3 -> 4 -> 5 -> null}", view.toString());
+        assertEquals("{4 -> 9 -> null}", copy.toString());
+        assertEquals("{10 -> 11 -> null}", frozen.toString());
+        assertEquals(2, frozen.size());
+    }
+}
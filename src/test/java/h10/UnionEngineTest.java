@@ -0,0 +1,58 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link UnionEngine} and the union of sets.
+ */
+public class UnionEngineTest {
+
+    @SafeVarargs
+    private static <T> ListItem<T> list(T... keys) {
+        ListItem<T> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<T> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @Test
+    public void testBinaryUnion() {
+        MySet<Integer> set = new MySetAsCopy<>(list(1, 3, 5), Comparator.naturalOrder());
+        MySet<Integer> other = new MySetAsCopy<>(list(2, 3, 6), Comparator.naturalOrder());
+        MySet<Integer> union = set.union(other);
+        assertEquals("{1 -> 2 -> 3 -> 5 -> 6 -> null}", union.toString());
+        assertEquals(5, union.size());
+        assertEquals("{1 -> 3 -> 5 -> null}", set.toString());
+    }
+
+    @Test
+    public void testMultiwayUnion() {
+        ListItem<MySet<Integer>> others = list(
+            new MySetAsCopy<>(list(0, 4, 8), Comparator.naturalOrder()),
+            new MySetAsCopy<>(list(1, 5, 9), Comparator.naturalOrder()),
+            new MySetAsCopy<>(list(2, 4, 6), Comparator.naturalOrder()),
+            new MySetAsCopy<>(null, Comparator.naturalOrder())
+        );
+        MySet<Integer> union = new MySetAsCopy<>(list(3, 6, 9), Comparator.naturalOrder()).union(others);
+        assertEquals("{0 -> 1 -> 2 -> 3 -> 4 -> 5 -> 6 -> 8 -> 9 -> null}", union.toString());
+    }
+
+    @Test
+    public void testInPlaceUnion() {
+        ListItem<Integer> head = list(1, 3);
+        ListItem<Integer> last = head.next;
+        MySet<Integer> other = new MySetAsCopy<>(list(0, 1, 2), Comparator.naturalOrder());
+        MySet<Integer> union = new MySetInPlace<>(head, Comparator.naturalOrder()).union(other);
+        assertEquals("{0 -> 1 -> 2 -> 3 -> null}", union.toString());
+        assertSame(head, union.head().next);
+        assertSame(last, union.tail());
+        assertEquals("{0 -> 1 -> 2 -> null}", other.toString());
+    }
+}
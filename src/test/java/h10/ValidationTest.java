@@ -0,0 +1,66 @@
+package h10;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the validation modes of the {@link MySet} constructor.
+ */
+public class ValidationTest {
+
+    private static ListItem<Integer> list(int... keys) {
+        ListItem<Integer> head = null;
+        for (int i = keys.length - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(keys[i]);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    @Test
+    public void testStrictAcceptsValidSet() {
+        assertDoesNotThrow(() -> new MySetAsCopy<>(list(1, 2, 3), Comparator.naturalOrder(), Validation.STRICT));
+        assertDoesNotThrow(() -> new MySetAsCopy<>(null, Comparator.<Integer>naturalOrder(), Validation.STRICT));
+    }
+
+    @Test
+    public void testStrictReportsOrderBeforeDuplicates() {
+        IllegalArgumentException duplicates = assertThrows(IllegalArgumentException.class,
+            () -> new MySetInPlace<>(list(1, 2, 2, 3), Comparator.naturalOrder()));
+        assertEquals("The given elements are not pairwise different", duplicates.getMessage());
+
+        IllegalArgumentException unordered = assertThrows(IllegalArgumentException.class,
+            () -> new MySetInPlace<>(list(1, 1, 0), Comparator.naturalOrder()));
+        assertEquals("The given elements are not ordered", unordered.getMessage());
+    }
+
+    @Test
+    public void testDefaultRunsFullValidation() {
+        IllegalArgumentException strict = assertThrows(IllegalArgumentException.class,
+            () -> new MySetAsCopy<>(list(1, 3, 2), Comparator.naturalOrder(), Validation.STRICT));
+        IllegalArgumentException full = assertThrows(IllegalArgumentException.class,
+            () -> new MySetAsCopy<>(list(1, 3, 2), Comparator.naturalOrder(), Validation.FULL));
+        IllegalArgumentException standard = assertThrows(IllegalArgumentException.class,
+            () -> new MySetAsCopy<>(list(1, 3, 2), Comparator.naturalOrder()));
+        assertEquals(full.getMessage(), standard.getMessage());
+        assertEquals(full.getMessage(), strict.getMessage());
+        assertDoesNotThrow(() -> new MySetAsCopy<>(list(1, 2, 3), Comparator.naturalOrder(), Validation.FULL));
+    }
+
+    @Test
+    public void testSampledChecksFirstAndLastPair() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new MySetAsCopy<>(list(2, 1, 3, 4), Comparator.naturalOrder(), Validation.SAMPLED));
+        assertThrows(IllegalArgumentException.class,
+            () -> new MySetAsCopy<>(list(1, 2, 3, 3), Comparator.naturalOrder(), Validation.SAMPLED));
+    }
+
+    @Test
+    public void testTrustedSkipsValidation() {
+        assertDoesNotThrow(() -> new MySetAsCopy<>(list(3, 2, 1), Comparator.naturalOrder(), Validation.TRUSTED));
+    }
+}
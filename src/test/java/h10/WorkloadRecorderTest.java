@@ -0,0 +1,83 @@
+package h10;
+
+import h10.OperationStats.Operation;
+import h10.WorkloadRecorder.Event;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link WorkloadRecorder} and {@link WorkloadReplay}.
+ */
+public class WorkloadRecorderTest {
+
+    private static ListItem<Integer> list(int size, int step) {
+        ListItem<Integer> head = null;
+        for (int i = size - 1; i >= 0; i--) {
+            ListItem<Integer> item = new ListItem<>(i * step);
+            item.next = head;
+            head = item;
+        }
+        return head;
+    }
+
+    private static List<Event> record() throws IOException {
+        Path trace = Files.createTempFile("workload", ".trace");
+        try {
+            WorkloadRecorder.start(trace);
+            try {
+                MySet<Integer> set = new MySetAsCopy<>(list(100, 1), Comparator.naturalOrder());
+                MySet<Integer> other = new MySetAsCopy<>(list(50, 3), Comparator.naturalOrder());
+                set.subset(x -> x < 10);
+                set.difference(other);
+                set.intersection(other);
+                new MySetInPlace<>(list(10, 1), Comparator.naturalOrder()).cartesianProduct(other);
+            } finally {
+                WorkloadRecorder.stop();
+            }
+            return WorkloadRecorder.read(trace);
+        } finally {
+            Files.delete(trace);
+        }
+    }
+
+    @Test
+    public void testRecord() throws IOException {
+        List<Event> events = record();
+        assertFalse(WorkloadRecorder.isRecording());
+        assertEquals(4, events.size());
+
+        assertEquals(Operation.SUBSET, events.get(0).operation());
+        assertArrayEquals(new int[] {100}, events.get(0).sizes());
+        assertNotEquals(0, events.get(0).predicate());
+        assertEquals(10, events.get(0).resultSize());
+
+        assertEquals(Operation.DIFFERENCE, events.get(1).operation());
+        assertArrayEquals(new int[] {100, 50}, events.get(1).sizes());
+        assertEquals(66, events.get(1).resultSize());
+
+        assertEquals(Operation.INTERSECTION, events.get(2).operation());
+        assertEquals(34, events.get(2).resultSize());
+        assertEquals(events.get(1).fingerprints()[1], events.get(2).fingerprints()[1]);
+
+        assertEquals(Operation.CARTESIAN_PRODUCT, events.get(3).operation());
+        assertEquals(500, events.get(3).resultSize());
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        List<Event> events = record();
+        WorkloadReplay.Report report = WorkloadReplay.replay(events,
+            head -> new MySetInPlace<>(head, Comparator.naturalOrder(), Validation.TRUSTED));
+        for (Operation operation : Operation.values()) {
+            assertEquals(1, report.count(operation));
+            assertTrue(report.percentile(operation, 0.5) > 0);
+        }
+    }
+}